@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
+
+import org.glassfish.logging.runtime.BinaryLogHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the publication of a FINE record with three arguments by a
+ * StreamHandler formatting it with SimpleFormatter to a stream which drops
+ * the bytes, and by the binary log handler writing it to a file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryLogBenchmark {
+
+    private StreamHandler streamHandler;
+
+    private BinaryLogHandler binaryHandler;
+
+    private Path file;
+
+    private LogRecord record;
+
+    @Setup
+    public void openHandlers() throws IOException {
+        streamHandler = new StreamHandler(OutputStream.nullOutputStream(), new SimpleFormatter());
+        streamHandler.setLevel(Level.ALL);
+        file = Files.createTempFile("binary-log-benchmark", ".lgb");
+        binaryHandler = new BinaryLogHandler(file, 256 * 1024);
+        record = new LogRecord(Level.FINE, "AS-BENCH-00001");
+        record.setLoggerName("javax.enterprise.ejb.container");
+        record.setResourceBundleName(SyntheticSources.BUNDLE_NAME);
+        record.setParameters(new Object[] {"application.war", 42, 1234567L});
+        // Not inferred for every record.
+        record.setSourceClassName(null);
+    }
+
+    @TearDown
+    public void closeHandlers() throws IOException {
+        streamHandler.close();
+        binaryHandler.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void streamHandler() {
+        streamHandler.publish(record);
+    }
+
+    @Benchmark
+    public void binaryHandler() {
+        binaryHandler.publish(record);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import javax.annotation.processing.Processor;
+
+import org.glassfish.annotation.processing.logging.LogMessagesResourceBundleGenerator;
+import org.glassfish.logging.runtime.BinaryLogMessageCatalog;
+import org.glassfish.logging.runtime.MessageCountingHandler;
+import org.glassfish.logging.runtime.PrecompiledFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead of the message counting handler on the logging
+ * path: all the threads log the same message through a logger whose only
+ * handler drops the records, and through a logger which also counts them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class CountingBenchmark {
+
+    private static final String CLASS_NAME = "CountedMessages";
+
+    private static final String MESSAGE_ID = "BENCH-COUNT-00001";
+
+    private MessageCountingHandler counter;
+
+    private Logger plain;
+
+    private Logger counted;
+
+    @Setup
+    public void compileCatalog() {
+        String source = "package " + SyntheticSources.PACKAGE_NAME + ";\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n"
+            + "public class " + CLASS_NAME + " {\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String LOGMESSAGES_RB = \"" + SyntheticSources.BUNDLE_NAME + "\";\n"
+            + "    @LogMessageInfo(message = \"Counted {0}.\")\n"
+            + "    public static final String COUNTED = \"" + MESSAGE_ID + "\";\n"
+            + "}\n";
+        InMemoryCompiler.Result result = new InMemoryCompiler().compile(
+            List.of(SyntheticSources.source(SyntheticSources.PACKAGE_NAME, CLASS_NAME, source)),
+            List.<Processor>of(new LogMessagesResourceBundleGenerator()), Collections.<String>emptyList());
+        byte[] catalog = result.getFile(SyntheticSources.BUNDLE_NAME.replace('.', '/')
+            + BinaryLogMessageCatalog.FILE_EXTENSION);
+        PrecompiledFormatter.register(SyntheticSources.BUNDLE_NAME,
+            BinaryLogMessageCatalog.wrap(ByteBuffer.wrap(catalog)));
+
+        counter = new MessageCountingHandler(false);
+        plain = logger("org.glassfish.benchmark.plain");
+        counted = logger("org.glassfish.benchmark.counted");
+        counted.addHandler(counter);
+    }
+
+    @TearDown
+    public void closeHandler() {
+        counter.close();
+    }
+
+    private static Logger logger(String name) {
+        Logger logger = Logger.getLogger(name);
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        return logger;
+    }
+
+    // The bundle is only compiled in memory, so the records name it
+    // instead of the loggers.
+    private static LogRecord record() {
+        LogRecord record = new LogRecord(Level.INFO, MESSAGE_ID);
+        record.setResourceBundleName(SyntheticSources.BUNDLE_NAME);
+        record.setParameters(new Object[] {"value"});
+        return record;
+    }
+
+    @Benchmark
+    public void plain() {
+        plain.log(record());
+    }
+
+    @Benchmark
+    public void counted() {
+        counted.log(record());
+    }
+}
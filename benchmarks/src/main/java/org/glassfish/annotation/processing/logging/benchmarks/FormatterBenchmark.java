@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+import javax.annotation.processing.Processor;
+
+import org.glassfish.annotation.processing.logging.LogMessagesResourceBundleGenerator;
+import org.glassfish.logging.runtime.BinaryLogMessageCatalog;
+import org.glassfish.logging.runtime.PrecompiledFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the rendering of a log message with two arguments by
+ * SimpleFormatter, parsing the pattern with MessageFormat, and by the
+ * formatter using the patterns compiled by the processor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatterBenchmark {
+
+    private final SimpleFormatter simpleFormatter = new SimpleFormatter();
+
+    private final PrecompiledFormatter precompiledFormatter = new PrecompiledFormatter();
+
+    private LogRecord record;
+
+    @Setup
+    public void compileCatalog() {
+        InMemoryCompiler.Result result = new InMemoryCompiler().compile(SyntheticSources.generate(1, 10, 0),
+            List.<Processor>of(new LogMessagesResourceBundleGenerator()), Collections.<String>emptyList());
+        byte[] catalog = result.getFile(SyntheticSources.BUNDLE_NAME.replace('.', '/')
+            + BinaryLogMessageCatalog.FILE_EXTENSION);
+        PrecompiledFormatter.register(SyntheticSources.BUNDLE_NAME,
+            BinaryLogMessageCatalog.wrap(ByteBuffer.wrap(catalog)));
+
+        String id = SyntheticSources.messageId(0, 0);
+        Object[][] contents = {{id, "Component 0 message 0 about {0} failed with {1}."}};
+        record = new LogRecord(Level.INFO, id);
+        record.setResourceBundle(new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return contents;
+            }
+        });
+        record.setResourceBundleName(SyntheticSources.BUNDLE_NAME);
+        record.setParameters(new Object[] {"application.war", "java.io.IOException"});
+        if (!simpleFormatter.formatMessage(record).equals(precompiledFormatter.formatMessage(record))) {
+            throw new IllegalStateException("The formatters render different messages.");
+        }
+    }
+
+    @Benchmark
+    public String simpleFormatter() {
+        return simpleFormatter.formatMessage(record);
+    }
+
+    @Benchmark
+    public String precompiledFormatter() {
+        return precompiledFormatter.formatMessage(record);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.processing.Processor;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+/**
+ * Runs javac with all the sources and outputs kept in memory, so the
+ * benchmarks measure the compiler and the processors, not the disk.
+ */
+public final class InMemoryCompiler {
+
+    private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+    private final StandardJavaFileManager standardFileManager =
+        compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+
+    /**
+     * Result of a compilation.
+     */
+    public static final class Result {
+
+        private final boolean success;
+        private final String output;
+        private final Map<String, MemoryFileObject> files;
+
+        Result(boolean success, String output, Map<String, MemoryFileObject> files) {
+            this.success = success;
+            this.output = output;
+            this.files = files;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public String getOutput() {
+            return output;
+        }
+
+        /**
+         * Total size of the class files.
+         */
+        public long getClassBytes() {
+            long size = 0;
+            for (MemoryFileObject file : files.values()) {
+                if (file.getKind() == JavaFileObject.Kind.CLASS) {
+                    size += file.size();
+                }
+            }
+            return size;
+        }
+
+        /**
+         * Total size of the other files, the generated sources and resources.
+         */
+        public long getGeneratedBytes() {
+            long size = 0;
+            for (MemoryFileObject file : files.values()) {
+                if (file.getKind() != JavaFileObject.Kind.CLASS) {
+                    size += file.size();
+                }
+            }
+            return size;
+        }
+
+        /**
+         * Returns the content of an output file, null if it was not generated.
+         *
+         * @param path path relative to the output directory
+         */
+        public byte[] getFile(String path) {
+            MemoryFileObject file = files.get(path);
+            return file == null ? null : file.content.toByteArray();
+        }
+    }
+
+    /**
+     * Compiles the sources.
+     *
+     * @param sources the sources to compile
+     * @param processors the processors, if empty annotation processing is disabled
+     * @param options additional compiler options, for example processor options
+     * @return the result
+     */
+    public Result compile(List<JavaFileObject> sources, List<Processor> processors, List<String> options) {
+        Map<String, MemoryFileObject> files = new ConcurrentHashMap<String, MemoryFileObject>();
+        MemoryFileManager fileManager = new MemoryFileManager(standardFileManager, files);
+        List<String> compilerOptions = new ArrayList<String>(options);
+        if (processors.isEmpty()) {
+            compilerOptions.add("-proc:none");
+        }
+        StringWriter output = new StringWriter();
+        JavaCompiler.CompilationTask task = compiler.getTask(output, fileManager, null, compilerOptions, null,
+            sources);
+        if (!processors.isEmpty()) {
+            task.setProcessors(processors);
+        }
+        boolean success = task.call();
+        return new Result(success, output.toString(), files);
+    }
+
+    static final class MemoryFileObject extends SimpleJavaFileObject {
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        private long lastModified;
+
+        MemoryFileObject(String path, Kind kind) {
+            super(URI.create("memory:///" + path), kind);
+        }
+
+        long size() {
+            return content.size();
+        }
+
+        @Override
+        public InputStream openInputStream() {
+            return new ByteArrayInputStream(content.toByteArray());
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            content.reset();
+            lastModified = System.currentTimeMillis();
+            return content;
+        }
+
+        @Override
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+
+    private static final class MemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+
+        private final Map<String, MemoryFileObject> files;
+
+        MemoryFileManager(JavaFileManager fileManager, Map<String, MemoryFileObject> files) {
+            super(fileManager);
+            this.files = files;
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+            FileObject sibling) {
+            return file(className.replace('.', '/') + kind.extension, kind);
+        }
+
+        @Override
+        public FileObject getFileForOutput(Location location, String packageName, String relativeName,
+            FileObject sibling) {
+            return file(path(packageName, relativeName), JavaFileObject.Kind.OTHER);
+        }
+
+        @Override
+        public FileObject getFileForInput(Location location, String packageName, String relativeName)
+            throws IOException {
+            if (location == StandardLocation.CLASS_OUTPUT || location == StandardLocation.SOURCE_OUTPUT) {
+                // Not yet generated files are empty and have no timestamp.
+                MemoryFileObject file = files.get(path(packageName, relativeName));
+                return file == null ? new MemoryFileObject(path(packageName, relativeName), JavaFileObject.Kind.OTHER) : file;
+            }
+            return super.getFileForInput(location, packageName, relativeName);
+        }
+
+        @Override
+        public boolean isSameFile(FileObject a, FileObject b) {
+            return a.toUri().equals(b.toUri());
+        }
+
+        private MemoryFileObject file(String path, JavaFileObject.Kind kind) {
+            return files.computeIfAbsent(path, p -> new MemoryFileObject(p, kind));
+        }
+
+        private static String path(String packageName, String relativeName) {
+            return packageName.isEmpty() ? relativeName : packageName.replace('.', '/') + '/' + relativeName;
+        }
+    }
+}
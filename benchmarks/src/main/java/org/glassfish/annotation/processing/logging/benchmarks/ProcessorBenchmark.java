@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.processing.Processor;
+import javax.tools.JavaFileObject;
+
+import org.glassfish.annotation.processing.logging.LogMessagesResourceBundleGenerator;
+import org.glassfish.annotation.processing.logging.LoggerInfoMetadataGenerator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a javac run over a synthetic module, with and without the logging
+ * processors. The difference between both is the cost of the processors; the
+ * auxiliary counters report the time spent in the processors themselves and
+ * the size of the output. Run with {@code -prof gc} to report the allocations.
+ *
+ * <pre>
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar ProcessorBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ProcessorBenchmark {
+
+    /** Number of classes. */
+    @Param({"10", "100", "1000"})
+    public int classes;
+
+    /** Number of log messages per class. */
+    @Param({"10"})
+    public int messages;
+
+    /** Number of classes declaring a logger. */
+    @Param({"10"})
+    public int loggers;
+
+    /** Number of processing rounds with log messages. */
+    @Param({"1", "3"})
+    public int rounds;
+
+    /** Whether the logging processors run. */
+    @Param({"true", "false"})
+    public boolean processors;
+
+    private final InMemoryCompiler compiler = new InMemoryCompiler();
+
+    private List<JavaFileObject> sources;
+
+    /**
+     * Counters reported with each measurement, summed over the iteration.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+
+        /** Processing rounds of the logging processors. */
+        public long processorRounds;
+
+        /** Time spent in the logging processors, including their initialization. */
+        public long processorNanos;
+
+        /** Size of the generated resources. */
+        public long generatedBytes;
+
+        /** Size of the class files. */
+        public long classBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            processorRounds = 0;
+            processorNanos = 0;
+            generatedBytes = 0;
+            classBytes = 0;
+        }
+    }
+
+    @Setup
+    public void generateSources() {
+        sources = SyntheticSources.generate(classes, messages, loggers);
+    }
+
+    @Benchmark
+    public InMemoryCompiler.Result compile(Counters counters) {
+        List<TimedProcessor> timed = new ArrayList<TimedProcessor>(2);
+        List<Processor> all = new ArrayList<Processor>(3);
+        if (processors) {
+            all.add(new RoundsProcessor(rounds, messages));
+            timed.add(new TimedProcessor(new LogMessagesResourceBundleGenerator()));
+            timed.add(new TimedProcessor(new LoggerInfoMetadataGenerator()));
+            all.addAll(timed);
+        }
+        InMemoryCompiler.Result result = compiler.compile(sources, all, Collections.<String>emptyList());
+        if (!result.isSuccess()) {
+            throw new IllegalStateException("Compilation failed:\n" + result.getOutput());
+        }
+        for (TimedProcessor processor : timed) {
+            counters.processorRounds += processor.getRounds();
+            counters.processorNanos += processor.getInitNanos() + processor.getProcessNanos();
+        }
+        counters.generatedBytes += result.getGeneratedBytes();
+        counters.classBytes += result.getClassBytes();
+        return result;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import javax.annotation.processing.Processor;
+
+import org.glassfish.annotation.processing.logging.LogMessagesResourceBundleGenerator;
+import org.glassfish.logging.runtime.BinaryLogMessageCatalog;
+import org.glassfish.logging.runtime.PrecompiledFormatter;
+import org.glassfish.logging.runtime.RateLimitingHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of the rate limiting handler under contention: all the
+ * threads publish the records of the same message, rate limited, sampled
+ * or not limited, to a handler which drops them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RateLimitingBenchmark {
+
+    private static final String CLASS_NAME = "RateLimitedMessages";
+
+    private RateLimitingHandler handler;
+
+    private LogRecord limited;
+
+    private LogRecord sampled;
+
+    private LogRecord unlimited;
+
+    @Setup
+    public void compileCatalog() {
+        String source = "package " + SyntheticSources.PACKAGE_NAME + ";\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n"
+            + "public class " + CLASS_NAME + " {\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String LOGMESSAGES_RB = \"" + SyntheticSources.BUNDLE_NAME + "\";\n"
+            + "    @LogMessageInfo(message = \"Limited {0}.\", level = \"FINE\", maxRecords = 100, intervalSeconds = 60)\n"
+            + "    public static final String LIMITED = \"BENCH-RATE-00001\";\n"
+            + "    @LogMessageInfo(message = \"Sampled {0}.\", level = \"FINE\", sampleRatio = 0.01)\n"
+            + "    public static final String SAMPLED = \"BENCH-RATE-00002\";\n"
+            + "    @LogMessageInfo(message = \"Unlimited {0}.\", level = \"FINE\")\n"
+            + "    public static final String UNLIMITED = \"BENCH-RATE-00003\";\n"
+            + "}\n";
+        InMemoryCompiler.Result result = new InMemoryCompiler().compile(
+            List.of(SyntheticSources.source(SyntheticSources.PACKAGE_NAME, CLASS_NAME, source)),
+            List.<Processor>of(new LogMessagesResourceBundleGenerator()), Collections.<String>emptyList());
+        byte[] catalog = result.getFile(SyntheticSources.BUNDLE_NAME.replace('.', '/')
+            + BinaryLogMessageCatalog.FILE_EXTENSION);
+        PrecompiledFormatter.register(SyntheticSources.BUNDLE_NAME,
+            BinaryLogMessageCatalog.wrap(ByteBuffer.wrap(catalog)));
+
+        handler = new RateLimitingHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        }, 1);
+        limited = record("BENCH-RATE-00001");
+        sampled = record("BENCH-RATE-00002");
+        unlimited = record("BENCH-RATE-00003");
+    }
+
+    @TearDown
+    public void closeHandler() {
+        handler.close();
+    }
+
+    private static LogRecord record(String id) {
+        LogRecord record = new LogRecord(Level.FINE, id);
+        record.setResourceBundleName(SyntheticSources.BUNDLE_NAME);
+        record.setLoggerName("org.glassfish.benchmark");
+        record.setParameters(new Object[] {"value"});
+        return record;
+    }
+
+    @Benchmark
+    public void limited() {
+        handler.publish(limited);
+    }
+
+    @Benchmark
+    public void sampled() {
+        handler.publish(sampled);
+    }
+
+    @Benchmark
+    public void unlimited() {
+        handler.publish(unlimited);
+    }
+}
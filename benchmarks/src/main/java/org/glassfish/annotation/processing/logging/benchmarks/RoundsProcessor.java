@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaFileObject;
+
+/**
+ * Forces additional processing rounds by generating, in each round but the
+ * last, a class declaring more log messages. Has to precede the logging
+ * processors, as they claim the logging annotations.
+ */
+@SupportedAnnotationTypes("*")
+public final class RoundsProcessor extends AbstractProcessor {
+
+    private final int rounds;
+    private final int messages;
+
+    private int round;
+
+    /**
+     * @param rounds number of rounds with log messages
+     * @param messages number of log messages per generated class
+     */
+    public RoundsProcessor(int rounds, int messages) {
+        this.rounds = rounds;
+        this.messages = messages;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver() || ++round >= rounds) {
+            return false;
+        }
+        String className = "Generated" + round;
+        String content = SyntheticSources.generateClass(SyntheticSources.PACKAGE_NAME, className,
+            100_000 + round, messages, false, false);
+        try {
+            JavaFileObject source = processingEnv.getFiler().createSourceFile(
+                SyntheticSources.PACKAGE_NAME + '.' + className);
+            try (Writer writer = source.openWriter()) {
+                writer.write(content);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return false;
+    }
+}
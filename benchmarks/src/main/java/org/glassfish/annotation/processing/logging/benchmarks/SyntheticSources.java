@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging.benchmarks;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+
+/**
+ * Generates the sources of a synthetic module: classes declaring log
+ * messages with the LogMessageInfo annotation, some of them declaring
+ * loggers with the LoggerInfo annotation. The first class declares the
+ * resource bundle.
+ */
+public final class SyntheticSources {
+
+    public static final String PACKAGE_NAME = "org.glassfish.benchmark.module";
+
+    public static final String BUNDLE_NAME = PACKAGE_NAME + ".LogMessages";
+
+    private static final String[] LEVELS = {"INFO", "WARNING", "SEVERE", "FINE"};
+
+    private SyntheticSources() {
+    }
+
+    /**
+     * @param classes number of classes
+     * @param messages number of log messages per class
+     * @param loggers number of classes declaring a logger, at most classes
+     * @return the sources
+     */
+    public static List<JavaFileObject> generate(int classes, int messages, int loggers) {
+        List<JavaFileObject> sources = new ArrayList<JavaFileObject>(classes);
+        for (int i = 0; i < classes; i++) {
+            String className = "Component" + i;
+            sources.add(source(PACKAGE_NAME, className,
+                generateClass(PACKAGE_NAME, className, i, messages, i == 0, i < loggers)));
+        }
+        return sources;
+    }
+
+    /**
+     * Generates the source of a class.
+     *
+     * @param packageName package of the class
+     * @param className simple name of the class
+     * @param index index of the class, makes the message ids unique
+     * @param messages number of log messages
+     * @param bundle whether the class declares the resource bundle
+     * @param logger whether the class declares a logger
+     * @return the source
+     */
+    public static String generateClass(String packageName, String className, int index,
+        int messages, boolean bundle, boolean logger) {
+        StringBuilder source = new StringBuilder(512 + messages * 512);
+        source.append("package ").append(packageName).append(";\n\n");
+        source.append("import org.glassfish.logging.annotation.LogMessageInfo;\n");
+        source.append("import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n");
+        source.append("import org.glassfish.logging.annotation.LoggerInfo;\n\n");
+        source.append("public class ").append(className).append(" {\n\n");
+        if (bundle) {
+            source.append("    @LogMessagesResourceBundle\n");
+            source.append("    public static final String LOGMESSAGES_RB = \"").append(BUNDLE_NAME).append("\";\n\n");
+        }
+        if (logger) {
+            source.append("    @LoggerInfo(subsystem = \"BENCH\", description = \"Logger of ").append(className)
+                .append("\", publish = true)\n");
+            source.append("    public static final String LOGGER_NAME = \"org.glassfish.benchmark.")
+                .append(className.toLowerCase()).append("\";\n\n");
+        }
+        for (int m = 0; m < messages; m++) {
+            String level = LEVELS[m % LEVELS.length];
+            source.append("    @LogMessageInfo(\n");
+            source.append("        message = \"Component ").append(index).append(" message ").append(m)
+                .append(" about {0} failed with {1}.\",\n");
+            source.append("        comment = \"Comment of message ").append(m).append(".\",\n");
+            source.append("        level = \"").append(level).append("\",\n");
+            source.append("        cause = \"The cause of message ").append(m).append(".\",\n");
+            source.append("        action = \"The action to take for message ").append(m).append(".\")\n");
+            source.append("    public static final String MESSAGE_").append(m).append(" = \"")
+                .append(messageId(index, m)).append("\";\n\n");
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    public static String messageId(int classIndex, int messageIndex) {
+        return String.format("BENCH-%05d-%04d", classIndex, messageIndex);
+    }
+
+    public static JavaFileObject source(String packageName, String className, String content) {
+        URI uri = URI.create("string:///" + packageName.replace('.', '/') + '/' + className
+            + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+    }
+}
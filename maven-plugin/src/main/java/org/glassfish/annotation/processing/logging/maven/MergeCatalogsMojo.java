@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.annotation.processing.logging.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.glassfish.annotation.processing.logging.CatalogMerger;
+
+/**
+ * Merges the log message catalogs and the LoggerInfo metadata of the jars of
+ * a distribution into a single jar with the {@link CatalogMerger}, as its
+ * command line does. The build fails on the errors of the merger, the same
+ * message id declared with different messages or the same logger declared
+ * in different subsystems, and the merged jar is not written then.
+ */
+@Mojo(name = "merge", defaultPhase = LifecyclePhase.PACKAGE, requiresDependencyResolution = ResolutionScope.RUNTIME,
+        threadSafe = true)
+public class MergeCatalogsMojo extends AbstractMojo {
+
+    /**
+     * The jars and the directories of jars, searched recursively.
+     */
+    @Parameter
+    private List<File> inputs = new ArrayList<File>();
+
+    /**
+     * Merges the jars of the compile and runtime dependencies of the project
+     * too.
+     */
+    @Parameter(property = "glassfish.logging.catalog.includeDependencies", defaultValue = "false")
+    private boolean includeDependencies;
+
+    /**
+     * The merged jar, replaced if it is in an input directory.
+     */
+    @Parameter(property = "glassfish.logging.catalog.outputFile",
+            defaultValue = "${project.build.directory}/${project.artifactId}-catalog.jar", required = true)
+    private File outputFile;
+
+    /**
+     * The number of jars read in parallel, the number of processors by
+     * default.
+     */
+    @Parameter(property = "glassfish.logging.catalog.threads", defaultValue = "0")
+    private int threads;
+
+    @Parameter(property = "glassfish.logging.catalog.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping the merge of the log message catalogs.");
+            return;
+        }
+        List<Path> paths = new ArrayList<Path>();
+        for (File input : inputs) {
+            paths.add(input.toPath());
+        }
+        if (includeDependencies) {
+            for (Artifact artifact : project.getArtifacts()) {
+                if (artifact.getFile() != null && "jar".equals(artifact.getType())) {
+                    paths.add(artifact.getFile().toPath());
+                }
+            }
+        }
+        if (paths.isEmpty()) {
+            throw new MojoFailureException("No jars to merge, configure the inputs or includeDependencies.");
+        }
+        CatalogMerger merger = new CatalogMerger(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        int jars;
+        try {
+            jars = merger.merge(paths, outputFile.toPath());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to merge the log message catalogs: " + e.getMessage(), e);
+        }
+        merger.getWarnings().forEach(warning -> getLog().warn(warning));
+        merger.getErrors().forEach(error -> getLog().error(error));
+        if (!merger.getErrors().isEmpty()) {
+            throw new MojoFailureException("The log message catalogs of " + jars + " jars are not merged, "
+                    + merger.getErrors().size() + " errors.");
+        }
+        getLog().info("Merged the log message catalogs of " + jars + " jars into " + outputFile + ".");
+    }
+}
@@ -21,7 +21,9 @@ module org.glassfish.annotation.processing.logging {
 
     requires java.base;
     requires java.compiler;
-    requires java.logging;
+    requires transitive java.logging;
+    requires java.management;
 
     exports org.glassfish.logging.annotation;
+    exports org.glassfish.logging.runtime;
 }
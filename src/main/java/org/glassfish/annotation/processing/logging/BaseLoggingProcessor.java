@@ -16,25 +16,219 @@
 
 package org.glassfish.annotation.processing.logging;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 import javax.tools.Diagnostic.Kind;
 
 public abstract class BaseLoggingProcessor extends AbstractProcessor {
 
+    /**
+     * Processor option with the year used in the copyright header of the
+     * generated files. If not set, the year of the SOURCE_DATE_EPOCH
+     * environment variable is used and then the current year.
+     */
+    static final String COPYRIGHT_YEAR_OPTION = "glassfish.logging.copyrightYear";
+
+    private static final String SOURCE_DATE_EPOCH = "SOURCE_DATE_EPOCH";
+
+    /**
+     * Processor option with the encoding of the generated properties files,
+     * ISO-8859-1 (default) or UTF-8. With ISO-8859-1 the files are ASCII,
+     * non-ASCII characters are escaped, so they are read the same way by
+     * Properties and by PropertyResourceBundle.
+     */
+    static final String ENCODING_OPTION = "glassfish.logging.encoding";
+
+    /**
+     * Processor option enabling the diagnostic messages, false by default.
+     * The messages are not even built when the option is not set.
+     */
+    static final String DEBUG_OPTION = "glassfish.logging.debug";
+
+    /**
+     * Processor option with the path of a file receiving the statistics of
+     * the compilation, as properties: rounds, elements scanned, messages per
+     * bundle, time spent loading, validating and storing and the bytes read
+     * and written by each processor.
+     */
+    static final String STATISTICS_OPTION = "glassfish.logging.stats";
+
+    /**
+     * Processor option generating the LogMessages resource bundle as a class
+     * too, so it is loaded without reading and parsing the properties file.
+     */
+    static final String BUNDLE_CLASS_OPTION = "glassfish.logging.bundleClass";
+
+    /**
+     * Processor option generating a logging facade with one level guarded
+     * method per log message, named after the bundle with a Facade suffix.
+     */
+    static final String FACADE_OPTION = "glassfish.logging.facade";
+
+    /**
+     * Processor option with the path of a properties file with the numeric
+     * codes of the message ids, read before assigning the codes of the new
+     * messages and updated after. The file is meant to be kept under
+     * version control so the codes survive clean builds. The processor
+     * rewrites it in place, out of the output directories, when codes are
+     * assigned, unless an error was reported in the compilation. A code used
+     * by two ids of the file is an error.
+     */
+    static final String CODES_OPTION = "glassfish.logging.codes";
+
+    /**
+     * Processor option with the path of the directory of the translated
+     * LogMessages_&lt;locale&gt;.properties files, in the layout of the class
+     * path, the resources directory of the module. A catalog is generated
+     * for every locale, with the translations merged with their fallbacks.
+     */
+    static final String TRANSLATIONS_OPTION = "glassfish.logging.translations";
+
+    /**
+     * Processor option with the minimum level of the build, a level name or
+     * value. The enablement constants of the levels and of the messages are
+     * generated in a class named after the bundle with a Levels suffix, and
+     * the methods of the facade below the level are empty.
+     */
+    static final String MIN_LEVEL_OPTION = "glassfish.logging.minLevel";
+
+    /**
+     * Processor option with the class path elements, separated by the path
+     * separator, whose message id manifests are checked for the ids of the
+     * compiled messages: the jars and the class directories of the other
+     * modules, or the manifests themselves.
+     */
+    static final String ID_REGISTRIES_OPTION = "glassfish.logging.idRegistries";
+
+    /**
+     * Processor option with the ranges of the message ids allocated to the
+     * module, separated by commas, AS-EJB-00001..AS-EJB-00999 for instance.
+     * The ids outside the ranges are errors.
+     */
+    static final String ID_RANGES_OPTION = "glassfish.logging.idRanges";
+
+    /**
+     * Processor option generating the LoggerInfoMetadataService of the
+     * module, with the metadata of its loggers inlined: the fully qualified
+     * name of the service class, or true for a LoggerInfoMetadataService
+     * class in the package of the first logger.
+     */
+    static final String METADATA_SERVICE_OPTION = "glassfish.logging.metadataService";
+
+    /**
+     * Processor option with the package of the Named and Singleton
+     * annotations of the generated LoggerInfoMetadataService, javax.inject
+     * (default) or jakarta.inject for the servers on Jakarta EE 9 and later.
+     */
+    static final String INJECT_PACKAGE_OPTION = "glassfish.logging.injectPackage";
+
+    /**
+     * Processor option generating the catalog of the log messages of the
+     * module as JSON Lines, META-INF/logmessages/LogMessagesCatalog.jsonl,
+     * for the log pipelines which enrich the records from their message id.
+     */
+    static final String JSON_CATALOG_OPTION = "glassfish.logging.jsonCatalog";
+
+    private static final String PROPERTIES_EXTENSION = ".properties";
+
+    private final Set<String> rootTypes = new HashSet<String>();
+
+    private final Map<String, byte[]> contentDigests = new HashMap<String, byte[]>();
+
+    private String copyright;
+
+    private Charset propertiesCharset;
+
+    private int roundsProcessed;
+
+    private long bytesRead;
+
+    private long bytesWritten;
+
+    private long bytesUnchanged;
+
+    private int elementsScanned;
+
+    private long loadNanos;
+
+    private long validateNanos;
+
+    private long storeNanos;
+
+    private final SortedMap<String, Long> counters = new TreeMap<String, Long>();
+
+    private Boolean debugEnabled;
+
+    private boolean errorReported;
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Set.of(COPYRIGHT_YEAR_OPTION, ENCODING_OPTION, DEBUG_OPTION, STATISTICS_OPTION,
+                BUNDLE_CLASS_OPTION, FACADE_OPTION, CODES_OPTION, TRANSLATIONS_OPTION, MIN_LEVEL_OPTION,
+                ID_REGISTRIES_OPTION, ID_RANGES_OPTION, METADATA_SERVICE_OPTION, INJECT_PACKAGE_OPTION,
+                JSON_CATALOG_OPTION);
+    }
+
+    protected boolean isDebugEnabled() {
+        if (debugEnabled == null) {
+            debugEnabled = Boolean.valueOf(processingEnv.getOptions().get(DEBUG_OPTION));
+        }
+        return debugEnabled;
+    }
+
     protected void debug(String msg) {
-        processingEnv.getMessager().printMessage(Kind.OTHER, msg);
+        if (isDebugEnabled()) {
+            processingEnv.getMessager().printMessage(Kind.OTHER, msg);
+        }
+    }
+
+    /**
+     * Prints a diagnostic message built only if the diagnostics are enabled,
+     * for messages which are expensive to build.
+     */
+    protected void debug(Supplier<String> msg) {
+        if (isDebugEnabled()) {
+            processingEnv.getMessager().printMessage(Kind.OTHER, msg.get());
+        }
     }
 
     protected void debug(String msg, Throwable t) {
-        processingEnv.getMessager().printMessage(Kind.OTHER, t.getMessage() + ":" + msg);
+        if (isDebugEnabled()) {
+            processingEnv.getMessager().printMessage(Kind.OTHER, t.getMessage() + ":" + msg);
+        }
     }
 
     protected void info(String msg) {
@@ -54,16 +248,156 @@ public abstract class BaseLoggingProcessor extends AbstractProcessor {
     }
 
     protected void error(String msg) {
+        errorReported = true;
         processingEnv.getMessager().printMessage(Kind.ERROR, 
                 getClass().getName() + ": " + msg);
     }
 
     protected void error(String msg, Throwable t) {
+        errorReported = true;
         String errMsg = msg + ": " + t.getMessage();
         processingEnv.getMessager().printMessage(Kind.ERROR, 
                 getClass().getName() + ": " + errMsg);
     }
 
+    /**
+     * Marks the beginning of a processing round. Keeps track of the number
+     * of rounds, of all the types compiled so far and of the errors raised.
+     */
+    protected void roundStarted(RoundEnvironment env) {
+        roundsProcessed++;
+        if (env.errorRaised()) {
+            errorReported = true;
+        }
+        for (Element rootElement : env.getRootElements()) {
+            if (rootElement instanceof TypeElement) {
+                rootTypes.add(((TypeElement) rootElement).getQualifiedName().toString());
+            }
+        }
+    }
+
+    /**
+     * Checks whether an error was reported in this compilation so far, by
+     * this processor or, in the previous rounds, by the compiler and the
+     * other processors.
+     */
+    protected boolean isErrorReported() {
+        return errorReported;
+    }
+
+    /**
+     * Counts the annotated elements processed in a round.
+     */
+    protected void elementsScanned(int count) {
+        elementsScanned += count;
+    }
+
+    /**
+     * Adds the time spent validating an annotation.
+     * 
+     * @param startNanos the value of System.nanoTime() when the validation started
+     */
+    protected void validationFinished(long startNanos) {
+        validateNanos += System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Sets a counter specific to the processor, reported with the others.
+     */
+    protected void setCounter(String counter, long value) {
+        counters.put(counter, value);
+    }
+
+    /**
+     * Reports the I/O done by the processor in this compilation. The state
+     * is kept in memory across the rounds and every resource is read and
+     * written once, so the bytes avoided are the ones each contributing round
+     * would have re-read and re-written otherwise. The statistics are also
+     * written to the file set by the statistics option.
+     * 
+     * @param contributingRounds number of rounds which changed the state
+     */
+    protected void reportStatistics(int contributingRounds) {
+        long bytesAvoided = Math.max(0, contributingRounds - 1) * (bytesRead + bytesWritten);
+        debug(() -> getClass().getSimpleName() + " processed " + roundsProcessed 
+                + " rounds, read " + bytesRead + " bytes, wrote " + bytesWritten
+                + " bytes, avoided " + bytesAvoided + " bytes of re-reading and re-writing, "
+                + bytesUnchanged + " bytes were not rewritten as they did not change.");
+        String statisticsFile = processingEnv.getOptions().get(STATISTICS_OPTION);
+        if (statisticsFile == null || statisticsFile.trim().isEmpty()) {
+            return;
+        }
+        String processor = getClass().getSimpleName();
+        ProcessingStatistics statistics = ProcessingStatistics.get(processingEnv);
+        statistics.set(processor, "rounds", roundsProcessed);
+        statistics.set(processor, "contributingRounds", contributingRounds);
+        statistics.set(processor, "elementsScanned", elementsScanned);
+        statistics.set(processor, "loadNanos", loadNanos);
+        statistics.set(processor, "validateNanos", validateNanos);
+        statistics.set(processor, "storeNanos", storeNanos);
+        statistics.set(processor, "bytesRead", bytesRead);
+        statistics.set(processor, "bytesWritten", bytesWritten);
+        statistics.set(processor, "bytesUnchanged", bytesUnchanged);
+        for (Map.Entry<String, Long> counter : counters.entrySet()) {
+            statistics.set(processor, counter.getKey(), counter.getValue());
+        }
+        try {
+            // Every processor rewrites the report, the last one completes it.
+            statistics.write(Paths.get(statisticsFile.trim()));
+        } catch (IOException e) {
+            warn("Unable to write the statistics to " + statisticsFile, e);
+        }
+    }
+
+    /**
+     * Returns the copyright header of the generated files. The year is fixed
+     * by the processor option or by SOURCE_DATE_EPOCH for reproducible
+     * builds.
+     */
+    protected String getCopyright() {
+        if (copyright == null) {
+            copyright = GPLCopyright.getCopyright(getCopyrightYear());
+        }
+        return copyright;
+    }
+
+    protected Charset getPropertiesCharset() {
+        if (propertiesCharset == null) {
+            propertiesCharset = StandardCharsets.ISO_8859_1;
+            String encoding = processingEnv.getOptions().get(ENCODING_OPTION);
+            if (encoding != null) {
+                if (StandardCharsets.UTF_8.name().equalsIgnoreCase(encoding.trim())) {
+                    propertiesCharset = StandardCharsets.UTF_8;
+                } else if (!StandardCharsets.ISO_8859_1.name().equalsIgnoreCase(encoding.trim())) {
+                    warn("Unsupported value of the " + ENCODING_OPTION + " option: " + encoding
+                            + ", using " + propertiesCharset.name());
+                }
+            }
+        }
+        return propertiesCharset;
+    }
+
+    private int getCopyrightYear() {
+        String year = processingEnv.getOptions().get(COPYRIGHT_YEAR_OPTION);
+        if (year != null) {
+            try {
+                return Integer.parseInt(year.trim());
+            } catch (NumberFormatException e) {
+                warn("Invalid value of the " + COPYRIGHT_YEAR_OPTION + " option: " + year);
+            }
+        }
+        String sourceDateEpoch = System.getenv(SOURCE_DATE_EPOCH);
+        if (sourceDateEpoch != null) {
+            try {
+                return Instant.ofEpochSecond(Long.parseLong(sourceDateEpoch.trim()))
+                        .atOffset(ZoneOffset.UTC).getYear();
+            } catch (NumberFormatException e) {
+                warn("Invalid value of the " + SOURCE_DATE_EPOCH + " environment variable: " + sourceDateEpoch);
+            }
+        }
+        return Year.now().getValue();
+    }
+
     /**
      * This method, given a pkg name will determine the path to the resource,
      * create the LogResourceBundle for that path and load any resources
@@ -71,15 +405,19 @@ public abstract class BaseLoggingProcessor extends AbstractProcessor {
      * 
      * @param rbName the package the resource bundle is relative
      */
-    protected void loadLogMessages(LoggingMetadata lrb, String rbName) {
+    protected void loadLogMessages(LoggingResource lrb, String rbName) {
     
-        BufferedReader bufferedReader = null;
+        long start = System.nanoTime();
+        Reader reader = null;
         try {
-            FileObject rbFileObject = getRBFileObject(rbName, true);
+            FileObject rbFileObject = getRBFileObject(rbName, PROPERTIES_EXTENSION, true);
             if (rbFileObject.getLastModified() > 0) {
-                bufferedReader = new BufferedReader(new InputStreamReader(
-                        rbFileObject.openInputStream()));
-                lrb.load(bufferedReader);                
+                byte[] content = readFully(rbFileObject);
+                bytesRead += content.length;
+                contentDigests.put(rbName + PROPERTIES_EXTENSION, digest(content));
+                reader = new InputStreamReader(new ByteArrayInputStream(content), 
+                        getPropertiesCharset());
+                lrb.load(new PropertiesReader(reader));                
             }
         } catch (IllegalArgumentException e) {
             error("Unable to load resource bundle: " + 
@@ -88,42 +426,173 @@ public abstract class BaseLoggingProcessor extends AbstractProcessor {
             debug("Unable to load resource bundle: " +
                     rbName, e);
         } finally {
-            if (bufferedReader != null) {
+            if (reader != null) {
                 try {
-                    bufferedReader.close();
+                    reader.close();
                 } catch (IOException e) {
                     error("Unable to close reader for resource bundle: " +
                             rbName, e);
                 }
             }
+            loadNanos += System.nanoTime() - start;
         }
     }
 
-    protected void storeLogMessages(LoggingMetadata lrb, String rbName) {
-        BufferedWriter bufferedWriter = null; 
+    /**
+     * Stores the resource as a properties file.
+     * 
+     * @return the content of the file, null if it could not be serialized
+     */
+    protected byte[] storeLogMessages(LoggingResource lrb, String rbName,
+            Element... originatingElements) {
+        long start = System.nanoTime();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
         try {
-            FileObject rbFileObject = getRBFileObject(rbName, false);
-            bufferedWriter = new BufferedWriter(new OutputStreamWriter(
-                    rbFileObject.openOutputStream()));
-            lrb.store(bufferedWriter);
-        } catch (IllegalArgumentException e) {
+            Charset charset = getPropertiesCharset();
+            Writer writer = new OutputStreamWriter(content, charset);
+            lrb.store(new PropertiesWriter(writer, !StandardCharsets.UTF_8.equals(charset)), 
+                    getCopyright());
+            writer.close();
+        } catch (IOException e) {
             error("Unable to store resource bundle: " +
                     rbName, e);
+            return null;
+        } finally {
+            storeNanos += System.nanoTime() - start;
+        }
+        byte[] bytes = content.toByteArray();
+        storeResource(rbName, PROPERTIES_EXTENSION, bytes, originatingElements);
+        return bytes;
+    }
+
+    /**
+     * Writes a generated resource unless its content did not change.
+     * 
+     * @param name the name of the resource, without the extension
+     * @param extension the extension of the file
+     * @param content the content of the file
+     * @param originatingElements elements the resource is generated from
+     */
+    protected void storeResource(String name, String extension, byte[] content,
+            Element... originatingElements) {
+        long start = System.nanoTime();
+        OutputStream outputStream = null; 
+        try {
+            // Leave the file and its timestamp alone if the content is the same.
+            if (Arrays.equals(getContentDigest(name, extension), digest(content))) {
+                debug(() -> "Resource " + name + " did not change.");
+                bytesUnchanged += content.length;
+                return;
+            }
+            FileObject rbFileObject = getRBFileObject(name, extension, false, originatingElements);
+            outputStream = rbFileObject.openOutputStream();
+            outputStream.write(content);
+            bytesWritten += content.length;
+        } catch (IllegalArgumentException e) {
+            error("Unable to store resource bundle: " +
+                    name, e);
         } catch (IOException e) {
             error("Unable to store resource bundle: " +
-                    rbName, e);
+                    name, e);
         }  finally {
-            if (bufferedWriter != null) {
+            if (outputStream != null) {
                 try {
-                    bufferedWriter.close();
+                    outputStream.close();
                 } catch (IOException e) {
                     error("Unable to store resource bundle: " +
-                            rbName, e);
+                            name, e);
                 }
             }
+            storeNanos += System.nanoTime() - start;
         } 
     }
 
+    private byte[] getContentDigest(String name, String extension) throws IOException {
+        String fileName = name + extension;
+        if (!contentDigests.containsKey(fileName)) {
+            // Not loaded before
+            FileObject rbFileObject = getRBFileObject(name, extension, true);
+            contentDigests.put(fileName, rbFileObject.getLastModified() > 0 
+                    ? digest(readFully(rbFileObject)) : null);
+        }
+        return contentDigests.get(fileName);
+    }
+
+    private static byte[] digest(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] readFully(FileObject fileObject) throws IOException {
+        InputStream inputStream = fileObject.openInputStream();
+        try {
+            return inputStream.readAllBytes();
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * Returns the top level type enclosing the given element. This is the
+     * type recorded as the origin of the generated entries, because it is
+     * the unit the build tools recompile.
+     */
+    protected TypeElement getOriginatingType(Element element) {
+        TypeElement type = null;
+        while (element != null && element.getKind() != ElementKind.PACKAGE) {
+            if (element instanceof TypeElement) {
+                type = (TypeElement) element;
+            }
+            element = element.getEnclosingElement();
+        }
+        return type;
+    }
+
+    /**
+     * Computes the keys of the origins index which are stale. A key is stale
+     * if its originating type is compiled again in this compilation (the
+     * annotations are about to be processed again, so the key is re-added
+     * if it is still declared) or if the type does not exist anymore.
+     * 
+     * @param origins the origins index, key to originating type name
+     * @return the stale keys
+     */
+    protected Set<String> getStaleKeys(Map<String, ?> origins) {
+        Set<String> staleKeys = new HashSet<String>();
+        for (Map.Entry<String, ?> entry : origins.entrySet()) {
+            TypeElement type = processingEnv.getElementUtils().getTypeElement(
+                    entry.getValue().toString());
+            if (type == null) {
+                staleKeys.add(entry.getKey());
+            } else if (rootTypes.contains(getOriginatingType(type).getQualifiedName().toString())) {
+                staleKeys.add(entry.getKey());
+            }
+        }
+        return staleKeys;
+    }
+
+    /**
+     * Resolves the types recorded in the origins index, so they can be
+     * passed as originating elements of the generated resources.
+     */
+    protected Element[] getOriginatingElements(Map<String, ?> origins) {
+        Set<String> typeNames = new HashSet<String>();
+        List<Element> elements = new ArrayList<Element>();
+        for (Object typeName : origins.values()) {
+            if (typeNames.add(typeName.toString())) {
+                TypeElement type = processingEnv.getElementUtils().getTypeElement(
+                        typeName.toString());
+                if (type != null) {
+                    elements.add(type);
+                }
+            }
+        }
+        return elements.toArray(new Element[elements.size()]);
+    }
+
     /**
      * We cache paths to the resource bundle because the compiler does not
      * allow us to call createResource() more than once for an object.
@@ -131,9 +600,13 @@ public abstract class BaseLoggingProcessor extends AbstractProcessor {
      * target resource does not exist.   The behavior is different in Java 6.
      * 
      * @param rbName
+     * @param extension extension of the file
+     * @param originatingElements elements the resource is generated from,
+     *        used by incremental builds to track the dependencies
      * @return path to resource bundle relative to pkg 
      */
-    private FileObject getRBFileObject(String rbName, boolean readObject) 
+    private FileObject getRBFileObject(String rbName, String extension, boolean readObject,
+            Element... originatingElements) 
     throws IllegalArgumentException, IOException 
     {        
         String rbFileName = rbName;
@@ -143,14 +616,14 @@ public abstract class BaseLoggingProcessor extends AbstractProcessor {
             rbFileName = rbName.substring(lastIndex + 1);
             rbPkg = rbName.substring(0, lastIndex);
         }
-        rbFileName = rbFileName + ".properties";
+        rbFileName = rbFileName + extension;
         if (readObject) {
             return processingEnv.getFiler().getResource(
                     StandardLocation.CLASS_OUTPUT, rbPkg, rbFileName);
         } else {
             return processingEnv.getFiler().createResource(
                     StandardLocation.CLASS_OUTPUT, rbPkg, rbFileName,
-                    (javax.lang.model.element.Element[]) null);
+                    originatingElements);
         }
     }
 }
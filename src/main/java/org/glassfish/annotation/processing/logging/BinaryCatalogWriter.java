@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.ACTION;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.CAUSE;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.CODE;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.COMMENT;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.FLAGS;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.FLAG_PUBLISH;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.FORMAT;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.HEADER_SIZE;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.ID;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.INTERVAL_SECONDS;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.LEVEL;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.MAGIC;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.MAX_RECORDS;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.MESSAGE;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.RECORD_FIELDS;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.SAMPLE_RATIO;
+import static org.glassfish.logging.runtime.BinaryLogMessageCatalog.VERSION;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.glassfish.logging.runtime.CompiledMessage;
+
+/**
+ * Serializes the log messages to the binary catalog read by
+ * {@link org.glassfish.logging.runtime.BinaryLogMessageCatalog}.
+ */
+final class BinaryCatalogWriter {
+
+    private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+
+    private final Map<String, Integer> poolOffsets = new HashMap<String, Integer>();
+
+    private BinaryCatalogWriter() {
+    }
+
+    static byte[] write(Collection<LogMessageEntry> messages) {
+        return new BinaryCatalogWriter().serialize(messages);
+    }
+
+    private byte[] serialize(Collection<LogMessageEntry> messages) {
+        // The reader compares the UTF-8 bytes of the ids.
+        List<LogMessageEntry> entries = new ArrayList<LogMessageEntry>(messages);
+        entries.sort((e1, e2) -> Arrays.compareUnsigned(
+                e1.getId().getBytes(StandardCharsets.UTF_8), e2.getId().getBytes(StandardCharsets.UTF_8)));
+
+        int[] records = new int[entries.size() * RECORD_FIELDS];
+        for (int i = 0; i < entries.size(); i++) {
+            LogMessageEntry entry = entries.get(i);
+            int record = i * RECORD_FIELDS;
+            records[record + ID] = addString(entry.getId());
+            records[record + MESSAGE] = addString(entry.getMessage());
+            records[record + LEVEL] = addString(entry.getLevel());
+            records[record + CAUSE] = addString(entry.getCause());
+            records[record + ACTION] = addString(entry.getAction());
+            records[record + COMMENT] = addString(entry.getComment());
+            records[record + FLAGS] = entry.isPublish() ? FLAG_PUBLISH : 0;
+            records[record + FORMAT] = addFormat(entry.getMessage());
+            records[record + CODE] = entry.getCode();
+            records[record + MAX_RECORDS] = entry.getMaxRecords();
+            records[record + INTERVAL_SECONDS] = entry.getIntervalSeconds();
+            records[record + SAMPLE_RATIO] = Float.floatToIntBits((float) entry.getSampleRatio());
+        }
+
+        int codeCount = 0;
+        for (LogMessageEntry entry : entries) {
+            codeCount = Math.max(codeCount, entry.getCode() + 1);
+        }
+        int[] codes = new int[codeCount];
+        Arrays.fill(codes, -1);
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).getCode() >= 0) {
+                codes[entries.get(i).getCode()] = i;
+            }
+        }
+
+        List<String> ids = new ArrayList<String>(entries.size());
+        for (LogMessageEntry entry : entries) {
+            ids.add(entry.getId());
+        }
+        PerfectHashBuilder hash = PerfectHashBuilder.build(ids);
+
+        int hashOffset = HEADER_SIZE + records.length * 4;
+        int codesOffset = hashOffset;
+        if (hash != null) {
+            codesOffset += (hash.getDisplacements().length + hash.getSlots().length) * 4;
+        }
+        int poolOffset = codesOffset + codes.length * 4;
+        ByteBuffer buffer = ByteBuffer.allocate(poolOffset + pool.size());
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(entries.size());
+        buffer.putInt(HEADER_SIZE);
+        buffer.putInt(poolOffset);
+        buffer.putInt(pool.size());
+        buffer.putInt(hash == null ? 0 : hashOffset);
+        buffer.putInt(hash == null ? 0 : hash.getDisplacements().length);
+        buffer.putInt(codesOffset);
+        buffer.putInt(codes.length);
+        for (int value : records) {
+            buffer.putInt(value);
+        }
+        if (hash != null) {
+            for (int value : hash.getDisplacements()) {
+                buffer.putInt(value);
+            }
+            for (int value : hash.getSlots()) {
+                buffer.putInt(value);
+            }
+        }
+        for (int value : codes) {
+            buffer.putInt(value);
+        }
+        buffer.put(pool.toByteArray());
+        return buffer.array();
+    }
+
+    /**
+     * Adds the compiled pattern of the message to the pool.
+     * 
+     * @return the offset of the compiled pattern in the pool, -1 if the
+     *         pattern is not compiled
+     */
+    private int addFormat(String message) {
+        CompiledMessage compiled = null;
+        try {
+            compiled = message == null ? null : MessageFormatCompiler.compile(message);
+        } catch (IllegalArgumentException e) {
+            // Reported by the validation of the message, left to MessageFormat.
+        }
+        if (compiled == null) {
+            return -1;
+        }
+        ByteArrayOutputStream format = new ByteArrayOutputStream();
+        writeVarInt(format, compiled.getArgumentCount());
+        for (int slot = 0; slot <= compiled.getArgumentCount(); slot++) {
+            writeVarInt(format, addString(compiled.getLiteral(slot)));
+            if (slot < compiled.getArgumentCount()) {
+                writeVarInt(format, compiled.getArgument(slot));
+            }
+        }
+        int offset = pool.size();
+        writeVarInt(pool, format.size());
+        pool.writeBytes(format.toByteArray());
+        return offset;
+    }
+
+    /**
+     * Writes the value seven bits per byte, least significant first, the
+     * high bit set on all the bytes but the last.
+     */
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Adds the string to the pool, once.
+     * 
+     * @return the offset of the string in the pool, -1 for null
+     */
+    private int addString(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer offset = poolOffsets.get(value);
+        if (offset == null) {
+            offset = pool.size();
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(pool, bytes.length);
+            pool.write(bytes, 0, bytes.length);
+            poolOffsets.put(value, offset);
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,449 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.glassfish.logging.runtime.BinaryLogMessageCatalog;
+import org.glassfish.logging.runtime.LoggerInfoIndex;
+import org.glassfish.logging.runtime.MergedCatalog;
+import org.glassfish.logging.runtime.RateLimit;
+
+/**
+ * Merges the log message catalogs and the LoggerInfo metadata of the jars of
+ * a distribution into a single jar, loaded by the runtime as a
+ * {@link MergedCatalog}. The jars are read in parallel, one task per jar,
+ * and merged in the order of their paths, so the same jars always give the
+ * same merged jar.
+ * <p>
+ * Usage: {@code java -cp logging-annotation-processor.jar
+ * org.glassfish.annotation.processing.logging.CatalogMerger [-t threads]
+ * -o merged.jar (jar|directory)...}, the directories are searched for jars
+ * recursively; the merge goal of the logging-catalog-maven-plugin runs it
+ * in the build of a distribution. The merger fails if two bundles declare
+ * the same message id with different messages, or if two jars declare the
+ * same logger in different subsystems. The other logger properties declared
+ * differently, the descriptions and the publish flags, are taken from the
+ * first jar in the order of the paths, with a warning.
+ */
+public final class CatalogMerger {
+
+    private static final String LOGGER_INFO_NAME = "META-INF/loggerinfo/LoggerInfoMetadata.properties";
+
+    private static final String JAR_EXTENSION = ".jar";
+
+    private static final String CATALOG_EXTENSION = BinaryLogMessageCatalog.FILE_EXTENSION;
+
+    private static final String BUNDLE_SUFFIX = "LogMessages";
+
+    private static final String SUBSYSTEM_SUFFIX = ".subsystem";
+
+    private final int threads;
+
+    private final List<String> warnings = new ArrayList<String>();
+
+    private final List<String> errors = new ArrayList<String>();
+
+    // The merged state, filled in the order of the jars.
+
+    private final SortedMap<String, LogMessageEntry> messages = new TreeMap<String, LogMessageEntry>();
+
+    private final Map<String, String> messageBundles = new HashMap<String, String>();
+
+    private final SortedMap<String, SortedMap<String, LogMessageEntry>> translations =
+            new TreeMap<String, SortedMap<String, LogMessageEntry>>();
+
+    private final SortedMap<String, TreeSet<String>> bundles = new TreeMap<String, TreeSet<String>>();
+
+    private final SortedMap<String, String> loggerInfo = new TreeMap<String, String>();
+
+    /**
+     * @param threads the number of jars read in parallel
+     */
+    public CatalogMerger(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads is not positive: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path output = null;
+        List<Path> inputs = new ArrayList<Path>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if ("-o".equals(args[i]) && i + 1 < args.length) {
+                    output = Paths.get(args[++i]);
+                } else if ("-t".equals(args[i]) && i + 1 < args.length) {
+                    threads = Integer.parseInt(args[++i]);
+                } else {
+                    inputs.add(Paths.get(args[i]));
+                }
+            }
+        } catch (NumberFormatException e) {
+            output = null;
+        }
+        if (output == null || inputs.isEmpty() || threads <= 0) {
+            System.err.println("Usage: CatalogMerger [-t threads] -o merged.jar (jar|directory)...");
+            System.exit(2);
+        }
+        CatalogMerger merger = new CatalogMerger(threads);
+        long start = System.nanoTime();
+        try {
+            int jars = merger.merge(inputs, output);
+            merger.getWarnings().forEach(warning -> System.err.println("WARNING: " + warning));
+            merger.getErrors().forEach(error -> System.err.println("ERROR: " + error));
+            if (!merger.getErrors().isEmpty()) {
+                System.exit(1);
+            }
+            System.out.println("Merged " + merger.messages.size() + " log messages of " + merger.bundles.size()
+                    + " bundles and " + merger.getLoggerCount() + " loggers of " + jars + " jars into " + output
+                    + " in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        } catch (IOException e) {
+            System.err.println("ERROR: Unable to merge the catalogs: " + e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Merges the catalogs of the jars into the output jar, which is not
+     * written if there are errors.
+     * 
+     * @param inputs the jars and the directories of jars
+     * @param output the merged jar
+     * @return the number of jars read
+     * @throws IOException if a jar cannot be read or the output written
+     */
+    public int merge(List<Path> inputs, Path output) throws IOException {
+        List<Path> jars = findJars(inputs, output);
+        List<JarContent> contents = read(jars);
+        for (JarContent content : contents) {
+            merge(content);
+        }
+        if (errors.isEmpty()) {
+            write(output);
+        }
+        return jars.size();
+    }
+
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    private int getLoggerCount() {
+        return (int) loggerInfo.keySet().stream().filter(key -> key.endsWith(SUBSYSTEM_SUFFIX)).count();
+    }
+
+    private static List<Path> findJars(List<Path> inputs, Path output) throws IOException {
+        TreeSet<Path> jars = new TreeSet<Path>();
+        for (Path input : inputs) {
+            if (Files.isDirectory(input)) {
+                try (Stream<Path> files = Files.walk(input)) {
+                    jars.addAll(files.filter(file -> file.getFileName().toString().endsWith(JAR_EXTENSION)
+                            && Files.isRegularFile(file)).collect(Collectors.toList()));
+                }
+            } else if (Files.isRegularFile(input)) {
+                jars.add(input);
+            } else {
+                throw new IOException("The input " + input + " does not exist.");
+            }
+        }
+        // A previous merged jar in the distribution is replaced, not merged.
+        jars.removeIf(jar -> jar.toAbsolutePath().normalize().equals(output.toAbsolutePath().normalize()));
+        return new ArrayList<Path>(jars);
+    }
+
+    private List<JarContent> read(List<Path> jars) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<JarContent>> results = new ArrayList<Future<JarContent>>(jars.size());
+            for (Path jar : jars) {
+                results.add(executor.submit(() -> JarContent.read(jar)));
+            }
+            List<JarContent> contents = new ArrayList<JarContent>(jars.size());
+            for (Future<JarContent> result : results) {
+                contents.add(result.get());
+            }
+            return contents;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading the jars.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void merge(JarContent content) {
+        for (Map.Entry<String, List<LogMessageEntry>> bundle : content.bundles.entrySet()) {
+            String bundleName = bundle.getKey();
+            bundles.computeIfAbsent(bundleName, name -> new TreeSet<String>());
+            for (LogMessageEntry entry : bundle.getValue()) {
+                LogMessageEntry previous = messages.get(entry.getId());
+                if (previous == null) {
+                    messages.put(entry.getId(), entry);
+                    messageBundles.put(entry.getId(), bundleName);
+                } else if (!isSame(previous, entry)) {
+                    errors.add("The message id " + entry.getId() + " of the bundle " + bundleName + " of "
+                            + content.jar + " is already declared with a different message by the bundle "
+                            + messageBundles.get(entry.getId()) + ".");
+                }
+            }
+        }
+        for (Map.Entry<String, Map<String, List<LogMessageEntry>>> bundle : content.translations.entrySet()) {
+            for (Map.Entry<String, List<LogMessageEntry>> translation : bundle.getValue().entrySet()) {
+                String locale = translation.getKey();
+                TreeSet<String> locales = bundles.get(bundle.getKey());
+                if (locales == null) {
+                    warnings.add("The translation " + locale + " of the bundle " + bundle.getKey() + " of "
+                            + content.jar + " has no root catalog, it is not merged.");
+                    continue;
+                }
+                locales.add(locale);
+                SortedMap<String, LogMessageEntry> translated =
+                        translations.computeIfAbsent(locale, l -> new TreeMap<String, LogMessageEntry>());
+                for (LogMessageEntry entry : translation.getValue()) {
+                    translated.putIfAbsent(entry.getId(), entry);
+                }
+            }
+        }
+        for (Map.Entry<String, String> property : content.loggerInfo.entrySet()) {
+            String key = property.getKey();
+            String previous = loggerInfo.putIfAbsent(key, property.getValue());
+            if (previous == null || previous.equals(property.getValue())) {
+                continue;
+            }
+            if (key.endsWith(SUBSYSTEM_SUFFIX)) {
+                errors.add("The logger " + key.substring(0, key.length() - SUBSYSTEM_SUFFIX.length()) + " of "
+                        + content.jar + " is in the subsystem '" + property.getValue()
+                        + "', it is already declared in the subsystem '" + previous + "'.");
+            } else {
+                warnings.add("The logger property " + key + " of " + content.jar + " is already declared as '"
+                        + previous + "', it is not merged.");
+            }
+        }
+    }
+
+    private static boolean isSame(LogMessageEntry first, LogMessageEntry second) {
+        return Objects.equals(first.getMessage(), second.getMessage())
+                && Objects.equals(first.getLevel(), second.getLevel())
+                && Objects.equals(first.getCause(), second.getCause())
+                && Objects.equals(first.getAction(), second.getAction())
+                && first.isPublish() == second.isPublish()
+                && first.getMaxRecords() == second.getMaxRecords()
+                && first.getIntervalSeconds() == second.getIntervalSeconds()
+                && first.getSampleRatio() == second.getSampleRatio();
+    }
+
+    private void write(Path output) throws IOException {
+        // The codes of the merged catalog are dense, in the order of the ids.
+        int code = 0;
+        for (LogMessageEntry entry : messages.values()) {
+            entry.setCode(code++);
+        }
+        if (output.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(output.toAbsolutePath().getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(output); ZipOutputStream zip = new ZipOutputStream(out)) {
+            writeEntry(zip, MergedCatalog.CATALOG_NAME + CATALOG_EXTENSION, BinaryCatalogWriter.write(messages.values()));
+            for (Map.Entry<String, SortedMap<String, LogMessageEntry>> translation : translations.entrySet()) {
+                for (LogMessageEntry entry : translation.getValue().values()) {
+                    LogMessageEntry message = messages.get(entry.getId());
+                    entry.setCode(message == null ? -1 : message.getCode());
+                }
+                writeEntry(zip, MergedCatalog.CATALOG_NAME + "_" + translation.getKey() + CATALOG_EXTENSION,
+                        BinaryCatalogWriter.write(translation.getValue().values()));
+            }
+            Map<String, String> bundleLocales = new TreeMap<String, String>();
+            for (Map.Entry<String, TreeSet<String>> bundle : bundles.entrySet()) {
+                bundleLocales.put(bundle.getKey(), String.join(",", bundle.getValue()));
+            }
+            writeEntry(zip, MergedCatalog.BUNDLES_NAME, toProperties(bundleLocales));
+            writeEntry(zip, MergedCatalog.LOGGER_INFO_NAME, toProperties(loggerInfo));
+            writeEntry(zip, MergedCatalog.LOGGER_INDEX_NAME, toProperties(getLoggerIndex()));
+        }
+    }
+
+    private Map<String, String> getLoggerIndex() {
+        Map<String, String> subsystems = new HashMap<String, String>();
+        for (Map.Entry<String, String> property : loggerInfo.entrySet()) {
+            String key = property.getKey();
+            if (key.endsWith(SUBSYSTEM_SUFFIX)) {
+                subsystems.put(key.substring(0, key.length() - SUBSYSTEM_SUFFIX.length()), property.getValue());
+            }
+        }
+        LoggerInfoIndex index = new LoggerInfoIndex(subsystems);
+        Map<String, String> properties = new TreeMap<String, String>();
+        for (String subsystem : index.getSubsystems()) {
+            properties.put(LoggerInfoIndex.SUBSYSTEM_PREFIX + subsystem, String.join(",", index.getLoggers(subsystem)));
+        }
+        for (String logger : subsystems.keySet()) {
+            List<String> children = index.getChildren(logger);
+            if (!children.isEmpty()) {
+                properties.put(LoggerInfoIndex.CHILDREN_PREFIX + logger, String.join(",", children));
+            }
+        }
+        properties.put(LoggerInfoIndex.ROOTS_KEY, String.join(",", index.getRoots()));
+        return properties;
+    }
+
+    private static byte[] toProperties(Map<String, String> properties) throws IOException {
+        StringWriter out = new StringWriter();
+        PropertiesWriter writer = new PropertiesWriter(out, true);
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            writer.writeProperty(property.getKey(), property.getValue());
+        }
+        writer.flush();
+        return out.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static void writeEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    /**
+     * The catalogs and the logger metadata of a jar.
+     */
+    private static final class JarContent {
+
+        final Path jar;
+
+        final Map<String, List<LogMessageEntry>> bundles = new TreeMap<String, List<LogMessageEntry>>();
+
+        final Map<String, Map<String, List<LogMessageEntry>>> translations =
+                new TreeMap<String, Map<String, List<LogMessageEntry>>>();
+
+        final Map<String, String> loggerInfo = new TreeMap<String, String>();
+
+        private JarContent(Path jar) {
+            this.jar = jar;
+        }
+
+        static JarContent read(Path jar) throws IOException {
+            JarContent content = new JarContent(jar);
+            try (ZipFile zip = new ZipFile(jar.toFile())) {
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    String name = entry.getName();
+                    if (name.startsWith(MergedCatalog.MESSAGES_PATH) || name.startsWith(MergedCatalog.LOGGERS_PATH)) {
+                        continue;
+                    }
+                    if (name.endsWith(CATALOG_EXTENSION)) {
+                        content.readCatalog(zip, entry);
+                    } else if (name.equals(LOGGER_INFO_NAME)) {
+                        try (InputStream in = zip.getInputStream(entry);
+                                Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                            new PropertiesReader(reader).read((key, value, comment) -> content.loggerInfo.put(key, value));
+                        }
+                    }
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IOException("Unable to read the jar " + jar + ": " + e.getMessage(), e);
+            }
+            return content;
+        }
+
+        /**
+         * Reads the catalog of a bundle, com/foo/LogMessages.catalog, or of
+         * its translation, com/foo/LogMessages_de.catalog.
+         */
+        private void readCatalog(ZipFile zip, ZipEntry entry) throws IOException {
+            String name = entry.getName().substring(0, entry.getName().length() - CATALOG_EXTENSION.length());
+            int bundleEnd = name.lastIndexOf(BUNDLE_SUFFIX + "_");
+            String locale = null;
+            if (bundleEnd > 0 && !name.endsWith(BUNDLE_SUFFIX)) {
+                locale = name.substring(bundleEnd + BUNDLE_SUFFIX.length() + 1);
+                name = name.substring(0, bundleEnd + BUNDLE_SUFFIX.length());
+            } else if (!name.endsWith(BUNDLE_SUFFIX)) {
+                return;
+            }
+            String bundleName = name.replace('/', '.');
+            BinaryLogMessageCatalog catalog;
+            try (InputStream in = zip.getInputStream(entry)) {
+                catalog = BinaryLogMessageCatalog.wrap(ByteBuffer.wrap(in.readAllBytes()));
+            }
+            List<LogMessageEntry> entries = toEntries(catalog);
+            if (locale == null) {
+                bundles.put(bundleName, entries);
+            } else {
+                translations.computeIfAbsent(bundleName, b -> new TreeMap<String, List<LogMessageEntry>>())
+                        .put(locale, entries);
+            }
+        }
+
+        private static List<LogMessageEntry> toEntries(BinaryLogMessageCatalog catalog) {
+            List<LogMessageEntry> entries = new ArrayList<LogMessageEntry>(catalog.size());
+            for (int i = 0; i < catalog.size(); i++) {
+                String id = catalog.getId(i);
+                LogMessageEntry entry = new LogMessageEntry(id);
+                entry.setMessage(catalog.getMessage(id));
+                entry.setLevel(catalog.getLevel(id));
+                entry.setCause(catalog.getCause(id));
+                entry.setAction(catalog.getAction(id));
+                entry.setComment(catalog.getComment(id));
+                entry.setPublish(catalog.isPublished(id));
+                RateLimit limit = catalog.getRateLimit(id);
+                if (limit != null) {
+                    entry.setMaxRecords(limit.getMaxRecords());
+                    entry.setIntervalSeconds(limit.getIntervalSeconds());
+                    entry.setSampleRatio(limit.getSampleRatio());
+                }
+                entries.add(entry);
+            }
+            return entries;
+        }
+    }
+}
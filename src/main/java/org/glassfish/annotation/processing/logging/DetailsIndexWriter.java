@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import static org.glassfish.logging.runtime.LogMessageDetails.FLAG_UTF8;
+import static org.glassfish.logging.runtime.LogMessageDetails.HEADER_SIZE;
+import static org.glassfish.logging.runtime.LogMessageDetails.MAGIC;
+import static org.glassfish.logging.runtime.LogMessageDetails.RECORD_FIELDS;
+import static org.glassfish.logging.runtime.LogMessageDetails.VERSION;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serializes the index of the details file read by
+ * {@link org.glassfish.logging.runtime.LogMessageDetails}: the position of
+ * the properties of every message in the file, found in the serialized
+ * content so the index always matches the bytes which are stored.
+ */
+final class DetailsIndexWriter {
+
+    private DetailsIndexWriter() {
+    }
+
+    /**
+     * @param details the content of the details file
+     * @param entries the entries in the order of the details file
+     * @param charset the encoding of the details file
+     * @return the index, null if the properties of a message are not found
+     */
+    static byte[] write(byte[] details, List<LogMessageEntry> entries, Charset charset) throws IOException {
+        boolean utf8 = StandardCharsets.UTF_8.equals(charset);
+        // The properties of a message start with its action, at the
+        // beginning of a line, and end where the next message starts.
+        int[] offsets = new int[entries.size() + 1];
+        int position = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            byte[] key = getEscapedKey(entries.get(i).getId() + LogMessagesModel.ACTION, charset, !utf8);
+            position = indexOf(details, key, position);
+            if (position < 0) {
+                return null;
+            }
+            offsets[i] = position;
+        }
+        offsets[entries.size()] = details.length;
+
+        List<String> ids = new ArrayList<String>(entries.size());
+        ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        int[] records = new int[entries.size() * RECORD_FIELDS];
+        for (int i = 0; i < entries.size(); i++) {
+            String id = entries.get(i).getId();
+            ids.add(id);
+            records[i * RECORD_FIELDS] = pool.size();
+            records[i * RECORD_FIELDS + 1] = offsets[i];
+            records[i * RECORD_FIELDS + 2] = offsets[i + 1] - offsets[i];
+            byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(pool, bytes.length);
+            pool.write(bytes, 0, bytes.length);
+        }
+        PerfectHashBuilder hash = PerfectHashBuilder.build(ids);
+
+        int hashOffset = HEADER_SIZE + records.length * 4;
+        int poolOffset = hashOffset;
+        if (hash != null) {
+            poolOffset += (hash.getDisplacements().length + hash.getSlots().length) * 4;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(poolOffset + pool.size());
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(utf8 ? FLAG_UTF8 : 0);
+        buffer.putInt(entries.size());
+        buffer.putInt(hash == null ? 0 : hashOffset);
+        buffer.putInt(hash == null ? 0 : hash.getDisplacements().length);
+        buffer.putInt(poolOffset);
+        buffer.putInt(pool.size());
+        for (int value : records) {
+            buffer.putInt(value);
+        }
+        if (hash != null) {
+            for (int value : hash.getDisplacements()) {
+                buffer.putInt(value);
+            }
+            for (int value : hash.getSlots()) {
+                buffer.putInt(value);
+            }
+        }
+        buffer.put(pool.toByteArray());
+        return buffer.array();
+    }
+
+    /**
+     * Returns the key as written in the properties file, followed by the
+     * separator.
+     */
+    private static byte[] getEscapedKey(String key, Charset charset, boolean escapeNonAscii) throws IOException {
+        StringWriter out = new StringWriter();
+        PropertiesWriter writer = new PropertiesWriter(out, escapeNonAscii);
+        writer.writeProperty(key, "");
+        writer.flush();
+        String property = out.toString();
+        // Drop the line breaks following the empty value.
+        return property.substring(0, property.length() - 2).getBytes(charset);
+    }
+
+    /**
+     * Returns the position of the line starting with the key, from the
+     * position, -1 if there is none.
+     */
+    private static int indexOf(byte[] content, byte[] key, int from) {
+        for (int i = from; i + key.length <= content.length; i++) {
+            if (i > 0 && content[i - 1] != '\n') {
+                continue;
+            }
+            int j = 0;
+            while (j < key.length && content[i + j] == key[j]) {
+                j++;
+            }
+            if (j == key.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Level;
+
+import javax.lang.model.SourceVersion;
+
+/**
+ * Writes the source of the logging facade of a bundle: one method per log
+ * message, taking the parameters of the message, which checks the level of
+ * the message before allocating the parameters array. The messages with one
+ * or two parameters also get overloads taking int and long parameters, boxed
+ * only when the message is logged, and every message gets a variant taking
+ * the throwable of the record as first parameter. The methods of the
+ * messages below the minimum level of the build are empty.
+ */
+final class FacadeWriter {
+
+    /** Suffix of the facade class name, appended to the bundle name. */
+    static final String FACADE_SUFFIX = "Facade";
+
+    private static final String[] PRIMITIVE_TYPES = {"Object", "int", "long"};
+
+    private static final int MAX_PRIMITIVE_ARITY = 2;
+
+    private static final String LOG_LEVELS = "org.glassfish.logging.runtime.LogLevels";
+
+    private static final Set<String> JUL_LEVELS = Set.of(
+            "OFF", "SEVERE", "WARNING", "INFO", "CONFIG", "FINE", "FINER", "FINEST", "ALL");
+
+    private final StringBuilder source = new StringBuilder(4096);
+
+    private final Set<String> methodNames = new HashSet<String>();
+
+    private final Level minLevel;
+
+    private FacadeWriter(Level minLevel) {
+        this.minLevel = minLevel;
+    }
+
+    /**
+     * @param out the writer of the source file
+     * @param bundleName the name of the resource bundle
+     * @param messages the messages of the bundle
+     * @param minLevel the minimum level of the build, null if there is none
+     */
+    static void write(Writer out, String bundleName, Collection<LogMessageEntry> messages, Level minLevel)
+            throws IOException {
+        out.write(new FacadeWriter(minLevel).generate(bundleName, messages));
+    }
+
+    private String generate(String bundleName, Collection<LogMessageEntry> messages) {
+        String className = bundleName + FACADE_SUFFIX;
+        String packageName = "";
+        String simpleName = className;
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot > 0) {
+            packageName = className.substring(0, lastDot);
+            simpleName = className.substring(lastDot + 1);
+        }
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import java.util.logging.Level;\n");
+        source.append("import java.util.logging.Logger;\n\n");
+        source.append("import org.glassfish.logging.runtime.LogFacades;\n\n");
+        source.append("/**\n");
+        source.append(" * Logging methods of the messages of ").append(javadoc(bundleName))
+            .append(", generated by the logging\n");
+        source.append(" * annotation processor, do not edit. Every method checks the level of its\n");
+        source.append(" * message before allocating anything.\n");
+        source.append(" */\n");
+        source.append("public final class ").append(simpleName).append(" {\n\n");
+        source.append("    private final Logger logger;\n\n");
+        source.append("    public ").append(simpleName).append("(Logger logger) {\n");
+        source.append("        this.logger = logger;\n");
+        source.append("    }\n\n");
+        source.append("    public Logger getLogger() {\n");
+        source.append("        return logger;\n");
+        source.append("    }\n");
+        for (LogMessageEntry entry : messages) {
+            String methodName = getMethodName(entry);
+            int arity = MessageFormatCompiler.getArity(entry.getMessage());
+            String level = getLevel(entry.getLevel());
+            writeMethod(entry, methodName, level, arity, null, false);
+            if (arity > 0 && arity <= MAX_PRIMITIVE_ARITY) {
+                int combinations = arity == 1 ? PRIMITIVE_TYPES.length : PRIMITIVE_TYPES.length * PRIMITIVE_TYPES.length;
+                // The first combination is the Object one.
+                for (int combination = 1; combination < combinations; combination++) {
+                    String[] types = new String[arity];
+                    for (int i = 0, c = combination; i < arity; i++, c /= PRIMITIVE_TYPES.length) {
+                        types[i] = PRIMITIVE_TYPES[c % PRIMITIVE_TYPES.length];
+                    }
+                    writeMethod(entry, methodName, level, arity, types, false);
+                }
+            }
+            writeMethod(entry, methodName, level, arity, null, true);
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private void writeMethod(LogMessageEntry entry, String methodName, String level, int arity,
+            String[] types, boolean thrown) {
+        source.append("\n");
+        source.append("    /**\n");
+        source.append("     * ").append(javadoc(entry.getId())).append(": ")
+            .append(javadoc(entry.getMessage())).append("\n");
+        source.append("     */\n");
+        source.append("    public void ").append(methodName).append('(');
+        if (thrown) {
+            source.append("Throwable thrown");
+        }
+        for (int i = 0; i < arity; i++) {
+            if (i > 0 || thrown) {
+                source.append(", ");
+            }
+            source.append(types == null ? "Object" : types[i]).append(" arg").append(i);
+        }
+        source.append(") {\n");
+        if (!LevelsWriter.isEnabled(entry.getLevel(), minLevel)) {
+            source.append("        // Below the minimum level ").append(minLevel.getName()).append(" of the build.\n");
+            source.append("    }\n");
+            return;
+        }
+        source.append("        if (logger.isLoggable(").append(level).append(")) {\n");
+        source.append("            LogFacades.log(logger, getClass(), ").append(level).append(", ");
+        ResourceBundleClassWriter.appendLiteral(source, entry.getId());
+        source.append(", ").append(thrown ? "thrown" : "null").append(", ");
+        if (arity == 0) {
+            source.append("null");
+        } else {
+            source.append("new Object[] {");
+            for (int i = 0; i < arity; i++) {
+                source.append(i > 0 ? ", arg" : "arg").append(i);
+            }
+            source.append('}');
+        }
+        source.append(");\n");
+        source.append("        }\n");
+        source.append("    }\n");
+    }
+
+    /**
+     * Returns the expression of the level, resolved once by the class.
+     */
+    private static String getLevel(String level) {
+        if (JUL_LEVELS.contains(level)) {
+            return "Level." + level;
+        }
+        if ("EMERGENCY".equals(level) || "ALERT".equals(level)) {
+            return LOG_LEVELS + "." + level;
+        }
+        StringBuilder expression = new StringBuilder(LOG_LEVELS).append(".parse(");
+        ResourceBundleClassWriter.appendLiteral(expression, level);
+        return expression.append(')').toString();
+    }
+
+    /**
+     * Derives the method name from the name of the field declaring the
+     * message, EJB_DEPLOYMENT_FAILED gives ejbDeploymentFailed, or from the
+     * message id if the field is not known.
+     */
+    private String getMethodName(LogMessageEntry entry) {
+        String name = toCamelCase(entry.getField() == null ? entry.getId() : entry.getField());
+        if (name.isEmpty() || SourceVersion.isKeyword(name) || "getLogger".equals(name)) {
+            name = name + "_";
+        }
+        if (!methodNames.add(name)) {
+            name = name + "_" + toCamelCase(entry.getId());
+            methodNames.add(name);
+        }
+        return name;
+    }
+
+    private static String toCamelCase(String name) {
+        boolean constant = name.equals(name.toUpperCase(Locale.ROOT));
+        StringBuilder result = new StringBuilder(name.length());
+        boolean upper = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isJavaIdentifierPart(c) || c == '_' || c == '$') {
+                upper = result.length() > 0;
+            } else if (result.length() == 0) {
+                if (!Character.isJavaIdentifierStart(c)) {
+                    result.append('_');
+                }
+                result.append(Character.toLowerCase(c));
+            } else if (upper) {
+                result.append(Character.toUpperCase(c));
+                upper = false;
+            } else {
+                result.append(constant ? Character.toLowerCase(c) : c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Escapes the text for a javadoc comment: the HTML characters, the end
+     * of comment, the backslashes which would start unicode escapes and the
+     * line breaks.
+     */
+    static String javadoc(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '<':
+                result.append("&lt;");
+                break;
+            case '>':
+                result.append("&gt;");
+                break;
+            case '&':
+                result.append("&amp;");
+                break;
+            case '@':
+                result.append("&#64;");
+                break;
+            case '/':
+                result.append("&#47;");
+                break;
+            case '\\':
+                result.append("&#92;");
+                break;
+            case '\r':
+            case '\n':
+                result.append(' ');
+                break;
+            default:
+                if (c > 0x7E) {
+                    result.append("&#").append((int) c).append(';');
+                } else {
+                    result.append(c);
+                }
+            }
+        }
+        return result.toString();
+    }
+}
@@ -50,6 +50,10 @@ public class GPLCopyright {
     public static String getCopyright() {
         int year = Calendar.getInstance().get(Calendar.YEAR);
 
+        return getCopyright(year);
+    }
+
+    public static String getCopyright(int year) {
         return GPLCOPYRIGHT_UNDATED.replaceFirst(
                 YEAR_PATTERN, String.valueOf(year));
     }
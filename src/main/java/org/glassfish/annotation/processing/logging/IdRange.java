@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+/**
+ * A range of message ids allocated to a module, AS-EJB-00001..AS-EJB-00999:
+ * the ids with the same prefix whose trailing number is in the range, the
+ * number of digits does not matter.
+ */
+final class IdRange {
+
+    private static final String SEPARATOR = "..";
+
+    private final String prefix;
+
+    private final long first;
+
+    private final long last;
+
+    private IdRange(String prefix, long first, long last) {
+        this.prefix = prefix;
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the range is not valid
+     */
+    static IdRange parse(String range) {
+        int separator = range.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("The range " + range + " is not first" + SEPARATOR + "last.");
+        }
+        String first = range.substring(0, separator).trim();
+        String last = range.substring(separator + SEPARATOR.length()).trim();
+        int firstDigits = getNumberStart(first);
+        int lastDigits = getNumberStart(last);
+        if (firstDigits == first.length() || lastDigits == last.length()) {
+            throw new IllegalArgumentException("The ids of the range " + range + " do not end with a number.");
+        }
+        String prefix = first.substring(0, firstDigits);
+        if (!prefix.equals(last.substring(0, lastDigits))) {
+            throw new IllegalArgumentException("The ids of the range " + range + " do not have the same prefix.");
+        }
+        try {
+            long firstNumber = Long.parseLong(first.substring(firstDigits));
+            long lastNumber = Long.parseLong(last.substring(lastDigits));
+            if (firstNumber > lastNumber) {
+                throw new IllegalArgumentException("The range " + range + " is empty.");
+            }
+            return new IdRange(prefix, firstNumber, lastNumber);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The numbers of the range " + range + " are too large.");
+        }
+    }
+
+    boolean contains(String id) {
+        int digits = getNumberStart(id);
+        if (digits == id.length() || digits != prefix.length() || !id.startsWith(prefix)
+                || id.length() - digits > 18) {
+            return false;
+        }
+        long number = Long.parseLong(id.substring(digits));
+        return number >= first && number <= last;
+    }
+
+    /**
+     * Returns the position of the trailing ASCII digits of the id.
+     */
+    private static int getNumberStart(String id) {
+        int position = id.length();
+        while (position > 0 && id.charAt(position - 1) >= '0' && id.charAt(position - 1) <= '9') {
+            position--;
+        }
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        return prefix + first + SEPARATOR + prefix + last;
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The sorted manifest of the message ids of a module, published in its jar
+ * so the builds of the other modules detect the ids declared twice. The
+ * manifest is read into the heap and the ids are binary searched in place,
+ * comparing their UTF-8 bytes. The manifests of the jars are read once per
+ * JVM as long as the jar does not change, so the modules of a reactor build
+ * share them; the manifests of the directories of classes change with every
+ * build, they are read again and neither cached nor kept open, so the
+ * directories can be deleted while the JVM runs.
+ * <p>
+ * Layout, big endian integers: the header (magic, version, number of ids,
+ * number of bundles, offset and size of the string pool), the pool offsets
+ * of the names of the bundles, the records of the ids sorted by their bytes
+ * (pool offset of the id, index of its bundle), and the pool of strings,
+ * each one a varint length followed by its UTF-8 bytes.
+ */
+final class IdRegistry {
+
+    /** Name of the manifest in the jar, without extension. */
+    static final String IDS_NAME = "META-INF/logmessages/LogMessagesIds";
+
+    static final String FILE_EXTENSION = ".index";
+
+    /** First bytes of the file, "LMI1". */
+    static final int MAGIC = 0x4C4D4931;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 24;
+
+    private static final int RECORD_FIELDS = 2;
+
+    private static final Map<Path, CachedRegistry> CACHE = new ConcurrentHashMap<Path, CachedRegistry>();
+
+    private final Path path;
+
+    private final ByteBuffer buffer;
+
+    private final int size;
+
+    private final int bundleCount;
+
+    private final int recordsOffset;
+
+    private final int poolOffset;
+
+    private IdRegistry(Path path, ByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a message id manifest.");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported message id manifest version " + buffer.getInt(4) + ".");
+        }
+        size = buffer.getInt(8);
+        bundleCount = buffer.getInt(12);
+        poolOffset = buffer.getInt(16);
+        int poolSize = buffer.getInt(20);
+        recordsOffset = HEADER_SIZE + bundleCount * 4;
+        if (size < 0 || bundleCount < 0 || recordsOffset + size * RECORD_FIELDS * 4 > poolOffset
+                || poolSize < 0 || poolOffset + poolSize > buffer.capacity()) {
+            throw new IllegalArgumentException("Truncated message id manifest.");
+        }
+    }
+
+    /**
+     * Serializes the manifest.
+     * 
+     * @param bundles the bundle of every id
+     */
+    static byte[] write(Map<String, String> bundles) {
+        // The order of the bytes, which is not the order of the strings
+        // beyond the BMP.
+        List<String> sortedIds = new ArrayList<String>(bundles.keySet());
+        sortedIds.sort((first, second) -> compare(first.getBytes(StandardCharsets.UTF_8),
+                second.getBytes(StandardCharsets.UTF_8)));
+        ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        List<String> bundleNames = new ArrayList<String>();
+        List<Integer> bundleOffsets = new ArrayList<Integer>();
+        int[] records = new int[sortedIds.size() * RECORD_FIELDS];
+        for (int i = 0; i < sortedIds.size(); i++) {
+            String bundle = bundles.get(sortedIds.get(i));
+            int bundleIndex = bundleNames.indexOf(bundle);
+            if (bundleIndex < 0) {
+                bundleIndex = bundleNames.size();
+                bundleNames.add(bundle);
+                bundleOffsets.add(writeString(pool, bundle));
+            }
+            records[i * RECORD_FIELDS] = writeString(pool, sortedIds.get(i));
+            records[i * RECORD_FIELDS + 1] = bundleIndex;
+        }
+        int poolOffset = HEADER_SIZE + bundleOffsets.size() * 4 + records.length * 4;
+        ByteBuffer buffer = ByteBuffer.allocate(poolOffset + pool.size());
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(sortedIds.size());
+        buffer.putInt(bundleOffsets.size());
+        buffer.putInt(poolOffset);
+        buffer.putInt(pool.size());
+        for (int offset : bundleOffsets) {
+            buffer.putInt(offset);
+        }
+        for (int value : records) {
+            buffer.putInt(value);
+        }
+        buffer.put(pool.toByteArray());
+        return buffer.array();
+    }
+
+    private static int writeString(ByteArrayOutputStream pool, String value) {
+        int offset = pool.size();
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        while ((length & ~0x7F) != 0) {
+            pool.write((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        pool.write(length);
+        pool.write(bytes, 0, bytes.length);
+        return offset;
+    }
+
+    static IdRegistry wrap(ByteBuffer buffer) {
+        return new IdRegistry(null, buffer);
+    }
+
+    /**
+     * Opens the manifest of the class path element: a jar, a directory of
+     * classes or the manifest itself.
+     * 
+     * @return the manifest, null if the element has none
+     * @throws IOException if the manifest cannot be read
+     * @throws IllegalArgumentException if the manifest is not valid
+     */
+    static IdRegistry open(Path element) throws IOException {
+        Path path = element.toAbsolutePath().normalize();
+        if (Files.isDirectory(path)) {
+            path = path.resolve(IDS_NAME + FILE_EXTENSION);
+            if (!Files.isRegularFile(path)) {
+                return null;
+            }
+        } else if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        if (path.getFileName().toString().endsWith(FILE_EXTENSION)) {
+            return new IdRegistry(path, ByteBuffer.wrap(Files.readAllBytes(path)));
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        CachedRegistry cached = CACHE.get(path);
+        if (cached != null && cached.lastModified == attributes.lastModifiedTime().toMillis()
+                && cached.size == attributes.size()) {
+            return cached.registry;
+        }
+        IdRegistry registry;
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            ZipEntry entry = zip.getEntry(IDS_NAME + FILE_EXTENSION);
+            if (entry == null) {
+                registry = null;
+            } else {
+                try (InputStream in = zip.getInputStream(entry)) {
+                    registry = new IdRegistry(path, ByteBuffer.wrap(in.readAllBytes()));
+                }
+            }
+        }
+        CACHE.put(path, new CachedRegistry(registry, attributes.lastModifiedTime().toMillis(), attributes.size()));
+        return registry;
+    }
+
+    /**
+     * Returns the path of the manifest or of its jar.
+     */
+    Path getPath() {
+        return path;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the bundle declaring the id, null if the module does not
+     * declare it.
+     */
+    String getBundle(String id) {
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int cmp = compare(poolOffset + buffer.getInt(recordsOffset + middle * RECORD_FIELDS * 4), key);
+            if (cmp < 0) {
+                low = middle + 1;
+            } else if (cmp > 0) {
+                high = middle - 1;
+            } else {
+                int bundle = buffer.getInt(recordsOffset + middle * RECORD_FIELDS * 4 + 4);
+                return getString(poolOffset + buffer.getInt(HEADER_SIZE + bundle * 4));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the ids, in the order of their bytes.
+     */
+    List<String> getIds() {
+        List<String> ids = new ArrayList<String>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(getString(poolOffset + buffer.getInt(recordsOffset + i * RECORD_FIELDS * 4)));
+        }
+        return ids;
+    }
+
+    private String getString(int position) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(position++);
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares the pool string at the position with the key, byte by byte
+     * as unsigned values.
+     */
+    private int compare(int position, byte[] key) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(position++);
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = (buffer.get(position + i) & 0xFF) - (key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - key.length;
+    }
+
+    private static int compare(byte[] first, byte[] second) {
+        int common = Math.min(first.length, second.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = (first[i] & 0xFF) - (second[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return first.length - second.length;
+    }
+
+    private static final class CachedRegistry {
+
+        final IdRegistry registry;
+
+        final long lastModified;
+
+        final long size;
+
+        CachedRegistry(IdRegistry registry, long lastModified, long size) {
+            this.registry = registry;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+
+/**
+ * Writes the catalog of the log messages as JSON Lines, one object per
+ * message sorted by id, read by the log pipelines to enrich the records
+ * from their message id. Every message is written as soon as it is
+ * formatted, the keys are always in the same order, so the same messages
+ * give the same bytes.
+ */
+final class JsonCatalogWriter {
+
+    /** Extension of the catalog resource. */
+    static final String FILE_EXTENSION = ".jsonl";
+
+    private JsonCatalogWriter() {
+    }
+
+    /**
+     * @param out the writer of the catalog, in UTF-8
+     * @param messages the messages sorted by id
+     */
+    static void write(Writer out, Collection<LogMessageEntry> messages) throws IOException {
+        StringBuilder line = new StringBuilder(512);
+        for (LogMessageEntry entry : messages) {
+            line.setLength(0);
+            line.append('{');
+            appendProperty(line, "id", entry.getId()).append(',');
+            appendProperty(line, "bundle", entry.getBundle()).append(',');
+            line.append("\"code\":").append(entry.getCode()).append(',');
+            appendProperty(line, "template", entry.getMessage()).append(',');
+            appendProperty(line, "level", entry.getLevel()).append(',');
+            appendProperty(line, "cause", entry.getCause()).append(',');
+            appendProperty(line, "action", entry.getAction()).append(',');
+            appendProperty(line, "comment", entry.getComment()).append(',');
+            line.append("\"publish\":").append(entry.isPublish()).append(',');
+            appendProperty(line, "class", entry.getOrigin());
+            line.append("}\n");
+            out.write(line.toString());
+        }
+        out.flush();
+    }
+
+    private static StringBuilder appendProperty(StringBuilder line, String name, String value) {
+        appendString(line, name);
+        line.append(':');
+        if (value == null) {
+            return line.append("null");
+        }
+        return appendString(line, value);
+    }
+
+    /**
+     * Appends the value as a JSON string, the characters other than the
+     * control ones are written as they are.
+     */
+    private static StringBuilder appendString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                line.append("\\\"");
+                break;
+            case '\\':
+                line.append("\\\\");
+                break;
+            case '\n':
+                line.append("\\n");
+                break;
+            case '\r':
+                line.append("\\r");
+                break;
+            case '\t':
+                line.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    line.append(String.format("\\u%04x", (int) c));
+                } else {
+                    line.append(c);
+                }
+            }
+        }
+        return line.append('"');
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Level;
+
+import javax.lang.model.SourceVersion;
+
+import org.glassfish.logging.runtime.LogLevels;
+
+/**
+ * Writes the source of the enablement constants of a bundle for the minimum
+ * level of the build: one static final boolean per level and one per log
+ * message, named after the field declaring the message. The constants are
+ * compile time constants, so the statements guarded by a disabled one are
+ * removed by javac and never reach the JIT.
+ */
+final class LevelsWriter {
+
+    /** Suffix of the class name, appended to the bundle name. */
+    static final String LEVELS_SUFFIX = "Levels";
+
+    private static final Level[] LEVELS = {
+        LogLevels.EMERGENCY, LogLevels.ALERT, Level.SEVERE, Level.WARNING, Level.INFO,
+        Level.CONFIG, Level.FINE, Level.FINER, Level.FINEST
+    };
+
+    private final StringBuilder source = new StringBuilder(4096);
+
+    private final Set<String> constantNames = new HashSet<String>();
+
+    private LevelsWriter() {
+    }
+
+    /**
+     * @param out the writer of the source file
+     * @param bundleName the name of the resource bundle
+     * @param messages the messages of the bundle
+     * @param minLevel the minimum level of the build
+     */
+    static void write(Writer out, String bundleName, Collection<LogMessageEntry> messages, Level minLevel)
+            throws IOException {
+        out.write(new LevelsWriter().generate(bundleName, messages, minLevel));
+    }
+
+    /**
+     * Returns whether the messages of the level are logged by a build with
+     * the minimum level. The messages with an unknown level are, they are
+     * reported as errors by the processor.
+     */
+    static boolean isEnabled(String level, Level minLevel) {
+        if (minLevel == null) {
+            return true;
+        }
+        try {
+            return LogLevels.parse(level).intValue() >= minLevel.intValue();
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private String generate(String bundleName, Collection<LogMessageEntry> messages, Level minLevel) {
+        String className = bundleName + LEVELS_SUFFIX;
+        String packageName = "";
+        String simpleName = className;
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot > 0) {
+            packageName = className.substring(0, lastDot);
+            simpleName = className.substring(lastDot + 1);
+        }
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n");
+        source.append(" * Enablement of the levels and of the messages of ").append(FacadeWriter.javadoc(bundleName))
+            .append(" for the\n");
+        source.append(" * minimum level ").append(minLevel.getName())
+            .append(" of the build, generated by the logging annotation processor,\n");
+        source.append(" * do not edit. The statements guarded by a false constant are not compiled.\n");
+        source.append(" */\n");
+        source.append("public final class ").append(simpleName).append(" {\n\n");
+        source.append("    public static final String MIN_LEVEL = ");
+        ResourceBundleClassWriter.appendLiteral(source, minLevel.getName());
+        source.append(";\n");
+        for (Level level : LEVELS) {
+            constantNames.add(level.getName());
+            source.append("\n    public static final boolean ").append(level.getName()).append(" = ")
+                .append(level.intValue() >= minLevel.intValue()).append(";\n");
+        }
+        for (LogMessageEntry entry : messages) {
+            source.append("\n    /** ").append(FacadeWriter.javadoc(entry.getId())).append(", ")
+                .append(FacadeWriter.javadoc(entry.getLevel())).append(" */\n");
+            source.append("    public static final boolean ").append(getConstantName(entry)).append(" = ")
+                .append(isEnabled(entry.getLevel(), minLevel)).append(";\n");
+        }
+        source.append("\n    private ").append(simpleName).append("() {\n");
+        source.append("    }\n");
+        source.append("}\n");
+        return source.toString();
+    }
+
+    /**
+     * Returns the name of the field declaring the message, or the message id
+     * made an identifier if the field is not known.
+     */
+    private String getConstantName(LogMessageEntry entry) {
+        String name = entry.getField() == null ? toIdentifier(entry.getId()) : entry.getField();
+        if (SourceVersion.isKeyword(name) || "MIN_LEVEL".equals(name) || !constantNames.add(name)) {
+            name = name + "_" + toIdentifier(entry.getId());
+            constantNames.add(name);
+        }
+        return name;
+    }
+
+    private static String toIdentifier(String id) {
+        StringBuilder result = new StringBuilder(id.length() + 1);
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (result.length() == 0 && !Character.isJavaIdentifierStart(c)) {
+                result.append('_');
+            }
+            result.append(Character.isJavaIdentifierPart(c) ? Character.toUpperCase(c) : '_');
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.annotation.processing.logging;
+
+/**
+ * A log message declared by the LogMessageInfo annotation.
+ */
+final class LogMessageEntry {
+
+    static final int DEFAULT_INTERVAL_SECONDS = 60;
+
+    private final String id;
+    private String message;
+    private String level = "INFO";
+    private String cause = "";
+    private String action = "";
+    private String comment = "";
+    private boolean publish = true;
+    private String origin;
+    private String field;
+    private String bundle;
+    private int code = -1;
+    private int maxRecords;
+    private int intervalSeconds = DEFAULT_INTERVAL_SECONDS;
+    private double sampleRatio = 1.0;
+
+    LogMessageEntry(String id) {
+        this.id = id;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    String getMessage() {
+        return message;
+    }
+
+    void setMessage(String message) {
+        this.message = message;
+    }
+
+    String getLevel() {
+        return level;
+    }
+
+    void setLevel(String level) {
+        this.level = level == null || level.isEmpty() ? "INFO" : level;
+    }
+
+    String getCause() {
+        return cause;
+    }
+
+    void setCause(String cause) {
+        this.cause = cause == null ? "" : cause;
+    }
+
+    String getAction() {
+        return action;
+    }
+
+    void setAction(String action) {
+        this.action = action == null ? "" : action;
+    }
+
+    String getComment() {
+        return comment;
+    }
+
+    void setComment(String comment) {
+        this.comment = comment == null ? "" : comment;
+    }
+
+    boolean isPublish() {
+        return publish;
+    }
+
+    void setPublish(boolean publish) {
+        this.publish = publish;
+    }
+
+    /**
+     * Returns the name of the top level type declaring the message.
+     */
+    String getOrigin() {
+        return origin;
+    }
+
+    void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * Returns the name of the constant field declaring the message id.
+     */
+    String getField() {
+        return field;
+    }
+
+    void setField(String field) {
+        this.field = field;
+    }
+
+    /**
+     * Returns the name of the resource bundle of the message, null if it is
+     * not known.
+     */
+    String getBundle() {
+        return bundle;
+    }
+
+    void setBundle(String bundle) {
+        this.bundle = bundle;
+    }
+
+    /**
+     * Returns the numeric code of the message, -1 until it is assigned.
+     */
+    int getCode() {
+        return code;
+    }
+
+    void setCode(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Returns the maximum number of records per interval, 0 if not limited.
+     */
+    int getMaxRecords() {
+        return maxRecords;
+    }
+
+    void setMaxRecords(int maxRecords) {
+        this.maxRecords = maxRecords;
+    }
+
+    int getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    void setIntervalSeconds(int intervalSeconds) {
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    /**
+     * Returns the ratio of the records which are logged, 1 if all are.
+     */
+    double getSampleRatio() {
+        return sampleRatio;
+    }
+
+    void setSampleRatio(double sampleRatio) {
+        this.sampleRatio = sampleRatio;
+    }
+
+    /**
+     * Returns whether the records of the message are rate limited or sampled.
+     */
+    boolean isLimited() {
+        return maxRecords > 0 || sampleRatio < 1.0;
+    }
+
+    @Override
+    public String toString() {
+        return id + "=" + message;
+    }
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The log messages of the resource bundles of a module, one entry per
+ * message id. The model is serialized to every resource bundle, to its
+ * details and to the index of the origins of the messages. The codes are
+ * shared by the bundles of the module.
+ */
+final class LogMessagesModel {
+
+    static final String ACTION = ".action";
+    private static final String CAUSE = ".cause";
+    private static final String COMMENT = ".comment";
+    private static final String LEVEL = ".level";
+    private static final String PUBLISH = ".publish";
+    private static final String MAX_RECORDS = ".maxRecords";
+    private static final String INTERVAL_SECONDS = ".intervalSeconds";
+    private static final String SAMPLE_RATIO = ".sampleRatio";
+
+    private final SortedMap<String, LogMessageEntry> entries = new TreeMap<String, LogMessageEntry>();
+
+    private static final char FIELD_SEPARATOR = '#';
+
+    private final LoggingResource messagesResource = new MessagesResource(null);
+
+    private final LoggingResource detailsResource = new DetailsResource(null);
+
+    private final LoggingResource originsResource = new OriginsResource();
+
+    // The codes of the message ids, including the ones of the messages which
+    // were removed, their codes are not reused.
+
+    private final Map<String, Integer> codes = new TreeMap<String, Integer>();
+
+    private final Map<Integer, String> codeIds = new HashMap<Integer, String>();
+
+    private final List<String> codeConflicts = new ArrayList<String>();
+
+    private final LoggingResource codesResource = new CodesResource();
+
+    /**
+     * Returns the entry of the message id, creates it if it does not exist.
+     */
+    LogMessageEntry getEntry(String id) {
+        LogMessageEntry entry = entries.get(id);
+        if (entry == null) {
+            entry = new LogMessageEntry(id);
+            entries.put(id, entry);
+        }
+        return entry;
+    }
+
+    void putEntry(LogMessageEntry entry) {
+        entries.put(entry.getId(), entry);
+    }
+
+    void removeEntry(String id) {
+        entries.remove(id);
+    }
+
+    /**
+     * Returns the entries which have a message, sorted by the message id.
+     * Entries known only from the details or from the origins do not belong
+     * to the bundle anymore.
+     */
+    Collection<LogMessageEntry> getEntries() {
+        return getEntries(null);
+    }
+
+    /**
+     * Returns the entries of the resource bundle which have a message, sorted
+     * by the message id, all the entries if the bundle is null.
+     */
+    Collection<LogMessageEntry> getEntries(String bundle) {
+        List<LogMessageEntry> result = new ArrayList<LogMessageEntry>(entries.size());
+        for (LogMessageEntry entry : entries.values()) {
+            if (entry.getMessage() != null && (bundle == null || bundle.equals(entry.getBundle()))) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the entries in the order of the details resource.
+     */
+    List<LogMessageEntry> getDetailsEntries() {
+        return getDetailsEntries(null);
+    }
+
+    List<LogMessageEntry> getDetailsEntries(String bundle) {
+        List<LogMessageEntry> messages = new ArrayList<LogMessageEntry>(getEntries(bundle));
+        messages.sort((e1, e2) -> compareDetailsOrder(e1.getId(), e2.getId()));
+        return messages;
+    }
+
+    /**
+     * Returns the names of the resource bundles which have messages.
+     */
+    SortedSet<String> getBundles() {
+        SortedSet<String> bundles = new TreeSet<String>();
+        for (LogMessageEntry entry : getEntries()) {
+            if (entry.getBundle() != null) {
+                bundles.add(entry.getBundle());
+            }
+        }
+        return bundles;
+    }
+
+    /**
+     * Assigns a code to the messages which have none, after the highest
+     * code known, and sets the codes of the entries.
+     * 
+     * @return the number of codes assigned
+     */
+    int assignCodes() {
+        int nextCode = 0;
+        for (Integer code : codeIds.keySet()) {
+            nextCode = Math.max(nextCode, code + 1);
+        }
+        int assigned = 0;
+        for (LogMessageEntry entry : getEntries()) {
+            Integer code = codes.get(entry.getId());
+            if (code == null) {
+                code = nextCode++;
+                codes.put(entry.getId(), code);
+                codeIds.put(code, entry.getId());
+                assigned++;
+            }
+            entry.setCode(code);
+        }
+        return assigned;
+    }
+
+    /**
+     * Returns the conflicts of the codes loaded since the last call, the ids
+     * which have the code of an id loaded before.
+     */
+    List<String> pollCodeConflicts() {
+        List<String> conflicts = new ArrayList<String>(codeConflicts);
+        codeConflicts.clear();
+        return conflicts;
+    }
+
+    /**
+     * Returns the names of the types declaring the messages, by message id.
+     */
+    Map<String, String> getOrigins() {
+        Map<String, String> origins = new TreeMap<String, String>();
+        for (LogMessageEntry entry : entries.values()) {
+            if (entry.getOrigin() != null) {
+                origins.put(entry.getId(), entry.getOrigin());
+            }
+        }
+        return origins;
+    }
+
+    /**
+     * The resource bundle with the messages and their comments.
+     */
+    LoggingResource getMessagesResource() {
+        return messagesResource;
+    }
+
+    /**
+     * The resource bundle with the messages of the named bundle, the loaded
+     * messages are bound to it.
+     */
+    LoggingResource getMessagesResource(String bundle) {
+        return new MessagesResource(bundle);
+    }
+
+    /**
+     * The details of the messages: the cause, action, comment and level.
+     */
+    LoggingResource getDetailsResource() {
+        return detailsResource;
+    }
+
+    LoggingResource getDetailsResource(String bundle) {
+        return new DetailsResource(bundle);
+    }
+
+    /**
+     * The index of the origins of the messages, used by incremental builds.
+     */
+    LoggingResource getOriginsResource() {
+        return originsResource;
+    }
+
+    /**
+     * The numeric codes of the message ids. The codes loaded first win when
+     * several resources are loaded.
+     */
+    LoggingResource getCodesResource() {
+        return codesResource;
+    }
+
+    @Override
+    public String toString() {
+        return getEntries().toString();
+    }
+
+    /**
+     * The details were stored as a flat sorted map of "id.suffix" keys, the
+     * ids are compared as if they were followed by a '.' to keep that order.
+     */
+    private static int compareDetailsOrder(String id1, String id2) {
+        int length = Math.min(id1.length(), id2.length());
+        for (int i = 0; i < length; i++) {
+            char c1 = id1.charAt(i);
+            char c2 = id2.charAt(i);
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+        }
+        char c1 = id1.length() > length ? id1.charAt(length) : '.';
+        char c2 = id2.length() > length ? id2.charAt(length) : '.';
+        if (c1 != c2) {
+            return c1 - c2;
+        }
+        return id1.length() - id2.length();
+    }
+
+    private class MessagesResource implements LoggingResource {
+
+        private final String bundle;
+
+        MessagesResource(String bundle) {
+            this.bundle = bundle;
+        }
+
+        @Override
+        public LoggingResource load(PropertiesReader reader) throws IOException {
+            reader.read((key, value, comment) -> {
+                LogMessageEntry entry = getEntry(key);
+                entry.setMessage(value);
+                if (comment != null) {
+                    entry.setComment(comment);
+                }
+                if (bundle != null) {
+                    entry.setBundle(bundle);
+                }
+            });
+            return this;
+        }
+
+        @Override
+        public boolean store(PropertiesWriter out, String copyright) throws IOException {
+            Collection<LogMessageEntry> messages = getEntries(bundle);
+            // Noting to store.
+            if (messages.isEmpty()) return false;
+
+            out.writeHeader(copyright);
+            for (LogMessageEntry entry : messages) {
+                if (!entry.getComment().isEmpty()) {
+                    out.writeComment(entry.getComment());
+                }
+                out.writeProperty(entry.getId(), entry.getMessage());
+            }
+            out.flush();
+            return true;
+        }
+    }
+
+    private class DetailsResource implements LoggingResource {
+
+        private final String bundle;
+
+        DetailsResource(String bundle) {
+            this.bundle = bundle;
+        }
+
+        @Override
+        public LoggingResource load(PropertiesReader reader) throws IOException {
+            reader.read((key, value, comment) -> {
+                int pos = key.lastIndexOf('.');
+                if (pos <= 0) {
+                    return;
+                }
+                String suffix = key.substring(pos);
+                LogMessageEntry entry = getEntry(key.substring(0, pos));
+                if (ACTION.equals(suffix)) {
+                    entry.setAction(value);
+                } else if (CAUSE.equals(suffix)) {
+                    entry.setCause(value);
+                } else if (COMMENT.equals(suffix)) {
+                    entry.setComment(value);
+                } else if (LEVEL.equals(suffix)) {
+                    entry.setLevel(value);
+                } else if (PUBLISH.equals(suffix)) {
+                    entry.setPublish(Boolean.parseBoolean(value));
+                } else if (MAX_RECORDS.equals(suffix)) {
+                    entry.setMaxRecords(Integer.parseInt(value.trim()));
+                } else if (INTERVAL_SECONDS.equals(suffix)) {
+                    entry.setIntervalSeconds(Integer.parseInt(value.trim()));
+                } else if (SAMPLE_RATIO.equals(suffix)) {
+                    entry.setSampleRatio(Double.parseDouble(value.trim()));
+                }
+            });
+            return this;
+        }
+
+        @Override
+        public boolean store(PropertiesWriter out, String copyright) throws IOException {
+            List<LogMessageEntry> messages = getDetailsEntries(bundle);
+            // Noting to store.
+            if (messages.isEmpty()) return false;
+
+            out.writeHeader(copyright);
+            for (LogMessageEntry entry : messages) {
+                String id = entry.getId();
+                out.writeProperty(id + ACTION, entry.getAction());
+                out.writeProperty(id + CAUSE, entry.getCause());
+                if (!entry.getComment().isEmpty()) {
+                    out.writeProperty(id + COMMENT, entry.getComment());
+                }
+                out.writeProperty(id + LEVEL, entry.getLevel());
+                if (!entry.isPublish()) {
+                    out.writeProperty(id + PUBLISH, "false");
+                }
+                if (entry.getMaxRecords() > 0) {
+                    out.writeProperty(id + MAX_RECORDS, Integer.toString(entry.getMaxRecords()));
+                    out.writeProperty(id + INTERVAL_SECONDS, Integer.toString(entry.getIntervalSeconds()));
+                }
+                if (entry.getSampleRatio() < 1.0) {
+                    out.writeProperty(id + SAMPLE_RATIO, Double.toString(entry.getSampleRatio()));
+                }
+            }
+            out.flush();
+            return true;
+        }
+    }
+
+    private class OriginsResource implements LoggingResource {
+
+        @Override
+        public LoggingResource load(PropertiesReader reader) throws IOException {
+            reader.read((key, value, comment) -> {
+                // The origin is the type name followed by '#' and the field name.
+                int separator = value.indexOf(FIELD_SEPARATOR);
+                if (separator < 0) {
+                    getEntry(key).setOrigin(value);
+                } else {
+                    getEntry(key).setOrigin(value.substring(0, separator));
+                    getEntry(key).setField(value.substring(separator + 1));
+                }
+            });
+            return this;
+        }
+
+        @Override
+        public boolean store(PropertiesWriter out, String copyright) throws IOException {
+            Collection<LogMessageEntry> messages = getEntries();
+            // Noting to store.
+            if (messages.isEmpty()) return false;
+
+            out.writeHeader(copyright);
+            for (LogMessageEntry entry : messages) {
+                if (entry.getOrigin() != null) {
+                    out.writeProperty(entry.getId(), entry.getField() == null ? entry.getOrigin()
+                            : entry.getOrigin() + FIELD_SEPARATOR + entry.getField());
+                }
+            }
+            out.flush();
+            return true;
+        }
+    }
+
+    private class CodesResource implements LoggingResource {
+
+        @Override
+        public LoggingResource load(PropertiesReader reader) throws IOException {
+            reader.read((key, value, comment) -> {
+                int code = Integer.parseInt(value.trim());
+                if (code < 0 || codes.containsKey(key)) {
+                    return;
+                }
+                String other = codeIds.putIfAbsent(code, key);
+                if (other == null) {
+                    codes.put(key, code);
+                } else {
+                    codeConflicts.add("the message ids " + other + " and " + key + " have the same code " + code
+                            + ", " + key + " gets a new code");
+                }
+            });
+            return this;
+        }
+
+        @Override
+        public boolean store(PropertiesWriter out, String copyright) throws IOException {
+            // Noting to store.
+            if (codes.isEmpty()) return false;
+
+            List<Map.Entry<String, Integer>> byCode = new ArrayList<Map.Entry<String, Integer>>(codes.entrySet());
+            byCode.sort(Map.Entry.comparingByValue());
+            out.writeHeader(copyright);
+            for (Map.Entry<String, Integer> code : byCode) {
+                out.writeProperty(code.getKey(), code.getValue().toString());
+            }
+            out.flush();
+            return true;
+        }
+    }
+}
@@ -16,69 +16,135 @@
 
 package org.glassfish.annotation.processing.logging;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.ArrayList;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.logging.Level;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.tools.StandardLocation;
 
 import org.glassfish.logging.annotation.LogMessageInfo;
 import org.glassfish.logging.annotation.LogMessagesResourceBundle;
+import org.glassfish.logging.runtime.BinaryLogMessageCatalog;
+import org.glassfish.logging.runtime.LogLevels;
+import org.glassfish.logging.runtime.LogMessageDetails;
 
-@SupportedAnnotationTypes({"org.glassfish.logging.annotation.LogMessageInfo","org.glassfish.logging.annotation.LogMessagesResourceBundle"})
+// Invoked for all the compilations, the messages of the types compiled again
+// without their annotations are dropped too.
+@SupportedAnnotationTypes({"org.glassfish.logging.annotation.LogMessageInfo","org.glassfish.logging.annotation.LogMessagesResourceBundle","*"})
 public class LogMessagesResourceBundleGenerator extends BaseLoggingProcessor {
 
-    private static final String DETAILS_SUFFIX = "_details";
+    private static final String DETAILS_SUFFIX = LogMessageDetails.DETAILS_SUFFIX;
 
     private static final String RESOURCE_BUNDLE_KEY = "resourceBundle";
 
-    private static final String VALIDATE_LEVELS[] = {
-      "EMERGENCY",
-      "ALERT",
-      "SEVERE",
-    };
-    
+    private static final String RESOURCE_BUNDLES_KEY = "resourceBundles";
+
     private static final String LOG_MESSAGES_METADATA = "META-INF/logmessages/LogMessagesMetadata";
+
+    private static final String LOG_MESSAGES_ORIGINS = "META-INF/logmessages/LogMessagesOrigins";
+
+    private static final String LOG_MESSAGES_CODES = "META-INF/logmessages/LogMessagesCodes";
+
+    private static final String LOG_MESSAGES_CATALOG = "META-INF/logmessages/LogMessagesCatalog";
     
     @Override
     public SourceVersion getSupportedSourceVersion() {
         return SourceVersion.latestSupported();
     }
 
+    // The state is accumulated across the processing rounds and it is
+    // stored once, in the final round.
+
+    private LogMessagesModel logMessages;
+
+    // The resource bundles by the name of the type declaring them and by
+    // package, and the ones of the previous build.
+
+    private final Map<String, String> typeBundles = new HashMap<String, String>();
+
+    private final Map<String, Set<String>> packageBundles = new HashMap<String, Set<String>>();
+
+    private final SortedSet<String> previousBundles = new TreeSet<String>();
+
+    private LoggingMetadata logMessagesMetadata;
+
+    private final Set<String> messageIds = new HashSet<String>();
+
+    private int contributingRounds;
+
+    private boolean staleMessagesDropped;
+
+    // Ids of the messages in the generated sources, the resource bundle
+    // class and the facade are generated in the first round declaring
+    // messages, the bundle class unless it is too large.
+
+    private Set<String> generatedIds;
+
+    private boolean bundleClassSkipped;
+
+    private Level minLevel;
+
+    // The id manifests of the other modules and the id ranges of this one,
+    // read in the first round.
+
+    private List<IdRegistry> idRegistries;
+
+    private List<IdRange> idRanges;
+
     @Override
     public boolean process (Set<? extends TypeElement> annotations, 
             RoundEnvironment env) {
 
         debug("LogMessagesResourceBundleGenerator invoked.");
+        roundStarted(env);
         
         if (!env.processingOver()) {
 
-            LoggingMetadata logMessagesMap = new LoggingMetadata();
-            LoggingMetadata logMessagesDetails = new LoggingMetadata();
-            LoggingMetadata logMessagesMetada = new LoggingMetadata();
-
             Set<? extends Element> logMessageElements = env.getElementsAnnotatedWith(LogMessageInfo.class);
             Set<? extends Element> logMessagesResourceBundleElements = env.getElementsAnnotatedWith(LogMessagesResourceBundle.class);
 
-            Set<String> rbNames = new HashSet<String>();
-
-            if (logMessagesResourceBundleElements.isEmpty() || logMessageElements.isEmpty()) {
-                loadLogMessages(logMessagesMetada, LOG_MESSAGES_METADATA);
-                if (logMessagesMetada.containsKey(RESOURCE_BUNDLE_KEY)) {
-                    String rb = (String) logMessagesMetada.get(RESOURCE_BUNDLE_KEY);
-                    if (rb != null && !rb.isEmpty()) {
-                        rbNames.add(rb);
+            if (logMessagesResourceBundleElements.isEmpty() && logMessageElements.isEmpty()) {
+                // Nothing new in this round, but the types compiled again may
+                // have lost their messages, the previous build is loaded then.
+                if (logMessages == null) {
+                    previousBundles.addAll(getPreviousBundles(getLogMessagesMetadata()));
+                    if (!previousBundles.isEmpty() && hasStaleMessages()) {
+                        loadLogMessagesModel();
                     }
-                } else {
-                    warn("Skipping LogMessages resource bundle generation, either the LogMessageInfo or LogMessagesResourceBundle annotation is not specified in the current compilation round.");
-                    return false;                    
                 }
+                if (logMessages != null && dropStaleMessages()) {
+                    generateSources(List.of());
+                }
+                return false;
             }
-                        
+            elementsScanned(logMessageElements.size() + logMessagesResourceBundleElements.size());
+
             for (Element rbElem : logMessagesResourceBundleElements) {
                 if (!(rbElem instanceof VariableElement)) {
                     error("The LogMessagesResourceBundle annotation is applied on an invalid element.");
@@ -89,31 +155,42 @@ public class LogMessagesResourceBundleGenerator extends BaseLoggingProcessor {
                     error("The resource bundle name value could not be computed. Specify the LogMessagesResourceBundle annotation only on a compile time constant String literal field in the class.");
                     return false;                    
                 }
-                rbNames.add(rbValue.toString());
-            }
-            if (rbNames.isEmpty()) {
-                error("No resource bundle name found. Atleast one String literal constant needs to be decorated with the LogMessagesResourceBundle annotation.");
-                return false;                
-            }
-            if (rbNames.size() > 1) {
-                error("More than one resource bundle name specified. Found the following resource bundle names: " 
-                        + rbNames + ". Please specify only one resource bundle name per module.");
-                return false;
+                String name = rbValue.toString();
+                if (!name.endsWith("LogMessages")) {
+                    error("The resource bundle name '" + name + "' annotated by @LogMessagesResourceBundle does not end with 'LogMessages'");
+                    return false;
+                }
+                TypeElement type = (TypeElement) rbElem.getEnclosingElement();
+                String previous = typeBundles.put(type.getQualifiedName().toString(), name);
+                if (previous != null && !previous.equals(name)) {
+                    error("More than one resource bundle name specified in " + type.getQualifiedName() + ": "
+                            + previous + " and " + name + ". Please specify only one resource bundle name per type.");
+                    return false;
+                }
+                packageBundles.computeIfAbsent(processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString(),
+                        key -> new TreeSet<String>()).add(name);
             }
-            
-            String rbName = rbNames.iterator().next();
-            if (!rbName.endsWith("LogMessages")) {
-                error("The resource bundle name '" + rbName + "' annotated by @LogMessagesResourceBundle does not end with 'LogMessages'");
-                return false;
+
+            if (logMessages == null) {
+                // The bundles of the previous build keep the messages of the
+                // types which are not part of this (incremental) compilation.
+                LoggingMetadata logMessagesMetada = getLogMessagesMetadata();
+                previousBundles.addAll(getPreviousBundles(logMessagesMetada));
+                if (typeBundles.isEmpty() && previousBundles.isEmpty()) {
+                    if (logMessagesMetada.containsKey(RESOURCE_BUNDLE_KEY)) {
+                        error("No resource bundle name found. Atleast one String literal constant needs to be decorated with the LogMessagesResourceBundle annotation.");
+                    } else {
+                        warn("Skipping LogMessages resource bundle generation, either the LogMessageInfo or LogMessagesResourceBundle annotation is not specified in the current compilation round.");
+                    }
+                    return false;
+                }
+                loadLogMessagesModel();
             }
+            dropStaleMessages();
+            debug(() -> "Initial messages found so far: " + logMessages);
 
+            List<String> roundIds = new ArrayList<String>();
             Iterator<? extends Element> it = logMessageElements.iterator();
-            Set<String> messageIds = new HashSet<String>();
-            
-            loadLogMessages(logMessagesMap, rbName);
-            loadLogMessages(logMessagesDetails, rbName + DETAILS_SUFFIX);
-            debug("Initial messages found so far: " + logMessagesMap);
-
             while (it.hasNext()) {
                 Element elem = it.next();
                 if (!(elem instanceof VariableElement)) {
@@ -126,61 +203,557 @@ public class LogMessagesResourceBundleGenerator extends BaseLoggingProcessor {
                     error("The LogMessageInfo annotation is not applied on a String constant field.");
                     return false;                    
                 }
-                debug("Processing: " + msgId);
+                debug(() -> "Processing: " + msgId);
                 // Message ids must be unique
                 if (!messageIds.contains(msgId)) {
                     LogMessageInfo lmi = varElem.getAnnotation(LogMessageInfo.class);
+                    long validationStart = System.nanoTime();
                     checkLogMessageInfo(msgId, lmi);
+                    checkMessageId(msgId);
+                    validationFinished(validationStart);
 
-                    // Save the log message...
-                    logMessagesMap.put(msgId, lmi.message());
-                    // Save the message's comment if it has one...
-                    String comment = lmi.comment();
-                    if (comment != null && !comment.isEmpty()) {
-                        logMessagesMap.putComment(msgId, comment);
-                        logMessagesDetails.put(msgId+".comment", comment);
-                    }
-                    String cause = lmi.cause();
-                    if (cause == null) {
-                        cause = "";
-                    }
-                    String action = lmi.action();
-                    if (action == null) {
-                        action = "";
-                    }
-                    String level = lmi.level();
-                    if (level == null || level.isEmpty()) {
-                        level = "INFO";
-                    }
-                    logMessagesDetails.put(msgId+".cause", cause);
-                    logMessagesDetails.put(msgId+".action", action);
-                    logMessagesDetails.put(msgId+".level", level);
+                    // Save the log message along with its details...
+                    LogMessageEntry entry = new LogMessageEntry(msgId);
+                    entry.setMessage(lmi.message());
+                    entry.setComment(lmi.comment());
+                    entry.setCause(lmi.cause());
+                    entry.setAction(lmi.action());
+                    entry.setLevel(lmi.level());
+                    entry.setPublish(lmi.publish());
+                    entry.setOrigin(getOriginatingType(varElem).getQualifiedName().toString());
+                    entry.setField(varElem.getSimpleName().toString());
+                    entry.setMaxRecords(lmi.maxRecords());
+                    entry.setIntervalSeconds(lmi.intervalSeconds());
+                    entry.setSampleRatio(lmi.sampleRatio());
+                    entry.setBundle(getBundle(varElem, msgId));
                     messageIds.add(msgId);
+                    if (entry.getBundle() != null) {
+                        logMessages.putEntry(entry);
+                        roundIds.add(msgId);
+                    }
                 } else {
                     error("Duplicate use of message-id " + msgId);
                 }
             }
-            debug("Total Messages including ones found from disk so far: " + logMessagesMap);
-            storeLogMessages(logMessagesMap, rbName);
-            storeLogMessages(logMessagesDetails, rbName + DETAILS_SUFFIX);
-            // Store the package name of the LogMessages resource
-            logMessagesMetada.put(RESOURCE_BUNDLE_KEY, rbName);
-            storeLogMessages(logMessagesMetada, LOG_MESSAGES_METADATA);
-            info("Annotation processing finished successfully.");
-            return true; // Claim the annotations
+            debug(() -> "Total Messages including ones found from disk so far: " + logMessages);
+            generateSources(roundIds);
+            contributingRounds++;
+            // Not claimed, the other processors get all the annotations.
+            return false;
         } else {
+            if (logMessages != null && (contributingRounds > 0 || staleMessagesDropped)) {
+                storeLogMessages();
+                info("Annotation processing finished successfully.");
+                for (String name : getBundleNames()) {
+                    setCounter("messages." + name, logMessages.getEntries(name).size());
+                }
+            }
+            reportStatistics(contributingRounds);
             return false;
         }
     }    
 
-    private void checkLogMessageInfo(String msgId, LogMessageInfo lmi) {
-      boolean needsCheck = false;
-      for (String checkLevel : VALIDATE_LEVELS) {
-        if (checkLevel.equals(lmi.level())) {
-          needsCheck = true;
+    /**
+     * Generates the resource bundle classes, the facades and the level
+     * constants in the first round declaring or dropping messages, checks
+     * that the messages of the later rounds are in the generated sources.
+     */
+    private void generateSources(List<String> roundIds) {
+        boolean bundleClass = Boolean.parseBoolean(processingEnv.getOptions().get(BUNDLE_CLASS_OPTION));
+        boolean facade = Boolean.parseBoolean(processingEnv.getOptions().get(FACADE_OPTION));
+        boolean levels = getMinLevel() != null;
+        if (bundleClass || facade || levels) {
+            if (generatedIds == null) {
+                generatedIds = new HashSet<String>();
+                for (LogMessageEntry entry : logMessages.getEntries()) {
+                    generatedIds.add(entry.getId());
+                }
+                for (String name : getBundleNames()) {
+                    if (bundleClass) {
+                        generateBundleClass(name);
+                    }
+                    if (facade) {
+                        generateFacade(name);
+                    }
+                    if (levels) {
+                        generateLevels(name);
+                    }
+                }
+            } else if (facade || levels || !bundleClassSkipped) {
+                for (String id : roundIds) {
+                    if (!generatedIds.contains(id)) {
+                        error("The log message " + id + " is declared in a later processing round than the generated sources of "
+                                + logMessages.getEntry(id).getBundle() + ". Declare it in a type which is not generated or disable the "
+                                + BUNDLE_CLASS_OPTION + ", " + FACADE_OPTION + " and " + MIN_LEVEL_OPTION + " options.");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the messages of the previous build, of the bundles declared in
+     * this compilation and of the ones listed by the metadata.
+     */
+    private void loadLogMessagesModel() {
+        logMessages = new LogMessagesModel();
+        SortedSet<String> names = new TreeSet<String>(previousBundles);
+        names.addAll(typeBundles.values());
+        for (String name : names) {
+            loadLogMessages(logMessages.getMessagesResource(name), name);
+            loadLogMessages(logMessages.getDetailsResource(name), name + DETAILS_SUFFIX);
+        }
+        loadLogMessages(logMessages.getOriginsResource(), LOG_MESSAGES_ORIGINS);
+        // The codes of the file under version control win over the
+        // ones of the previous build.
+        Path codesFile = getPathOption(CODES_OPTION);
+        if (codesFile != null) {
+            loadCodesFile(codesFile);
+        }
+        loadLogMessages(logMessages.getCodesResource(), LOG_MESSAGES_CODES);
+        for (String conflict : logMessages.pollCodeConflicts()) {
+            warn("The codes of the previous build do not match the message codes file, " + conflict + ".");
+        }
+    }
+
+    /**
+     * Checks the origins of the messages of the previous build only.
+     */
+    private boolean hasStaleMessages() {
+        LogMessagesModel previous = new LogMessagesModel();
+        loadLogMessages(previous.getOriginsResource(), LOG_MESSAGES_ORIGINS);
+        return !getStaleKeys(previous.getOrigins()).isEmpty();
+    }
+
+    /**
+     * Drops the messages of the types which are compiled again or which
+     * were deleted, the remaining ones come from types which are not part
+     * of this (incremental) compilation.
+     *
+     * @return true if messages were dropped
+     */
+    private boolean dropStaleMessages() {
+        boolean dropped = false;
+        for (String staleId : getStaleKeys(logMessages.getOrigins())) {
+            if (!messageIds.contains(staleId)) {
+                debug(() -> "Dropping stale message: " + staleId);
+                logMessages.removeEntry(staleId);
+                staleMessagesDropped = true;
+                dropped = true;
+            }
+        }
+        return dropped;
+    }
+
+    private LoggingMetadata getLogMessagesMetadata() {
+        if (logMessagesMetadata == null) {
+            logMessagesMetadata = new LoggingMetadata();
+            loadLogMessages(logMessagesMetadata, LOG_MESSAGES_METADATA);
+        }
+        return logMessagesMetadata;
+    }
+
+    /**
+     * Returns the resource bundles of the previous build, listed by the
+     * metadata.
+     */
+    private static List<String> getPreviousBundles(LoggingMetadata logMessagesMetada) {
+        Object names = logMessagesMetada.get(RESOURCE_BUNDLES_KEY);
+        if (names == null) {
+            names = logMessagesMetada.get(RESOURCE_BUNDLE_KEY);
+        }
+        List<String> bundles = new ArrayList<String>();
+        if (names != null) {
+            for (String name : names.toString().split(",")) {
+                if (!name.trim().isEmpty()) {
+                    bundles.add(name.trim());
+                }
+            }
+        }
+        return bundles;
+    }
+
+    /**
+     * Returns the resource bundle of a message: the one declared by its type
+     * or by an enclosing type, else the only one declared in its package or
+     * in the nearest enclosing package, else the only one of the module. The
+     * bundles of the previous build are used when no bundle is declared.
+     */
+    private String getBundle(VariableElement element, String msgId) {
+        for (Element enclosing = element.getEnclosingElement(); enclosing instanceof TypeElement;
+                enclosing = enclosing.getEnclosingElement()) {
+            String name = typeBundles.get(((TypeElement) enclosing).getQualifiedName().toString());
+            if (name != null) {
+                return name;
+            }
+        }
+        String packageName = processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+        while (true) {
+            Set<String> names = packageBundles.get(packageName);
+            if (names == null) {
+                names = getPackageBundles(previousBundles, packageName);
+            }
+            if (names != null) {
+                if (names.size() == 1) {
+                    return names.iterator().next();
+                }
+                error("The resource bundle of the message id '" + msgId + "' is ambiguous, the package "
+                        + packageName + " declares " + names + ". Declare the LogMessagesResourceBundle annotation in the type of the message.");
+                return null;
+            }
+            if (packageName.isEmpty()) {
+                break;
+            }
+            int pos = packageName.lastIndexOf('.');
+            packageName = pos < 0 ? "" : packageName.substring(0, pos);
         }
+        SortedSet<String> names = new TreeSet<String>(typeBundles.values());
+        if (names.isEmpty()) {
+            names = previousBundles;
+        }
+        if (names.size() == 1) {
+            return names.first();
+        }
+        error("The resource bundle of the message id '" + msgId + "' is ambiguous, the module declares "
+                + names + ". Declare the LogMessagesResourceBundle annotation in the type or the package of the message.");
+        return null;
+    }
+
+    private static Set<String> getPackageBundles(Set<String> bundles, String packageName) {
+        Set<String> names = null;
+        for (String name : bundles) {
+            int pos = name.lastIndexOf('.');
+            if (packageName.equals(pos < 0 ? "" : name.substring(0, pos))) {
+                if (names == null) {
+                    names = new TreeSet<String>();
+                }
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Returns the resource bundles declared in this compilation and the ones
+     * which keep messages of the previous build.
+     */
+    private SortedSet<String> getBundleNames() {
+        SortedSet<String> names = new TreeSet<String>(typeBundles.values());
+        names.addAll(logMessages.getBundles());
+        return names.isEmpty() ? previousBundles : names;
+    }
+
+    private void storeLogMessages() {
+        Element[] originatingElements = getOriginatingElements(logMessages.getOrigins());
+        // The codes are shared by the bundles, a message keeps its code when
+        // it moves to another bundle.
+        int assignedCodes = logMessages.assignCodes();
+        setCounter("codesAssigned", assignedCodes);
+        SortedSet<String> names = getBundleNames();
+        Path translationsDir = getPathOption(TRANSLATIONS_OPTION);
+        for (String name : names) {
+            storeLogMessages(logMessages.getMessagesResource(name), name, originatingElements);
+            byte[] details = storeLogMessages(logMessages.getDetailsResource(name), name + DETAILS_SUFFIX, originatingElements);
+            if (details != null && details.length > 0) {
+                // The position of the details of every message, read one by one at runtime.
+                try {
+                    byte[] index = DetailsIndexWriter.write(details, logMessages.getDetailsEntries(name), getPropertiesCharset());
+                    if (index == null) {
+                        warn("The index of the details of the resource bundle " + name + " is not generated.");
+                    } else {
+                        storeResource(name + DETAILS_SUFFIX, LogMessageDetails.FILE_EXTENSION, index, originatingElements);
+                    }
+                } catch (IOException e) {
+                    error("Unable to generate the index of the details of the resource bundle " + name, e);
+                }
+            }
+            // The binary catalog of the same messages, read without parsing at runtime.
+            storeResource(name, BinaryLogMessageCatalog.FILE_EXTENSION,
+                    BinaryCatalogWriter.write(logMessages.getEntries(name)), originatingElements);
+            if (translationsDir != null) {
+                storeTranslatedCatalogs(name, translationsDir, originatingElements);
+            }
+        }
+        // Store the names of the LogMessages resources, the first one under
+        // the key read by the older tools.
+        LoggingMetadata logMessagesMetada = getLogMessagesMetadata();
+        logMessagesMetada.put(RESOURCE_BUNDLE_KEY, names.first());
+        logMessagesMetada.put(RESOURCE_BUNDLES_KEY, String.join(",", names));
+        storeLogMessages(logMessagesMetada, LOG_MESSAGES_METADATA, originatingElements);
+        storeLogMessages(logMessages.getOriginsResource(), LOG_MESSAGES_ORIGINS, originatingElements);
+        storeLogMessages(logMessages.getCodesResource(), LOG_MESSAGES_CODES, originatingElements);
+        // The ids of the module, checked by the builds of the other modules.
+        Map<String, String> idBundles = new HashMap<String, String>();
+        for (LogMessageEntry entry : logMessages.getEntries()) {
+            idBundles.put(entry.getId(), entry.getBundle());
+        }
+        storeResource(IdRegistry.IDS_NAME, IdRegistry.FILE_EXTENSION, IdRegistry.write(idBundles), originatingElements);
+        if (Boolean.parseBoolean(processingEnv.getOptions().get(JSON_CATALOG_OPTION))) {
+            storeJsonCatalog(originatingElements);
+        }
+        // The file of the source tree is left alone when the build fails.
+        Path codesFile = getPathOption(CODES_OPTION);
+        if (codesFile != null && !isErrorReported()) {
+            storeCodesFile(codesFile);
+        }
+    }
+
+    /**
+     * Stores the messages of all the bundles as JSON Lines, with the codes
+     * assigned by this build.
+     */
+    private void storeJsonCatalog(Element[] originatingElements) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(content, StandardCharsets.UTF_8)) {
+            JsonCatalogWriter.write(writer, logMessages.getEntries());
+        } catch (IOException e) {
+            error("Unable to generate the JSON catalog of the log messages", e);
+            return;
+        }
+        storeResource(LOG_MESSAGES_CATALOG, JsonCatalogWriter.FILE_EXTENSION, content.toByteArray(), originatingElements);
+    }
+
+    private Path getPathOption(String option) {
+        String path = processingEnv.getOptions().get(option);
+        return path == null || path.trim().isEmpty() ? null : Paths.get(path.trim());
+    }
+
+    /**
+     * Stores the catalog of every translation, complete: the messages which
+     * are not translated for the locale come from its fallbacks.
+     */
+    private void storeTranslatedCatalogs(String rbName, Path translationsDir, Element[] originatingElements) {
+        TranslatedBundles translations;
+        try {
+            translations = TranslatedBundles.read(translationsDir, rbName);
+        } catch (IOException | IllegalArgumentException e) {
+            error("Unable to read the translations of the resource bundle " + rbName + " from " + translationsDir, e);
+            return;
+        }
+        Collection<LogMessageEntry> entries = logMessages.getEntries(rbName);
+        for (String locale : translations.getLocales()) {
+            List<String> missing = new ArrayList<String>();
+            List<String> invalid = new ArrayList<String>();
+            List<LogMessageEntry> flattened = translations.flatten(locale, entries, missing, invalid);
+            if (!missing.isEmpty()) {
+                warn("The locale " + locale + " of the resource bundle " + rbName + " has no translation of "
+                        + missing.size() + " of the " + entries.size() + " messages: " + abbreviate(missing));
+            }
+            if (!invalid.isEmpty()) {
+                warn("The translations of the locale " + locale + " of the resource bundle " + rbName
+                        + " are not valid MessageFormat patterns, the untranslated messages are used: " + abbreviate(invalid));
+            }
+            List<String> obsolete = translations.getObsolete(locale, entries);
+            if (!obsolete.isEmpty()) {
+                warn("The locale " + locale + " of the resource bundle " + rbName
+                        + " translates messages which do not exist: " + abbreviate(obsolete));
+            }
+            setCounter("translationsMissing." + locale, missing.size());
+            storeResource(rbName + "_" + locale, BinaryLogMessageCatalog.FILE_EXTENSION,
+                    BinaryCatalogWriter.write(flattened), originatingElements);
+        }
+    }
+
+    private static String abbreviate(List<String> ids) {
+        int maxIds = 10;
+        if (ids.size() <= maxIds) {
+            return String.join(", ", ids);
+        }
+        return String.join(", ", ids.subList(0, maxIds)) + " and " + (ids.size() - maxIds) + " more";
+    }
+
+    private void loadCodesFile(Path codesFile) {
+        if (!Files.isRegularFile(codesFile)) {
+            debug(() -> "No message codes file " + codesFile + " yet.");
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(codesFile, StandardCharsets.ISO_8859_1)) {
+            logMessages.getCodesResource().load(new PropertiesReader(reader));
+        } catch (IOException | IllegalArgumentException e) {
+            error("Unable to read the message codes file " + codesFile, e);
+        }
+        for (String conflict : logMessages.pollCodeConflicts()) {
+            error("Duplicate code in the message codes file " + codesFile + ": " + conflict + ".");
+        }
+    }
+
+    private void storeCodesFile(Path codesFile) {
+        try {
+            StringWriter out = new StringWriter();
+            if (!logMessages.getCodesResource().store(new PropertiesWriter(out, true),
+                    "# The codes of the log messages of " + String.join(", ", getBundleNames()) + ", updated by the build.\n"
+                    + "# Keep this file under version control, the codes do not change once assigned.\n\n")) {
+                return;
+            }
+            byte[] content = out.toString().getBytes(StandardCharsets.ISO_8859_1);
+            if (Files.isRegularFile(codesFile) && Arrays.equals(content, Files.readAllBytes(codesFile))) {
+                return;
+            }
+            if (codesFile.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(codesFile.toAbsolutePath().getParent());
+            }
+            Files.write(codesFile, content);
+        } catch (IOException e) {
+            error("Unable to write the message codes file " + codesFile, e);
+        }
+    }
+
+    private void generateBundleClass(String rbName) {
+        Collection<LogMessageEntry> entries = logMessages.getEntries(rbName);
+        String limit = ResourceBundleClassWriter.checkLimits(entries);
+        if (limit != null) {
+            warn("The resource bundle class " + rbName + " is not generated, " + limit + ".");
+            bundleClassSkipped = true;
+            return;
+        }
+        Element[] originatingElements = getOriginatingElements(logMessages.getOrigins());
+        try (Writer writer = processingEnv.getFiler().createSourceFile(rbName, originatingElements).openWriter()) {
+            ResourceBundleClassWriter.write(writer, rbName, entries);
+        } catch (IOException e) {
+            error("Unable to generate the resource bundle class " + rbName, e);
+        }
+    }
+
+    private void generateFacade(String rbName) {
+        String facadeName = rbName + FacadeWriter.FACADE_SUFFIX;
+        Element[] originatingElements = getOriginatingElements(logMessages.getOrigins());
+        try (Writer writer = processingEnv.getFiler().createSourceFile(facadeName, originatingElements).openWriter()) {
+            FacadeWriter.write(writer, rbName, logMessages.getEntries(rbName), getMinLevel());
+        } catch (IOException e) {
+            error("Unable to generate the logging facade " + facadeName, e);
+        }
+    }
+
+    private void generateLevels(String rbName) {
+        String levelsName = rbName + LevelsWriter.LEVELS_SUFFIX;
+        Element[] originatingElements = getOriginatingElements(logMessages.getOrigins());
+        try (Writer writer = processingEnv.getFiler().createSourceFile(levelsName, originatingElements).openWriter()) {
+            LevelsWriter.write(writer, rbName, logMessages.getEntries(rbName), getMinLevel());
+        } catch (IOException e) {
+            error("Unable to generate the level constants " + levelsName, e);
+        }
+    }
+
+    /**
+     * Returns the minimum level of the build, null if there is none.
+     */
+    private Level getMinLevel() {
+        String level = processingEnv.getOptions().get(MIN_LEVEL_OPTION);
+        if (minLevel == null && level != null && !level.trim().isEmpty()) {
+            try {
+                minLevel = LogLevels.parse(level.trim());
+            } catch (IllegalArgumentException e) {
+                error("Invalid value of the " + MIN_LEVEL_OPTION + " option: " + level);
+                // Reported once.
+                minLevel = Level.ALL;
+            }
+        }
+        return minLevel;
+    }
+
+    /**
+     * Checks that the id is not declared by another module and that it is
+     * in the ranges allocated to this one.
+     */
+    private void checkMessageId(String msgId) {
+        for (IdRegistry registry : getIdRegistries()) {
+            String bundle = registry.getBundle(msgId);
+            if (bundle != null) {
+                error("The message id '" + msgId + "' is already declared by the resource bundle " + bundle
+                        + " of " + registry.getPath() + ".");
+            }
+        }
+        List<IdRange> ranges = getIdRanges();
+        if (!ranges.isEmpty() && ranges.stream().noneMatch(range -> range.contains(msgId))) {
+            error("The message id '" + msgId + "' is outside the ranges allocated to the module: "
+                    + processingEnv.getOptions().get(ID_RANGES_OPTION).trim() + ".");
+        }
+    }
+
+    private List<IdRegistry> getIdRegistries() {
+        if (idRegistries != null) {
+            return idRegistries;
+        }
+        idRegistries = new ArrayList<IdRegistry>();
+        String elements = processingEnv.getOptions().get(ID_REGISTRIES_OPTION);
+        if (elements == null || elements.trim().isEmpty()) {
+            return idRegistries;
+        }
+        // The manifest of the previous build of this module is not checked.
+        Path ownManifest = null;
+        try {
+            ownManifest = Paths.get(processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                    IdRegistry.IDS_NAME + IdRegistry.FILE_EXTENSION).toUri()).toAbsolutePath().normalize();
+        } catch (IOException | IllegalArgumentException e) {
+            debug(() -> "The output location has no path: " + e);
+        }
+        int ids = 0;
+        for (String element : elements.split(Pattern.quote(File.pathSeparator))) {
+            if (element.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                IdRegistry registry = IdRegistry.open(Paths.get(element.trim()));
+                if (registry != null && !registry.getPath().equals(ownManifest)) {
+                    idRegistries.add(registry);
+                    ids += registry.size();
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                error("Unable to read the message id manifest of " + element.trim(), e);
+            }
+        }
+        setCounter("registeredIds", ids);
+        return idRegistries;
+    }
+
+    private List<IdRange> getIdRanges() {
+        if (idRanges == null) {
+            idRanges = new ArrayList<IdRange>();
+            String ranges = processingEnv.getOptions().get(ID_RANGES_OPTION);
+            if (ranges != null) {
+                for (String range : ranges.split(",")) {
+                    if (range.trim().isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        idRanges.add(IdRange.parse(range.trim()));
+                    } catch (IllegalArgumentException e) {
+                        error("Invalid value of the " + ID_RANGES_OPTION + " option: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        return idRanges;
+    }
+
+    private void checkLogMessageInfo(String msgId, LogMessageInfo lmi) {
+      // Only the level names are valid, a value or a localized name would
+      // be written as is in the details.
+      Level level = null;
+      try {
+        level = LogLevels.parse(lmi.level());
+      } catch (IllegalArgumentException e) {
+        // Reported below
+      }
+      if (level == null || !level.getName().equals(lmi.level())) {
+        error("The level '" + lmi.level() + "' of the message id '" + msgId + "' is not a valid level.");
+      }
+      boolean needsCheck = level != null && level.intValue() >= Level.SEVERE.intValue();
+      debug(() -> "Message " + msgId + " needs checking for cause/action: " + needsCheck);
+      try {
+        MessageFormatCompiler.validate(lmi.message());
+      } catch (IllegalArgumentException e) {
+        error("The message of the message id '" + msgId + "' is not a valid MessageFormat pattern: " + e.getMessage());
+      }
+      if (lmi.maxRecords() < 0) {
+        error("The maxRecords of the message id '" + msgId + "' is negative.");
+      }
+      if (lmi.intervalSeconds() <= 0) {
+        error("The intervalSeconds of the message id '" + msgId + "' is not positive.");
+      }
+      if (!(lmi.sampleRatio() > 0.0 && lmi.sampleRatio() <= 1.0)) {
+        error("The sampleRatio of the message id '" + msgId + "' is not greater than 0 and at most 1.");
       }
-      debug("Message " + msgId + " needs checking for cause/action: " + needsCheck);
       if (needsCheck) {
         if (lmi.cause().trim().length() == 0) {
           error("Missing cause for message id '" + msgId + "' for levels SEVERE and above.");
@@ -17,7 +17,14 @@
 
 package org.glassfish.annotation.processing.logging;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -27,13 +34,15 @@ import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
-import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 
 import org.glassfish.logging.annotation.LoggerInfo;
+import org.glassfish.logging.runtime.LoggerInfoIndex;
 
-@SupportedAnnotationTypes({"org.glassfish.logging.annotation.LoggerInfo"})
+// Invoked for all the compilations, the loggers of the types compiled again
+// without their annotations are dropped too.
+@SupportedAnnotationTypes({"org.glassfish.logging.annotation.LoggerInfo","*"})
 public class LoggerInfoMetadataGenerator extends BaseLoggingProcessor {
 
     private static final String PUBLISH_SUFFIX = ".publish";
@@ -41,6 +50,8 @@ public class LoggerInfoMetadataGenerator extends BaseLoggingProcessor {
     private static final String DESCRIPTION_SUFFIX = ".description";
     // private static final String RBNAME = "loggerinfo.LoggerInfoMetadata";
     private static final String RBNAME = "META-INF/loggerinfo/LoggerInfoMetadata";
+    private static final String ORIGINS_NAME = "META-INF/loggerinfo/LoggerInfoOrigins";
+    private static final String INDEX_NAME = LoggerInfoIndex.INDEX_NAME;
     private static final String VALID_PATTERN = "[a-z[A-Z]][^|]*";
 
     @Override
@@ -48,25 +59,57 @@ public class LoggerInfoMetadataGenerator extends BaseLoggingProcessor {
         return SourceVersion.latestSupported();
     }
 
+    // The state is accumulated across the processing rounds and it is
+    // stored once, in the final round.
+
+    private LoggingMetadata loggerMetadata;
+
+    private LoggingMetadata loggerOrigins;
+
+    private final SortedMap<String, Element> loggerInfoElements = new TreeMap<String, Element>();
+
+    private int contributingRounds;
+
+    private boolean staleLoggersDropped;
+
+    // The loggers of the generated service, generated in the first round
+    // declaring loggers.
+
+    private Set<String> generatedLoggers;
+
     @Override
     public boolean process (Set<? extends TypeElement> annotations, 
             RoundEnvironment env) {
 
         debug("LoggerInfoMetadataGenerator invoked.");
-
-        LoggingMetadata loggerMetadata = new LoggingMetadata();
-        loadLogMessages(loggerMetadata, RBNAME);
-        debug("Total Messages including ones found from disk so far: " + loggerMetadata);
+        roundStarted(env);
 
         if (!env.processingOver()) {
 
-            SortedMap<String, Element> loggerInfoElements = new TreeMap<String, Element>();
-
             Set<? extends Element> elements = env.getElementsAnnotatedWith(LoggerInfo.class);
             if (elements.isEmpty()) {
+                // Nothing new in this round, but the types compiled again may
+                // have lost their loggers, the previous build is loaded then.
+                if (loggerMetadata == null) {
+                    LoggingMetadata previousOrigins = new LoggingMetadata();
+                    loadLogMessages(previousOrigins, ORIGINS_NAME);
+                    if (!getStaleKeys(previousOrigins).isEmpty()) {
+                        loadLoggerMetadata();
+                    }
+                }
+                if (loggerMetadata != null && dropStaleLoggers()) {
+                    generateMetadataService(List.of());
+                }
                 return false;
             }
+            elementsScanned(elements.size());
+
+            if (loggerMetadata == null) {
+                loadLoggerMetadata();
+            }
+            dropStaleLoggers();
             
+            List<String> roundLoggers = new ArrayList<String>();
             Iterator<? extends Element> it = elements.iterator();
             while (it.hasNext()) {
                 VariableElement element = (VariableElement)it.next();
@@ -79,11 +122,13 @@ public class LoggerInfoMetadataGenerator extends BaseLoggingProcessor {
                     error(buf.toString());
                     return false;
                 }
-                debug("Processing: " + loggerName + " on element " + element.getSimpleName());
-                debug("Enclosing type is " + element.getEnclosingElement().asType());
+                debug(() -> "Processing: " + loggerName + " on element " + element.getSimpleName());
+                debug(() -> "Enclosing type is " + element.getEnclosingElement().asType());
                 
                 LoggerInfo loggerInfo = element.getAnnotation(LoggerInfo.class);
+                long validationStart = System.nanoTime();
                 validateLoggerInfo(loggerInfo);
+                validationFinished(validationStart);
                 // Save the log message...
                 // Message ids must be unique
                 if (loggerInfoElements.containsKey(loggerName)) {
@@ -95,20 +140,60 @@ public class LoggerInfoMetadataGenerator extends BaseLoggingProcessor {
                 } else {
                     renderLoggerInfo(loggerMetadata, loggerName, loggerInfo);
                     loggerInfoElements.put(loggerName, element);
+                    roundLoggers.add(loggerName);
+                    loggerOrigins.put(loggerName,
+                            getOriginatingType(element).getQualifiedName().toString());
                 }
             }
-            debug("Loggers found so far: " + loggerMetadata);
-            info("Generating logger metadata service.");
-            // Get the root logger element
-            Element baseLoggerElement = loggerInfoElements.get(loggerInfoElements.firstKey());
-            boolean result = generateLoggerInfoMetadataService(baseLoggerElement, loggerMetadata);
-            info("Annotation processing finished successfully.");
-            return result; // Claim the annotations
+            debug(() -> "Loggers found so far: " + loggerMetadata);
+            generateMetadataService(roundLoggers);
+            contributingRounds++;
+            // Not claimed, the other processors get all the annotations.
+            return false;
         } else {
+            if (!loggerInfoElements.isEmpty() || staleLoggersDropped) {
+                info("Generating logger metadata service.");
+                if (generateLoggerInfoMetadataService(loggerMetadata, loggerOrigins)) {
+                    info("Annotation processing finished successfully.");
+                }
+                setCounter("loggers", loggerInfoElements.size());
+            }
+            reportStatistics(contributingRounds);
             return false;
         }
     }
     
+    private void loadLoggerMetadata() {
+        loggerMetadata = new LoggingMetadata();
+        loggerOrigins = new LoggingMetadata();
+        loadLogMessages(loggerMetadata, RBNAME);
+        loadLogMessages(loggerOrigins, ORIGINS_NAME);
+        debug(() -> "Total Messages including ones found from disk so far: " + loggerMetadata);
+    }
+
+    /**
+     * Drops the loggers of the types which are compiled again or which were
+     * deleted, the remaining ones come from types which are not part of
+     * this (incremental) compilation.
+     *
+     * @return true if loggers were dropped
+     */
+    private boolean dropStaleLoggers() {
+        boolean dropped = false;
+        for (String staleLogger : getStaleKeys(loggerOrigins)) {
+            if (!loggerInfoElements.containsKey(staleLogger)) {
+                debug(() -> "Dropping stale logger: " + staleLogger);
+                loggerMetadata.remove(staleLogger + DESCRIPTION_SUFFIX);
+                loggerMetadata.remove(staleLogger + SUBSYSTEM_SUFFIX);
+                loggerMetadata.remove(staleLogger + PUBLISH_SUFFIX);
+                loggerOrigins.remove(staleLogger);
+                staleLoggersDropped = true;
+                dropped = true;
+            }
+        }
+        return dropped;
+    }
+
     private boolean compareLoggerInfos(LoggerInfo info1, LoggerInfo info2) {
         return (info1.description().equals(info2.description()) &&
                 info1.subsystem().equals(info2.subsystem()) &&
@@ -124,22 +209,16 @@ public class LoggerInfoMetadataGenerator extends BaseLoggingProcessor {
         }        
     }
 
-    private boolean generateLoggerInfoMetadataService(Element element, LoggingMetadata loggerInfos) {
-        String packageName = null;
-        do {
-            Element enclosing = element.getEnclosingElement();
-            debug("Found enclosing element " + element);
-            if (enclosing.getKind() == ElementKind.PACKAGE) {
-                packageName = enclosing.toString();
-            }
-            element = enclosing;
-        } while(packageName == null);
-        
+    private boolean generateLoggerInfoMetadataService(LoggingMetadata loggerInfos,
+            LoggingMetadata loggerOrigins) {
         try {
             // Now persist the resource bundle
             // String resourceName = packageName + "." + RBNAME;
             String resourceName = RBNAME;
-            storeLogMessages(loggerInfos, resourceName);            
+            Element[] originatingElements = getOriginatingElements(loggerOrigins);
+            storeLogMessages(loggerInfos, resourceName, originatingElements);
+            storeLogMessages(loggerOrigins, ORIGINS_NAME, originatingElements);
+            storeLogMessages(getLoggerIndex(loggerInfos), INDEX_NAME, originatingElements);
         } catch (Exception e) {
             error("Unable to generate LoggerMetadataInfoService class", e);
             return false;
@@ -147,6 +226,119 @@ public class LoggerInfoMetadataGenerator extends BaseLoggingProcessor {
         return true;
     }
 
+    /**
+     * Returns the metadata of the loggers by logger name.
+     */
+    private static SortedMap<String, MetadataServiceWriter.LoggerMetadata> getLoggers(LoggingMetadata loggerInfos) {
+        SortedMap<String, MetadataServiceWriter.LoggerMetadata> loggers = new TreeMap<String, MetadataServiceWriter.LoggerMetadata>();
+        for (Map.Entry<String, Object> entry : loggerInfos.entrySet()) {
+            String key = entry.getKey();
+            if (key.endsWith(SUBSYSTEM_SUFFIX) && !LoggingMetadata.isCommentKey(key)) {
+                String loggerName = key.substring(0, key.length() - SUBSYSTEM_SUFFIX.length());
+                Object description = loggerInfos.get(loggerName + DESCRIPTION_SUFFIX);
+                Object publish = loggerInfos.get(loggerName + PUBLISH_SUFFIX);
+                loggers.put(loggerName, new MetadataServiceWriter.LoggerMetadata(String.valueOf(entry.getValue()),
+                        description == null ? "" : description.toString(),
+                        publish == null || Boolean.parseBoolean(publish.toString())));
+            }
+        }
+        return loggers;
+    }
+
+    /**
+     * Generates the service of the metadata option in the first round
+     * declaring or dropping loggers, checks that the loggers of the later
+     * rounds are in the generated service.
+     */
+    private void generateMetadataService(List<String> roundLoggers) {
+        String serviceName = processingEnv.getOptions().get(METADATA_SERVICE_OPTION);
+        if (serviceName == null || serviceName.trim().isEmpty() || "false".equals(serviceName.trim())) {
+            return;
+        }
+        if (generatedLoggers == null) {
+            SortedMap<String, MetadataServiceWriter.LoggerMetadata> loggers = getLoggers(loggerMetadata);
+            generatedLoggers = new HashSet<String>(loggers.keySet());
+            if (!loggers.isEmpty()) {
+                generateMetadataService(serviceName.trim(), loggers);
+            }
+        } else {
+            for (String loggerName : roundLoggers) {
+                if (!generatedLoggers.contains(loggerName)) {
+                    error("The logger " + loggerName + " is declared in a later processing round than the generated "
+                            + "logger metadata service. Declare it in a type which is not generated or disable the "
+                            + METADATA_SERVICE_OPTION + " option.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates the service returning the metadata of the loggers, which
+     * replaces the parsing of the metadata resource when the server starts.
+     */
+    private void generateMetadataService(String serviceName,
+            SortedMap<String, MetadataServiceWriter.LoggerMetadata> loggers) {
+        if (loggers.size() > MetadataServiceWriter.MAX_LOGGERS) {
+            warn("The logger metadata service is not generated, more than " + MetadataServiceWriter.MAX_LOGGERS + " loggers.");
+            return;
+        }
+        String className = serviceName;
+        if (Boolean.parseBoolean(serviceName)) {
+            // The package of the first logger of the module, the same in the
+            // incremental compilations.
+            Object origin = loggerOrigins.get(loggers.firstKey());
+            TypeElement first = origin == null ? null : processingEnv.getElementUtils().getTypeElement(origin.toString());
+            if (first == null) {
+                error("The package of the logger metadata service is not known, the type declaring the logger "
+                        + loggers.firstKey() + " is not found. Set the class name with the " + METADATA_SERVICE_OPTION + " option.");
+                return;
+            }
+            className = processingEnv.getElementUtils().getPackageOf(first).getQualifiedName() + "."
+                    + MetadataServiceWriter.SERVICE_NAME;
+        }
+        String injectPackage = processingEnv.getOptions().get(INJECT_PACKAGE_OPTION);
+        injectPackage = injectPackage == null ? MetadataServiceWriter.DEFAULT_INJECT_PACKAGE : injectPackage.trim();
+        if (!MetadataServiceWriter.INJECT_PACKAGES.contains(injectPackage)) {
+            error("The package of the injection annotations " + injectPackage + " of the " + INJECT_PACKAGE_OPTION
+                    + " option is neither javax.inject nor jakarta.inject.");
+            return;
+        }
+        Element[] originatingElements = getOriginatingElements(loggerOrigins);
+        try (Writer writer = processingEnv.getFiler().createSourceFile(className, originatingElements).openWriter()) {
+            MetadataServiceWriter.write(writer, className, injectPackage, loggers);
+        } catch (IOException | IllegalArgumentException e) {
+            error("Unable to generate the logger metadata service " + className, e);
+        }
+    }
+
+    /**
+     * Returns the index of the loggers of every subsystem and of the tree of
+     * the loggers, read at runtime to reconfigure the levels.
+     */
+    private LoggingMetadata getLoggerIndex(LoggingMetadata loggerInfos) {
+        Map<String, String> subsystems = new HashMap<String, String>();
+        for (Map.Entry<String, Object> entry : loggerInfos.entrySet()) {
+            String key = entry.getKey();
+            if (key.endsWith(SUBSYSTEM_SUFFIX) && !LoggingMetadata.isCommentKey(key)) {
+                subsystems.put(key.substring(0, key.length() - SUBSYSTEM_SUFFIX.length()),
+                        String.valueOf(entry.getValue()));
+            }
+        }
+        LoggerInfoIndex index = new LoggerInfoIndex(subsystems);
+        LoggingMetadata metadata = new LoggingMetadata();
+        for (String subsystem : index.getSubsystems()) {
+            metadata.put(LoggerInfoIndex.SUBSYSTEM_PREFIX + subsystem, String.join(",", index.getLoggers(subsystem)));
+        }
+        for (String logger : subsystems.keySet()) {
+            List<String> children = index.getChildren(logger);
+            if (!children.isEmpty()) {
+                metadata.put(LoggerInfoIndex.CHILDREN_PREFIX + logger, String.join(",", children));
+            }
+        }
+        metadata.put(LoggerInfoIndex.ROOTS_KEY, String.join(",", index.getRoots()));
+        return metadata;
+    }
+
     private boolean renderLoggerInfo(LoggingMetadata loggerMetadata, 
             String loggerName, LoggerInfo loggerInfo) {
         loggerMetadata.put(loggerName + DESCRIPTION_SUFFIX, loggerInfo.description());
@@ -16,12 +16,11 @@
 
 package org.glassfish.annotation.processing.logging;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.Writer;
+import java.util.Map;
 import java.util.TreeMap;
 
-class LoggingMetadata extends TreeMap<String,Object>{
+class LoggingMetadata extends TreeMap<String,Object> implements LoggingResource {
 
     private static final long serialVersionUID = 4958871376396137141L;
         
@@ -29,117 +28,73 @@ class LoggingMetadata extends TreeMap<String,Object>{
     
     public LoggingMetadata() { }
 
-    public LoggingMetadata load(BufferedReader reader) throws IOException {
-        String line; 
-        String unusedLine = null; 
-        int pos;
-
-        try {
-            //Read File Line By Line
-            while ((line = nextLine(unusedLine, reader)) != null)   {
-                unusedLine = null;
-
-                // We found a comment...
-                if (line.indexOf('#') == 0) {
-                    String commentLine = line;
-
-                    // We expect a prop=value after the comment.
-                    if ((line = reader.readLine()) == null) continue;
-
-                    // A comment may follow a comment.   Ignore the first
-                    // comment.
-                    pos = line.indexOf('#');
-                    if (line.indexOf('#') == 0) {
-                        unusedLine = line;
-                        continue;
-                    }
-
-                    pos = line.indexOf('=');
-                    if (pos == -1) {
-                        // The previous line was a lone comment - ignore it.
-                        // Push the current line back to be reread during
-                        // the next pass.
-                        unusedLine = line;
-                        continue;
-                    } else {
-                        unusedLine = null;
-                        setProperty(line, pos, commentLine);
-                    }
-                    continue;
-                } else if ((pos = line.indexOf('=')) != -1) {
-                    setProperty(line, pos);
-                    continue;
-                }
-
-                // We ignore all whitespace or lines that are not prop/values
-                // or comments.
+    @Override
+    public LoggingMetadata load(PropertiesReader reader) throws IOException {
+        reader.read((key, value, comment) -> {
+            put(key, value);
+            if (comment != null) {
+                putComment(key, comment);
             }
-        } finally {
-            if (reader != null)
-                reader.close();
-        }
-
+        });
         return this;
     }
 
     /**
-     * Store the resource bundle to the Writer object.   
+     * Store the resource bundle to the writer. The keys are sorted
+     * and the lines end with '\n', so the same content always produces
+     * the same output.
+     *    @param copyright the header of the file
      *    @return if contents were written to the object.
      */
-    public boolean store(Writer out) throws IOException {
+    @Override
+    public boolean store(PropertiesWriter out, String copyright) throws IOException {
 
         // Noting to store.
         if (isEmpty()) return false;
 
-        out.write(GPLCopyright.getCopyright());
+        out.writeHeader(copyright);
 
-        for (String key : keySet()) {
+        for (Map.Entry<String, Object> entry : entrySet()) {
+            String key = entry.getKey();
             // Skip comments until needed after writing prop. 
             if (key.endsWith(COMMENT)) continue;
 
-            if (containsKey(key + COMMENT)) 
-                out.write(get(key + COMMENT) + "\n");
-            Object value = get(key);
-            if (value != null) {
-                value = escapeSpecialChars(value.toString());
-            } else {
-                value = "";
+            String comment = getComment(key);
+            if (comment != null) {
+                out.writeComment(comment);
             }
-            out.write(key + "=" + value + "\n\n");
+            Object value = entry.getValue();
+            out.writeProperty(key, value == null ? "" : value.toString());
         }
         out.flush();
 
         return true;
     }
 
-    private String escapeSpecialChars(String str) {
-        return str.replaceAll("\\n", "\\\\n");
-    }
-
     public void putComment(String key, String comment) {
-        put(key + COMMENT, "# " + comment);
+        put(key + COMMENT, comment);
     }
 
-    private void setProperty(String line, int pos, String commentLine) {
-        String key = line.substring(0, pos).trim();
-        String value = line.substring(pos + 1).trim();
-        put(key, value);
-        put(key + COMMENT, commentLine);
+    /**
+     * Returns the text of the comment preceding the property, if any.
+     */
+    public String getComment(String key) {
+        Object comment = get(key + COMMENT);
+        return comment == null ? null : comment.toString();
     }
 
-    private void setProperty(String line, int pos) {
-        String key = line.substring(0, pos).trim();
-        String value = line.substring(pos + 1).trim();
-        put(key, value);
+    /**
+     * Checks whether the key holds the comment of another property.
+     */
+    static boolean isCommentKey(String key) {
+        return key.endsWith(COMMENT);
     }
 
-    // Returns either the unusedLine or reads a new line if the 
-    // unusedLine is null.
-    private String nextLine(String unusedLine, BufferedReader reader) 
-            throws java.io.IOException {
-
-        if (unusedLine != null) return unusedLine;
-
-        return reader.readLine();
+    /**
+     * Removes the property along with its comment.
+     */
+    public void removeEntry(String key) {
+        remove(key);
+        remove(key + COMMENT);
     }
 }
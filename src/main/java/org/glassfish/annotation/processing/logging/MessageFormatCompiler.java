@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.glassfish.logging.runtime.CompiledMessage;
+
+/**
+ * Parses the log message patterns at build time, following the rules of
+ * java.util.logging.Formatter.formatMessage: a message is formatted by
+ * MessageFormat only if it contains a '{' followed by a digit, any other
+ * message is logged as it is.
+ */
+final class MessageFormatCompiler {
+
+    private MessageFormatCompiler() {
+    }
+
+    /**
+     * Returns whether the logging formatters pass the message to MessageFormat.
+     */
+    static boolean isFormatted(String message) {
+        // The scan of the formatters since JDK 9, "{4}" is formatted too.
+        int index = -1;
+        while ((index = message.indexOf('{', index + 1)) >= 0 && index + 1 < message.length()) {
+            char digit = message.charAt(index + 1);
+            if (digit >= '0' && digit <= '9') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the message is a valid pattern, if it is formatted.
+     * 
+     * @throws IllegalArgumentException if the pattern is not valid
+     */
+    static void validate(String message) {
+        if (isFormatted(message)) {
+            new MessageFormat(message, Locale.ROOT);
+        }
+    }
+
+    /**
+     * Returns the number of parameters of the message, the highest argument
+     * number plus one, 0 if the message is not formatted.
+     */
+    static int getArity(String message) {
+        if (!isFormatted(message)) {
+            return 0;
+        }
+        try {
+            CompiledMessage compiled = compile(message);
+            if (compiled == null) {
+                return new MessageFormat(message, Locale.ROOT).getFormatsByArgumentIndex().length;
+            }
+            int arity = 0;
+            for (int slot = 0; slot < compiled.getArgumentCount(); slot++) {
+                arity = Math.max(arity, compiled.getArgument(slot) + 1);
+            }
+            return arity;
+        } catch (IllegalArgumentException e) {
+            // Reported by the validation of the message.
+            return 0;
+        }
+    }
+
+    /**
+     * Compiles the message.
+     * 
+     * @return the compiled message, null if the pattern uses format types
+     *         or styles, which are left to MessageFormat
+     * @throws IllegalArgumentException if the pattern is not valid
+     */
+    static CompiledMessage compile(String message) {
+        if (!isFormatted(message)) {
+            return new CompiledMessage(new String[] {message}, new int[0]);
+        }
+        validate(message);
+        List<String> literals = new ArrayList<String>();
+        List<Integer> arguments = new ArrayList<Integer>();
+        StringBuilder literal = new StringBuilder(message.length());
+        boolean inQuote = false;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < message.length() && message.charAt(i + 1) == '\'') {
+                    literal.append(c);
+                    i++;
+                } else {
+                    inQuote = !inQuote;
+                }
+            } else if (c == '{' && !inQuote) {
+                int end = message.indexOf('}', i + 1);
+                int argument = parseArgument(message, i + 1, end);
+                if (argument < 0) {
+                    return null;
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                arguments.add(argument);
+                i = end;
+            } else {
+                literal.append(c);
+            }
+        }
+        literals.add(literal.toString());
+        int[] slots = new int[arguments.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = arguments.get(i);
+        }
+        return new CompiledMessage(literals.toArray(new String[literals.size()]), slots);
+    }
+
+    /**
+     * Parses the argument number of a simple argument.
+     * 
+     * @return the number, -1 if the argument is not a plain number
+     */
+    private static int parseArgument(String message, int start, int end) {
+        if (end <= start || end - start > 9) {
+            return -1;
+        }
+        for (int i = start; i < end; i++) {
+            char c = message.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return Integer.parseInt(message.substring(start, end));
+    }
+}
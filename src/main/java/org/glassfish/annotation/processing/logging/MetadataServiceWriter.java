@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * Writes the source of the LoggerInfoMetadataService of a module from its
+ * template, with the names, the subsystems, the descriptions and the publish
+ * flags of the loggers in constant arrays sorted by logger name.
+ */
+final class MetadataServiceWriter {
+
+    private static final String TEMPLATE = "LoggerInfoMetadataService.template";
+
+    /** Package of the injection annotations of the service by default. */
+    static final String DEFAULT_INJECT_PACKAGE = "javax.inject";
+
+    /** The packages of the injection annotations, before and since Jakarta EE 9. */
+    static final Set<String> INJECT_PACKAGES = Set.of(DEFAULT_INJECT_PACKAGE, "jakarta.inject");
+
+    /** Simple name of the service class when only its package is known. */
+    static final String SERVICE_NAME = "LoggerInfoMetadataService";
+
+    /**
+     * Limit of the loggers of a class, the arrays are initialized by a
+     * single static initializer, which is at most 64 KB of bytecode.
+     */
+    static final int MAX_LOGGERS = 1000;
+
+    /** The metadata of a logger. */
+    static final class LoggerMetadata {
+
+        final String subsystem;
+
+        final String description;
+
+        final boolean published;
+
+        LoggerMetadata(String subsystem, String description, boolean published) {
+            this.subsystem = subsystem;
+            this.description = description;
+            this.published = published;
+        }
+    }
+
+    private MetadataServiceWriter() {
+    }
+
+    /**
+     * @param out the writer of the source file
+     * @param className the fully qualified name of the service class
+     * @param injectPackage the package of the Named and Singleton annotations
+     * @param loggers the metadata of the loggers by logger name
+     */
+    static void write(Writer out, String className, String injectPackage, SortedMap<String, LoggerMetadata> loggers)
+            throws IOException {
+        String template;
+        try (InputStream in = MetadataServiceWriter.class.getResourceAsStream(TEMPLATE)) {
+            if (in == null) {
+                throw new IOException("Resource not found: " + TEMPLATE);
+            }
+            template = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot <= 0) {
+            throw new IllegalArgumentException("The class " + className + " is not in a package.");
+        }
+        StringBuilder names = new StringBuilder(loggers.size() * 48);
+        StringBuilder subsystems = new StringBuilder(loggers.size() * 16);
+        StringBuilder descriptions = new StringBuilder(loggers.size() * 48);
+        StringBuilder published = new StringBuilder(loggers.size() * 16);
+        for (Map.Entry<String, LoggerMetadata> logger : loggers.entrySet()) {
+            appendElement(names, logger.getKey());
+            appendElement(subsystems, logger.getValue().subsystem);
+            appendElement(descriptions, logger.getValue().description);
+            published.append("        ").append(logger.getValue().published).append(",\n");
+        }
+        out.write(template
+                .replace("${packageName}", className.substring(0, lastDot))
+                .replace("${simpleName}", className.substring(lastDot + 1))
+                .replace("${injectPackage}", injectPackage)
+                .replace("${loggerNames}\n", names)
+                .replace("${subsystems}\n", subsystems)
+                .replace("${descriptions}\n", descriptions)
+                .replace("${published}\n", published));
+    }
+
+    private static void appendElement(StringBuilder source, String value) {
+        source.append("        ");
+        ResourceBundleClassWriter.appendLiteral(source, value);
+        source.append(",\n");
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.glassfish.logging.runtime.PerfectHash;
+
+/**
+ * Computes the minimal perfect hash of the message ids with the hash and
+ * displace algorithm: the buckets are placed from the largest, each one
+ * with the first displacement sending all its ids to free slots.
+ */
+final class PerfectHashBuilder {
+
+    /** Average number of ids per bucket. */
+    private static final int BUCKET_SIZE = 2;
+
+    private final int[] displacements;
+
+    private final int[] slots;
+
+    private PerfectHashBuilder(int buckets, int size) {
+        displacements = new int[buckets];
+        slots = new int[size];
+    }
+
+    /**
+     * @param ids the distinct ids
+     * @return the builder holding the displacements and slots, null if no
+     *         displacement was found for a bucket
+     */
+    static PerfectHashBuilder build(List<String> ids) {
+        int size = ids.size();
+        if (size == 0) {
+            return null;
+        }
+        int buckets = (size + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        List<List<Integer>> bucketIds = new ArrayList<List<Integer>>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            bucketIds.add(new ArrayList<Integer>(BUCKET_SIZE * 2));
+        }
+        for (int i = 0; i < size; i++) {
+            bucketIds.get(PerfectHash.bucket(ids.get(i).hashCode(), buckets)).add(i);
+        }
+        Integer[] order = new Integer[buckets];
+        for (int i = 0; i < buckets; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (b1, b2) -> bucketIds.get(b2).size() - bucketIds.get(b1).size());
+
+        PerfectHashBuilder hash = new PerfectHashBuilder(buckets, size);
+        boolean[] used = new boolean[size];
+        int[] candidate = new int[BUCKET_SIZE * 16];
+        // Enough attempts to place the last buckets in an almost full table.
+        int maxDisplacement = Math.max(1 << 16, size * 64);
+        for (int bucket : order) {
+            List<Integer> members = bucketIds.get(bucket);
+            if (members.isEmpty()) {
+                continue;
+            }
+            if (candidate.length < members.size()) {
+                candidate = new int[members.size()];
+            }
+            int displacement = 0;
+            while (!fits(ids, members, displacement, used, candidate)) {
+                if (++displacement == maxDisplacement) {
+                    return null;
+                }
+            }
+            hash.displacements[bucket] = displacement;
+            for (int i = 0; i < members.size(); i++) {
+                used[candidate[i]] = true;
+                hash.slots[candidate[i]] = members.get(i);
+            }
+        }
+        return hash;
+    }
+
+    private static boolean fits(List<String> ids, List<Integer> members, int displacement,
+            boolean[] used, int[] candidate) {
+        for (int i = 0; i < members.size(); i++) {
+            int slot = PerfectHash.slot(ids.get(members.get(i)).hashCode(), displacement, used.length);
+            if (used[slot]) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (candidate[j] == slot) {
+                    return false;
+                }
+            }
+            candidate[i] = slot;
+        }
+        return true;
+    }
+
+    int[] getDisplacements() {
+        return displacements;
+    }
+
+    /**
+     * Returns the index of the id of every slot.
+     */
+    int[] getSlots() {
+        return slots;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+import javax.annotation.processing.ProcessingEnvironment;
+
+/**
+ * Counters of the logging processors running in one compilation. The
+ * processors share the instance of their processing environment, so the
+ * report written at the end of the compilation covers all of them. Every
+ * counter is prefixed by the simple name of the processor.
+ */
+final class ProcessingStatistics {
+
+    private static final Map<ProcessingEnvironment, ProcessingStatistics> STATISTICS =
+            new WeakHashMap<ProcessingEnvironment, ProcessingStatistics>();
+
+    private final SortedMap<String, Long> counters = new TreeMap<String, Long>();
+
+    private ProcessingStatistics() {
+    }
+
+    /**
+     * Returns the statistics of the compilation using the processing
+     * environment.
+     */
+    static ProcessingStatistics get(ProcessingEnvironment processingEnv) {
+        synchronized (STATISTICS) {
+            ProcessingStatistics statistics = STATISTICS.get(processingEnv);
+            if (statistics == null) {
+                statistics = new ProcessingStatistics();
+                STATISTICS.put(processingEnv, statistics);
+            }
+            return statistics;
+        }
+    }
+
+    synchronized void set(String processor, String counter, long value) {
+        counters.put(processor + '.' + counter, value);
+    }
+
+    /**
+     * Writes all the counters recorded so far as a properties file.
+     */
+    synchronized void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.ISO_8859_1)) {
+            PropertiesWriter out = new PropertiesWriter(writer, true);
+            for (Map.Entry<String, Long> counter : counters.entrySet()) {
+                out.writeProperty(counter.getKey(), counter.getValue().toString());
+            }
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streaming reader of properties files following the format of
+ * {@link java.util.Properties#load(Reader)}: continuation lines, escapes
+ * including the unicode ones, and '=', ':' or whitespace separators.
+ * <p>
+ * The reader also reports the comment lines directly preceding a
+ * property, they hold the comments of the log messages.
+ */
+final class PropertiesReader {
+
+    /**
+     * Receives the properties in the order they appear in the file.
+     */
+    interface PropertyConsumer {
+
+        /**
+         * @param key the unescaped key
+         * @param value the unescaped value
+         * @param comment the text of the comment lines directly preceding
+         *        the property, joined by '\n', or null
+         */
+        void accept(String key, String value, String comment);
+    }
+
+    private static final int EOF = -1;
+    private static final int BLANK = 0;
+    private static final int COMMENT = 1;
+    private static final int PROPERTY = 2;
+
+    private final Reader reader;
+
+    private final char[] buffer = new char[8192];
+
+    private int position;
+
+    private int limit;
+
+    // The current logical line, without the line continuations.
+    private char[] line = new char[256];
+
+    private int length;
+
+    private final StringBuilder comment = new StringBuilder();
+
+    private boolean hasComment;
+
+    PropertiesReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads all the properties, the reader is not closed.
+     */
+    void read(PropertyConsumer consumer) throws IOException {
+        int kind;
+        while ((kind = readLine()) != EOF) {
+            if (kind == BLANK) {
+                hasComment = false;
+            } else if (kind == COMMENT) {
+                appendComment();
+            } else {
+                parseProperty(consumer);
+                hasComment = false;
+            }
+        }
+    }
+
+    private int readLine() throws IOException {
+        length = 0;
+        int c;
+        boolean skipWhitespace = true;
+        boolean continuation = false;
+        boolean precedingBackslash = false;
+        while (true) {
+            if ((c = next()) == EOF) {
+                if (precedingBackslash) {
+                    length--;
+                }
+                return length == 0 ? EOF : PROPERTY;
+            }
+            if (skipWhitespace) {
+                if (c == ' ' || c == '\t' || c == '\f') {
+                    continue;
+                }
+                if (!continuation && (c == '\r' || c == '\n')) {
+                    skipLineFeed(c);
+                    return BLANK;
+                }
+                skipWhitespace = false;
+                if (!continuation && (c == '#' || c == '!')) {
+                    readCommentLine();
+                    return COMMENT;
+                }
+            }
+            if (c == '\r' || c == '\n') {
+                skipLineFeed(c);
+                if (precedingBackslash) {
+                    // Continues on the next line without the backslash and
+                    // the leading whitespace.
+                    length--;
+                    precedingBackslash = false;
+                    skipWhitespace = true;
+                    continuation = true;
+                    continue;
+                }
+                return PROPERTY;
+            }
+            append((char) c);
+            precedingBackslash = c == '\\' && !precedingBackslash;
+        }
+    }
+
+    private void readCommentLine() throws IOException {
+        int c;
+        while ((c = next()) != EOF) {
+            if (c == '\r' || c == '\n') {
+                skipLineFeed(c);
+                return;
+            }
+            append((char) c);
+        }
+    }
+
+    private void appendComment() {
+        if (hasComment) {
+            comment.append('\n');
+        } else {
+            comment.setLength(0);
+            hasComment = true;
+        }
+        int start = 0;
+        if (length > 0 && line[0] == ' ') {
+            start = 1;
+        }
+        // Only unicode escapes are used in the comments, the other
+        // backslashes are kept as they are.
+        for (int i = start; i < length; i++) {
+            char c = line[i];
+            if (c == '\\' && i + 1 < length && line[i + 1] == 'u' && isUnicodeEscape(i + 2)) {
+                comment.append((char) Integer.parseInt(new String(line, i + 2, 4), 16));
+                i += 5;
+            } else {
+                comment.append(c);
+            }
+        }
+    }
+
+    private boolean isUnicodeEscape(int start) {
+        if (start + 4 > length) {
+            return false;
+        }
+        for (int i = start; i < start + 4; i++) {
+            if (Character.digit(line[i], 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void parseProperty(PropertyConsumer consumer) {
+        int keyLength = 0;
+        int valueStart = length;
+        boolean hasSeparator = false;
+        boolean precedingBackslash = false;
+        while (keyLength < length) {
+            char c = line[keyLength];
+            if ((c == '=' || c == ':') && !precedingBackslash) {
+                valueStart = keyLength + 1;
+                hasSeparator = true;
+                break;
+            } else if ((c == ' ' || c == '\t' || c == '\f') && !precedingBackslash) {
+                valueStart = keyLength + 1;
+                break;
+            }
+            precedingBackslash = c == '\\' && !precedingBackslash;
+            keyLength++;
+        }
+        while (valueStart < length) {
+            char c = line[valueStart];
+            if (c != ' ' && c != '\t' && c != '\f') {
+                if (!hasSeparator && (c == '=' || c == ':')) {
+                    hasSeparator = true;
+                } else {
+                    break;
+                }
+            }
+            valueStart++;
+        }
+        String key = unescape(0, keyLength);
+        String value = unescape(valueStart, length);
+        consumer.accept(key, value, hasComment ? comment.toString() : null);
+    }
+
+    private String unescape(int start, int end) {
+        int i = start;
+        while (i < end && line[i] != '\\') {
+            i++;
+        }
+        if (i == end) {
+            // Nothing to unescape, the common case.
+            return new String(line, start, end - start);
+        }
+        StringBuilder result = new StringBuilder(end - start);
+        result.append(line, start, i - start);
+        while (i < end) {
+            char c = line[i++];
+            if (c != '\\' || i == end) {
+                result.append(c);
+                continue;
+            }
+            c = line[i++];
+            switch (c) {
+                case 't':
+                    result.append('\t');
+                    break;
+                case 'n':
+                    result.append('\n');
+                    break;
+                case 'r':
+                    result.append('\r');
+                    break;
+                case 'f':
+                    result.append('\f');
+                    break;
+                case 'u':
+                    if (i + 4 > end) {
+                        throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                    }
+                    int value = 0;
+                    for (int j = 0; j < 4; j++) {
+                        int digit = Character.digit(line[i++], 16);
+                        if (digit < 0) {
+                            throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                        }
+                        value = (value << 4) | digit;
+                    }
+                    result.append((char) value);
+                    break;
+                default:
+                    result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private void append(char c) {
+        if (length == line.length) {
+            char[] newLine = new char[line.length * 2];
+            System.arraycopy(line, 0, newLine, 0, length);
+            line = newLine;
+        }
+        line[length++] = c;
+    }
+
+    private void skipLineFeed(int c) throws IOException {
+        if (c == '\r') {
+            if (position == limit && !fill()) {
+                return;
+            }
+            if (buffer[position] == '\n') {
+                position++;
+            }
+        }
+    }
+
+    private int next() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        int count = reader.read(buffer);
+        if (count <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = count;
+        return true;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streaming writer of properties files readable by
+ * {@link java.util.Properties#load(java.io.Reader)} and
+ * {@link java.util.PropertyResourceBundle}. The keys and values are escaped
+ * in a single pass into an internal buffer, every property is followed by
+ * an empty line.
+ */
+final class PropertiesWriter {
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final Writer out;
+
+    private final boolean escapeNonAscii;
+
+    private final char[] buffer = new char[8192];
+
+    private int position;
+
+    /**
+     * @param out the writer receiving the content, not closed by this writer
+     * @param escapeNonAscii whether the characters outside of ASCII are
+     *        written as unicode escapes, required by the ISO-8859-1 encoding
+     */
+    PropertiesWriter(Writer out, boolean escapeNonAscii) {
+        this.out = out;
+        this.escapeNonAscii = escapeNonAscii;
+    }
+
+    /**
+     * Writes the text as it is, used for the copyright header.
+     */
+    void writeHeader(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            write(text.charAt(i));
+        }
+    }
+
+    /**
+     * Writes the comment, every line of the text is written as a separate
+     * comment line.
+     */
+    void writeComment(String comment) throws IOException {
+        write('#');
+        write(' ');
+        for (int i = 0; i < comment.length(); i++) {
+            char c = comment.charAt(i);
+            if (c == '\r' || c == '\n') {
+                if (c == '\r' && i + 1 < comment.length() && comment.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                write('\n');
+                write('#');
+                write(' ');
+            } else if (c > '~' && escapeNonAscii) {
+                writeUnicodeEscape(c);
+            } else {
+                write(c);
+            }
+        }
+        write('\n');
+    }
+
+    void writeProperty(String key, String value) throws IOException {
+        writeEscaped(key, true);
+        write('=');
+        writeEscaped(value, false);
+        write('\n');
+        write('\n');
+    }
+
+    /**
+     * Writes the buffered content to the underlying writer.
+     */
+    void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+        out.flush();
+    }
+
+    private void writeEscaped(String text, boolean key) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    write('\\');
+                    write('\\');
+                    break;
+                case '\t':
+                    write('\\');
+                    write('t');
+                    break;
+                case '\n':
+                    write('\\');
+                    write('n');
+                    break;
+                case '\r':
+                    write('\\');
+                    write('r');
+                    break;
+                case '\f':
+                    write('\\');
+                    write('f');
+                    break;
+                case ' ':
+                    // Separates the key from the value, and the leading
+                    // whitespace of the value is skipped.
+                    if (key || i == 0) {
+                        write('\\');
+                    }
+                    write(c);
+                    break;
+                case '=':
+                case ':':
+                case '#':
+                case '!':
+                    if (key) {
+                        write('\\');
+                    }
+                    write(c);
+                    break;
+                default:
+                    if (c < ' ' || (c > '~' && escapeNonAscii)) {
+                        writeUnicodeEscape(c);
+                    } else {
+                        write(c);
+                    }
+            }
+        }
+    }
+
+    private void writeUnicodeEscape(char c) throws IOException {
+        write('\\');
+        write('u');
+        write(HEX_DIGITS[(c >> 12) & 0xF]);
+        write(HEX_DIGITS[(c >> 8) & 0xF]);
+        write(HEX_DIGITS[(c >> 4) & 0xF]);
+        write(HEX_DIGITS[c & 0xF]);
+    }
+
+    private void write(char c) throws IOException {
+        if (position == buffer.length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        buffer[position++] = c;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes the source of a ResourceBundle class returning the log messages.
+ * The ids and the messages are string constants in sorted arrays, so a
+ * lookup is a binary search and loading the bundle does not parse anything.
+ * The arrays are initialized by chunks, each in its own method, to stay
+ * below the size limit of a method.
+ */
+final class ResourceBundleClassWriter {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Limit of the entries of a class, every message takes two string
+     * constants, the constant pool of a class has at most 65535 entries.
+     */
+    static final int MAX_ENTRIES = 15_000;
+
+    /**
+     * Limit of the length of a string constant, 65535 bytes in modified
+     * UTF-8, where a char takes up to three bytes.
+     */
+    static final int MAX_CONSTANT_LENGTH = 65535 / 3;
+
+    private ResourceBundleClassWriter() {
+    }
+
+    /**
+     * Returns the reason why the messages cannot be written as a class,
+     * null if they can.
+     */
+    static String checkLimits(Collection<LogMessageEntry> messages) {
+        if (messages.size() > MAX_ENTRIES) {
+            return "more than " + MAX_ENTRIES + " messages";
+        }
+        for (LogMessageEntry entry : messages) {
+            if (entry.getId().length() > MAX_CONSTANT_LENGTH 
+                    || entry.getMessage().length() > MAX_CONSTANT_LENGTH) {
+                return "the message " + entry.getId() + " is too long";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param out the writer of the source file
+     * @param className the fully qualified name of the bundle class
+     * @param messages the messages sorted by id
+     */
+    static void write(Writer out, String className, Collection<LogMessageEntry> messages)
+            throws IOException {
+        List<LogMessageEntry> entries = new ArrayList<LogMessageEntry>(messages);
+        String packageName = "";
+        String simpleName = className;
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot > 0) {
+            packageName = className.substring(0, lastDot);
+            simpleName = className.substring(lastDot + 1);
+        }
+        StringBuilder source = new StringBuilder(256 + entries.size() * 128);
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import java.util.Arrays;\n");
+        source.append("import java.util.Collections;\n");
+        source.append("import java.util.Enumeration;\n");
+        source.append("import java.util.HashSet;\n");
+        source.append("import java.util.ResourceBundle;\n");
+        source.append("import java.util.Set;\n");
+        source.append("import java.util.TreeSet;\n\n");
+        source.append("/**\n");
+        source.append(" * Log messages generated by the logging annotation processor, do not edit.\n");
+        source.append(" */\n");
+        source.append("public final class ").append(simpleName).append(" extends ResourceBundle {\n\n");
+        source.append("    private static final String[] KEYS = new String[").append(entries.size()).append("];\n\n");
+        source.append("    private static final String[] VALUES = new String[").append(entries.size()).append("];\n\n");
+        source.append("    static {\n");
+        int chunks = (entries.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            source.append("        init").append(chunk).append("();\n");
+        }
+        source.append("    }\n\n");
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            source.append("    private static void init").append(chunk).append("() {\n");
+            int end = Math.min(entries.size(), (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                LogMessageEntry entry = entries.get(i);
+                source.append("        KEYS[").append(i).append("] = ");
+                appendLiteral(source, entry.getId());
+                source.append(";\n");
+                source.append("        VALUES[").append(i).append("] = ");
+                appendLiteral(source, entry.getMessage());
+                source.append(";\n");
+            }
+            source.append("    }\n\n");
+        }
+        source.append("    @Override\n");
+        source.append("    protected Object handleGetObject(String key) {\n");
+        source.append("        if (key == null) {\n");
+        source.append("            throw new NullPointerException();\n");
+        source.append("        }\n");
+        source.append("        int index = Arrays.binarySearch(KEYS, key);\n");
+        source.append("        return index < 0 ? null : VALUES[index];\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    protected Set<String> handleKeySet() {\n");
+        source.append("        return new HashSet<String>(Arrays.asList(KEYS));\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public Enumeration<String> getKeys() {\n");
+        source.append("        Set<String> keys = new TreeSet<String>(Arrays.asList(KEYS));\n");
+        source.append("        if (parent != null) {\n");
+        source.append("            keys.addAll(parent.keySet());\n");
+        source.append("        }\n");
+        source.append("        return Collections.enumeration(keys);\n");
+        source.append("    }\n");
+        source.append("}\n");
+        out.write(source.toString());
+    }
+
+    /**
+     * Appends the value as a Java string literal, ASCII only.
+     */
+    static void appendLiteral(StringBuilder source, String value) {
+        source.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                source.append("\\\"");
+                break;
+            case '\\':
+                source.append("\\\\");
+                break;
+            case '\n':
+                source.append("\\n");
+                break;
+            case '\r':
+                source.append("\\r");
+                break;
+            case '\t':
+                source.append("\\t");
+                break;
+            default:
+                if (c < 0x20 || c > 0x7E) {
+                    source.append(String.format("\\u%04x", (int) c));
+                } else {
+                    source.append(c);
+                }
+            }
+        }
+        source.append('"');
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.glassfish.logging.runtime.LogMessageDetails;
+
+/**
+ * The translations of a LogMessages resource bundle, the
+ * LogMessages_&lt;locale&gt;.properties files of a directory, flattened at
+ * build time: the catalog of a locale has every message, taken from the
+ * most specific translation of the locale chain, as ResourceBundle would
+ * resolve it, or from the bundle itself.
+ */
+final class TranslatedBundles {
+
+    private static final Pattern LOCALE_PATTERN = Pattern.compile("[a-z]{2,3}(_[A-Z]{2}|_[0-9]{3})?(_\\w+)?");
+
+    // The messages of every translation, by locale suffix.
+    private final SortedMap<String, Map<String, String>> translations = new TreeMap<String, Map<String, String>>();
+
+    private TranslatedBundles() {
+    }
+
+    /**
+     * Reads the translations of the bundle from the directory, which has
+     * the layout of the class path.
+     */
+    static TranslatedBundles read(Path directory, String bundleName) throws IOException {
+        TranslatedBundles bundles = new TranslatedBundles();
+        int lastDot = bundleName.lastIndexOf('.');
+        Path packageDir = lastDot < 0 ? directory
+                : directory.resolve(bundleName.substring(0, lastDot).replace('.', '/'));
+        String prefix = bundleName.substring(lastDot + 1) + "_";
+        if (!Files.isDirectory(packageDir)) {
+            return bundles;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(packageDir, prefix + "*.properties")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String locale = fileName.substring(prefix.length(), fileName.length() - ".properties".length());
+                if (LOCALE_PATTERN.matcher(locale).matches() && !fileName.contains(LogMessageDetails.DETAILS_SUFFIX)) {
+                    bundles.translations.put(locale, load(Files.readAllBytes(file)));
+                }
+            }
+        }
+        return bundles;
+    }
+
+    /**
+     * Returns the locales of the translations, as the suffixes of the files.
+     */
+    Collection<String> getLocales() {
+        return translations.keySet();
+    }
+
+    /**
+     * Returns the messages of the locale, every message of the bundle
+     * resolved along the chain of the locale.
+     * 
+     * @param locale the locale suffix
+     * @param entries the messages of the bundle
+     * @param missing receives the ids of the messages without translation
+     * @param invalid receives the ids of the translations which are not valid
+     *        patterns, the messages of the bundle are used instead
+     */
+    List<LogMessageEntry> flatten(String locale, Collection<LogMessageEntry> entries,
+            List<String> missing, List<String> invalid) {
+        List<Map<String, String>> chain = new ArrayList<Map<String, String>>();
+        for (String candidate = locale; candidate != null; candidate = getParent(candidate)) {
+            Map<String, String> messages = translations.get(candidate);
+            if (messages != null) {
+                chain.add(messages);
+            }
+        }
+        List<LogMessageEntry> result = new ArrayList<LogMessageEntry>(entries.size());
+        for (LogMessageEntry entry : entries) {
+            String message = null;
+            for (Map<String, String> messages : chain) {
+                message = messages.get(entry.getId());
+                if (message != null) {
+                    break;
+                }
+            }
+            if (message == null) {
+                missing.add(entry.getId());
+                message = entry.getMessage();
+            } else {
+                try {
+                    MessageFormatCompiler.validate(message);
+                } catch (IllegalArgumentException e) {
+                    invalid.add(entry.getId());
+                    message = entry.getMessage();
+                }
+            }
+            LogMessageEntry translated = new LogMessageEntry(entry.getId());
+            translated.setMessage(message);
+            translated.setLevel(entry.getLevel());
+            translated.setCause(entry.getCause());
+            translated.setAction(entry.getAction());
+            translated.setComment(entry.getComment());
+            translated.setPublish(entry.isPublish());
+            translated.setCode(entry.getCode());
+            result.add(translated);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ids of the translations of the locale which are not
+     * messages of the bundle.
+     */
+    List<String> getObsolete(String locale, Collection<LogMessageEntry> entries) {
+        Map<String, String> messages = new HashMap<String, String>(translations.get(locale));
+        for (LogMessageEntry entry : entries) {
+            messages.remove(entry.getId());
+        }
+        List<String> obsolete = new ArrayList<String>(messages.keySet());
+        obsolete.sort(null);
+        return obsolete;
+    }
+
+    /**
+     * Returns the parent of the locale suffix, de for de_CH, null for de.
+     */
+    private static String getParent(String locale) {
+        int lastUnderscore = locale.lastIndexOf('_');
+        return lastUnderscore < 0 ? null : locale.substring(0, lastUnderscore);
+    }
+
+    /**
+     * Reads the properties as PropertyResourceBundle does, in UTF-8 unless
+     * the content is not valid UTF-8, then in ISO-8859-1.
+     */
+    private static Map<String, String> load(byte[] content) throws IOException {
+        String text;
+        try {
+            text = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(ByteBuffer.wrap(content)).toString();
+        } catch (CharacterCodingException e) {
+            text = new String(content, StandardCharsets.ISO_8859_1);
+        }
+        Map<String, String> messages = new HashMap<String, String>();
+        new PropertiesReader(new StringReader(text)).read((key, value, comment) -> messages.put(key, value));
+        return messages;
+    }
+}
@@ -27,11 +27,18 @@ import java.lang.annotation.Target;
  * message: The message to log.
  * comment: A comment which appears above the message in the
  *          LogMessages.properties file.  Useful for localization.
- * level:   The log level.  (default: INFO)
+ * level:   The log level, the name of a java.util.logging level,
+ *          EMERGENCY or ALERT.  (default: INFO)
  * cause:   Describes what caused this message to be generated.
  * action:  Describes what the user/admin can do to resolve the problem.
  * publish: Boolean value indicates whether this log message should be
  *          published in the Error Reference guide. (default: true)
+ * maxRecords: The maximum number of records of this message logged per
+ *          interval, the others are suppressed and counted.
+ *          (default: 0, no limit)
+ * intervalSeconds: The interval of maxRecords, in seconds. (default: 60)
+ * sampleRatio: The ratio of the records of this message which are logged,
+ *          between 0 (excluded) and 1. (default: 1, all)
  *
  *  Example:
  *
@@ -41,9 +48,13 @@ import java.lang.annotation.Target;
  *              level = "WARNING",
  *              cause = "This describes the cause of the problem...",
  *              action = "This describes the action to fix the problem...",
- *              publish = false)
+ *              publish = false,
+ *              maxRecords = 100,
+ *              intervalSeconds = 60)
  *     private static final String EJB005 = "AS-EJB-00005";
  *
+ *  The limits are enforced by the RateLimitingHandler of the runtime.
+ *
  */
 
 
@@ -56,4 +67,7 @@ public @interface LogMessageInfo {
     String cause() default ""; 
     String action() default "";
     boolean publish() default true;
+    int maxRecords() default 0;
+    int intervalSeconds() default 60;
+    double sampleRatio() default 1.0;
 }
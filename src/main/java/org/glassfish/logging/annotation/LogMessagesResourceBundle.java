@@ -29,6 +29,11 @@ import java.lang.annotation.Target;
  *     @LogMessagesResourceBundle
  *     private static final String JMX_LOGGER_RB = "org.glassfish.admin.mbeanserver.LogMessages";
  *
+ *  A module may declare several resource bundles. The messages of a type
+ *  belong to the bundle declared by the type or by an enclosing type, else
+ *  to the bundle declared in its package or in the nearest enclosing package,
+ *  else to the only bundle of the module.
+ *
  */
 @Target({ElementType.FIELD})
 @Retention(RetentionPolicy.CLASS)
@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+import java.util.regex.Pattern;
+
+/**
+ * Decodes the files of the {@link BinaryLogHandler} to log records, with the
+ * messages resolved by the catalogs of their bundles, or by the merged
+ * catalog, found by a class loader. The messages which are not in a catalog
+ * are the message patterns themselves. A file which ends with a truncated
+ * record, after a crash, is decoded up to that record.
+ */
+public final class BinaryLogDecoder {
+
+    private static final Object NO_CATALOG = new Object();
+
+    private final ClassLoader loader;
+
+    private final Locale locale;
+
+    private final Map<String, Object> catalogs = new HashMap<String, Object>();
+
+    private MergedCatalog mergedCatalog;
+
+    private boolean mergedCatalogLoaded;
+
+    /**
+     * @param loader the class loader of the catalogs
+     * @param locale the locale of the messages, the catalog of the nearest
+     *        translation is used
+     */
+    public BinaryLogDecoder(ClassLoader loader, Locale locale) {
+        this.loader = loader;
+        this.locale = locale;
+    }
+
+    public static void main(String[] args) {
+        List<URL> classPath = new ArrayList<URL>();
+        List<Path> files = new ArrayList<Path>();
+        Locale locale = Locale.ROOT;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if ("-cp".equals(args[i]) && i + 1 < args.length) {
+                    for (String element : args[++i].split(Pattern.quote(File.pathSeparator))) {
+                        if (!element.isEmpty()) {
+                            classPath.add(Paths.get(element).toUri().toURL());
+                        }
+                    }
+                } else if ("-l".equals(args[i]) && i + 1 < args.length) {
+                    locale = Locale.forLanguageTag(args[++i]);
+                } else {
+                    files.add(Paths.get(args[i]));
+                }
+            }
+        } catch (MalformedURLException e) {
+            files.clear();
+        }
+        if (files.isEmpty()) {
+            System.err.println("Usage: BinaryLogDecoder [-cp catalogs] [-l locale] file...");
+            System.exit(2);
+        }
+        ClassLoader loader = new URLClassLoader(classPath.toArray(new URL[0]), BinaryLogDecoder.class.getClassLoader());
+        BinaryLogDecoder decoder = new BinaryLogDecoder(loader, locale);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        try {
+            for (Path file : files) {
+                decoder.decode(file, new SimpleFormatter(), out);
+            }
+            out.flush();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("ERROR: Unable to decode the log records: " + e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Writes the records of the file formatted by the formatter.
+     */
+    public void decode(Path file, Formatter formatter, Writer out) throws IOException {
+        try {
+            decode(file, record -> {
+                try {
+                    out.write(formatter.format(record));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Decodes the records of the file.
+     * 
+     * @throws IllegalArgumentException if the file is not a binary log
+     */
+    public void decode(Path file, Consumer<LogRecord> consumer) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            decode(in, consumer);
+        }
+    }
+
+    /**
+     * Decodes the records of the stream, written by a single handler.
+     * 
+     * @throws IllegalArgumentException if the stream is not a binary log
+     */
+    public void decode(InputStream in, Consumer<LogRecord> consumer) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+        try {
+            if (data.readInt() != BinaryLogHandler.MAGIC) {
+                throw new IllegalArgumentException("Not a binary log.");
+            }
+            int version = data.readInt();
+            if (version != BinaryLogHandler.VERSION) {
+                throw new IllegalArgumentException("Unsupported version of the binary log: " + version);
+            }
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Not a binary log.");
+        }
+        List<String> strings = new ArrayList<String>();
+        Map<String, Level> levels = new HashMap<String, Level>();
+        while (true) {
+            int tag = data.read();
+            if (tag < 0) {
+                return;
+            }
+            LogRecord record;
+            try {
+                if (tag == BinaryLogHandler.STRING_TAG) {
+                    strings.add(readString(data));
+                    continue;
+                } else if (tag != BinaryLogHandler.RECORD_TAG) {
+                    throw new IllegalArgumentException("Unknown entry " + tag + " of the binary log.");
+                }
+                record = readRecord(data, strings, levels);
+            } catch (EOFException e) {
+                // Truncated by a crash.
+                return;
+            }
+            consumer.accept(record);
+        }
+    }
+
+    private LogRecord readRecord(DataInputStream data, List<String> strings, Map<String, Level> levels)
+            throws IOException {
+        long nanos = data.readLong();
+        long levelReference = readVarLong(data);
+        int levelValue = (int) unZigZag(readVarLong(data));
+        long threadId = readVarLong(data);
+        long loggerReference = readVarLong(data);
+        long bundleReference = readVarLong(data);
+        long messageReference = readVarLong(data);
+        // The strings which are not referenced by number follow.
+        String levelName = getString(levelReference, data, strings);
+        String loggerName = getString(loggerReference, data, strings);
+        String bundleName = getString(bundleReference, data, strings);
+        String message = getString(messageReference, data, strings);
+        Level level = levels.computeIfAbsent(levelName + ' ' + levelValue, key -> getLevel(levelName, levelValue));
+        Object[] parameters = null;
+        int count = (int) readVarLong(data);
+        if (count > 0) {
+            parameters = new Object[count - 1];
+            for (int i = 0; i < parameters.length; i++) {
+                parameters[i] = readParameter(data);
+            }
+        }
+        String stackTrace = data.readByte() == 0 ? null : readString(data);
+
+        LogRecord record = new LogRecord(level, getMessage(bundleName, message));
+        record.setInstant(Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L)));
+        record.setLongThreadID(threadId);
+        record.setLoggerName(loggerName);
+        record.setResourceBundleName(bundleName);
+        record.setParameters(parameters);
+        if (stackTrace != null) {
+            record.setThrown(new DecodedThrowable(stackTrace));
+        }
+        // Not inferred from the stack of the decoder.
+        record.setSourceClassName(null);
+        record.setSourceMethodName(null);
+        return record;
+    }
+
+    private static Level getLevel(String name, int value) {
+        try {
+            Level level = LogLevels.parse(name);
+            if (level.intValue() == value) {
+                return level;
+            }
+        } catch (IllegalArgumentException e) {
+            // A custom level.
+        }
+        return new DecodedLevel(name, value);
+    }
+
+    /**
+     * Returns the message pattern of the id in the catalog of the bundle, the
+     * message itself if there is none.
+     */
+    private String getMessage(String bundleName, String message) throws IOException {
+        if (bundleName == null || message == null) {
+            return message;
+        }
+        Object catalog = catalogs.get(bundleName);
+        if (catalog == null) {
+            catalog = loadCatalog(bundleName);
+            catalogs.put(bundleName, catalog);
+        }
+        if (catalog == NO_CATALOG) {
+            return message;
+        }
+        String pattern = ((LogMessageCatalog) catalog).getMessage(message);
+        return pattern == null ? message : pattern;
+    }
+
+    private Object loadCatalog(String bundleName) throws IOException {
+        LogMessageCatalog catalog = LogMessageCatalog.load(bundleName, locale, loader);
+        if (catalog != null) {
+            return catalog;
+        }
+        if (!mergedCatalogLoaded) {
+            mergedCatalog = MergedCatalog.load(loader);
+            mergedCatalogLoaded = true;
+        }
+        if (mergedCatalog != null && mergedCatalog.getBundles().contains(bundleName)) {
+            List<String> locales = mergedCatalog.getLocales(bundleName);
+            for (String candidate : List.of(locale.toString(), locale.getLanguage())) {
+                if (locales.contains(candidate)) {
+                    return mergedCatalog.getCatalog(candidate);
+                }
+            }
+            return mergedCatalog.getCatalog();
+        }
+        return NO_CATALOG;
+    }
+
+    private static Object readParameter(DataInputStream data) throws IOException {
+        byte type = data.readByte();
+        switch (type) {
+        case BinaryLogHandler.NULL_PARAMETER:
+            return null;
+        case BinaryLogHandler.INT_PARAMETER:
+            return (int) unZigZag(readVarLong(data));
+        case BinaryLogHandler.LONG_PARAMETER:
+            return unZigZag(readVarLong(data));
+        case BinaryLogHandler.DOUBLE_PARAMETER:
+            return data.readDouble();
+        case BinaryLogHandler.FALSE_PARAMETER:
+            return Boolean.FALSE;
+        case BinaryLogHandler.TRUE_PARAMETER:
+            return Boolean.TRUE;
+        case BinaryLogHandler.STRING_PARAMETER:
+            return readString(data);
+        case BinaryLogHandler.DATE_PARAMETER:
+            return new Date(unZigZag(readVarLong(data)));
+        case BinaryLogHandler.INSTANT_PARAMETER:
+            long seconds = unZigZag(readVarLong(data));
+            return Instant.ofEpochSecond(seconds, readVarLong(data));
+        case BinaryLogHandler.BIG_INTEGER_PARAMETER:
+            return new BigInteger(readString(data));
+        case BinaryLogHandler.BIG_DECIMAL_PARAMETER:
+            return new BigDecimal(readString(data));
+        default:
+            throw new IllegalArgumentException("Unknown parameter type " + type + " of the binary log.");
+        }
+    }
+
+    private static String getString(long reference, DataInputStream data, List<String> strings) throws IOException {
+        if (reference == 0) {
+            return null;
+        }
+        if (reference == 1) {
+            return readString(data);
+        }
+        if (reference - 2 >= strings.size()) {
+            throw new IllegalArgumentException("Undefined string " + (reference - 2) + " of the binary log.");
+        }
+        return strings.get((int) (reference - 2));
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        long length = readVarLong(data);
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid string length " + length + " of the binary log.");
+        }
+        byte[] bytes = new byte[(int) length];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long readVarLong(DataInputStream data) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = data.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid number of the binary log.");
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class DecodedLevel extends Level {
+
+        private static final long serialVersionUID = 1L;
+
+        DecodedLevel(String name, int value) {
+            super(name, value);
+        }
+    }
+
+    /**
+     * The exception of a decoded record, printed as its recorded stack trace.
+     */
+    private static final class DecodedThrowable extends Throwable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String stackTrace;
+
+        DecodedThrowable(String stackTrace) {
+            super(stackTrace.lines().findFirst().orElse(""), null, false, false);
+            this.stackTrace = stackTrace;
+        }
+
+        @Override
+        public String toString() {
+            return getMessage();
+        }
+
+        @Override
+        public void printStackTrace(PrintStream out) {
+            out.print(stackTrace);
+        }
+
+        @Override
+        public void printStackTrace(PrintWriter out) {
+            out.print(stackTrace);
+        }
+    }
+}
@@ -0,0 +1,433 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+
+/**
+ * Handler writing the records to a file in a compact binary format, without
+ * formatting them: the message id or the message pattern, and the logger,
+ * bundle and level names, are written once and then referenced by number,
+ * the parameters are written with their type, so the decoded parameters are
+ * formatted like the original ones: the dates and the instants are written
+ * as their time since the epoch, the big integers and decimals as their
+ * strings, the other numbers as long or double values, like the number
+ * formats read them, and the other objects as their strings. The records
+ * are encoded in a buffer, written to the file when it is full, when the
+ * handler is flushed and after the records at or above the flush level. The
+ * {@link BinaryLogDecoder} renders the file as text with the catalogs of
+ * the messages.
+ * <p>
+ * The file starts with the magic number and the version, followed by the
+ * entries, every one starting with its tag:
+ * <ul>
+ * <li>{@value #STRING_TAG}: a string, the length and the UTF-8 bytes, which
+ * gets the next number, from 0;</li>
+ * <li>{@value #RECORD_TAG}: a record, the instant in nanoseconds since the
+ * epoch, the reference of the level name, the level value, the thread id,
+ * the references of the logger name, of the bundle name and of the message,
+ * the strings written in the record, the parameters and the stack trace of
+ * the thrown exception.</li>
+ * </ul>
+ * The integers are variable length, the references of the strings are 0 for
+ * null, 1 for a string written in the record, else the number of the string
+ * plus 2. The file is replaced when the handler is opened.
+ * <p>
+ * The handler created by the LogManager writes the file of the file property
+ * prefixed by the name of the class, {@value #DEFAULT_FILE} by default; its
+ * level is the level property, ALL by default, and its flush level the
+ * flushLevel property, SEVERE by default.
+ */
+public class BinaryLogHandler extends Handler {
+
+    static final int MAGIC = 0x4C474231;
+
+    static final int VERSION = 1;
+
+    static final byte STRING_TAG = 1;
+
+    static final byte RECORD_TAG = 2;
+
+    static final byte NULL_PARAMETER = 0;
+
+    static final byte INT_PARAMETER = 1;
+
+    static final byte LONG_PARAMETER = 2;
+
+    static final byte DOUBLE_PARAMETER = 3;
+
+    static final byte FALSE_PARAMETER = 4;
+
+    static final byte TRUE_PARAMETER = 5;
+
+    static final byte STRING_PARAMETER = 6;
+
+    static final byte DATE_PARAMETER = 7;
+
+    static final byte INSTANT_PARAMETER = 8;
+
+    static final byte BIG_INTEGER_PARAMETER = 9;
+
+    static final byte BIG_DECIMAL_PARAMETER = 10;
+
+    static final String DEFAULT_FILE = "server.lgb";
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Limit of the strings referenced by number, the other ones are written
+     * in the records, so the messages which are not patterns do not fill the
+     * memory.
+     */
+    static final int MAX_STRINGS = 1 << 16;
+
+    private final FileChannel channel;
+
+    private static final int MAX_VARINT_SIZE = 10;
+
+    private byte[] buffer;
+
+    private int position;
+
+    private final Map<String, Integer> strings = new HashMap<String, Integer>();
+
+    private final List<String> stringList = new ArrayList<String>();
+
+    private volatile Level flushLevel = Level.SEVERE;
+
+    private boolean closed;
+
+    /**
+     * Creates the handler configured by the LogManager properties.
+     */
+    public BinaryLogHandler() throws IOException {
+        this(Paths.get(getProperty("file", DEFAULT_FILE)), DEFAULT_BUFFER_SIZE);
+        String level = getProperty("level", null);
+        if (level != null) {
+            setLevel(LogLevels.parse(level));
+        }
+        String flushLevel = getProperty("flushLevel", null);
+        if (flushLevel != null) {
+            setFlushLevel(LogLevels.parse(flushLevel));
+        }
+    }
+
+    /**
+     * @param file the file of the records, replaced if it exists
+     * @param bufferSize the size of the buffer of the records
+     */
+    public BinaryLogHandler(Path file, int bufferSize) throws IOException {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("The buffer size is too small: " + bufferSize);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = new byte[bufferSize];
+        ByteBuffer.wrap(buffer).putInt(MAGIC).putInt(VERSION);
+        position = 8;
+    }
+
+    private static String getProperty(String name, String defaultValue) {
+        String value = LogManager.getLogManager().getProperty(BinaryLogHandler.class.getName() + "." + name);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Returns the level of the records after which the buffer is written.
+     */
+    public Level getFlushLevel() {
+        return flushLevel;
+    }
+
+    public void setFlushLevel(Level flushLevel) {
+        if (flushLevel == null) {
+            throw new NullPointerException();
+        }
+        this.flushLevel = flushLevel;
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (!isLoggable(record)) {
+            return;
+        }
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            try {
+                encode(record);
+                if (record.getLevel().intValue() >= flushLevel.intValue()) {
+                    writeBuffer();
+                }
+            } catch (IOException e) {
+                reportError("Unable to write the log record", e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+    /**
+     * Encodes the record in the buffer. When the buffer is full, the strings
+     * defined by the record are forgotten, the buffer is written and the
+     * record is encoded again, in a larger buffer if it is larger than the
+     * buffer.
+     */
+    private void encode(LogRecord record) throws IOException {
+        while (true) {
+            int start = position;
+            int definedStrings = stringList.size();
+            try {
+                putRecord(record);
+                return;
+            } catch (BufferOverflowException e) {
+                position = start;
+                while (stringList.size() > definedStrings) {
+                    strings.remove(stringList.remove(stringList.size() - 1));
+                }
+                if (start > 0) {
+                    writeBuffer();
+                } else {
+                    buffer = new byte[buffer.length * 2];
+                }
+            }
+        }
+    }
+
+    private void putRecord(LogRecord record) {
+        Level level = record.getLevel();
+        // The strings are defined before the record.
+        int levelName = getStringReference(level.getName());
+        int logger = getStringReference(record.getLoggerName());
+        int bundle = getStringReference(record.getResourceBundleName());
+        int message = getStringReference(record.getMessage());
+        ensureCapacity(1 + 8 + 5 * MAX_VARINT_SIZE);
+        buffer[position++] = RECORD_TAG;
+        Instant instant = record.getInstant();
+        putLong(instant.getEpochSecond() * 1_000_000_000L + instant.getNano());
+        putVarLong(levelName);
+        putVarLong(zigZag(level.intValue()));
+        putVarLong(record.getLongThreadID());
+        putVarLong(logger);
+        putVarLong(bundle);
+        putVarLong(message);
+        putInlineString(levelName, level.getName());
+        putInlineString(logger, record.getLoggerName());
+        putInlineString(bundle, record.getResourceBundleName());
+        putInlineString(message, record.getMessage());
+        Object[] parameters = record.getParameters();
+        ensureCapacity(MAX_VARINT_SIZE);
+        if (parameters == null) {
+            putVarLong(0);
+        } else {
+            putVarLong(parameters.length + 1);
+            for (Object parameter : parameters) {
+                putParameter(parameter);
+            }
+        }
+        Throwable thrown = record.getThrown();
+        ensureCapacity(1);
+        if (thrown == null) {
+            buffer[position++] = 0;
+        } else {
+            StringWriter stackTrace = new StringWriter();
+            try (PrintWriter writer = new PrintWriter(stackTrace)) {
+                thrown.printStackTrace(writer);
+            }
+            buffer[position++] = 1;
+            putString(stackTrace.toString());
+        }
+    }
+
+    private void putParameter(Object parameter) {
+        if (parameter instanceof String) {
+            ensureCapacity(1);
+            buffer[position++] = STRING_PARAMETER;
+            putString((String) parameter);
+            return;
+        } else if (parameter instanceof BigInteger || parameter instanceof BigDecimal) {
+            ensureCapacity(1);
+            buffer[position++] = parameter instanceof BigInteger ? BIG_INTEGER_PARAMETER : BIG_DECIMAL_PARAMETER;
+            putString(parameter.toString());
+            return;
+        }
+        ensureCapacity(1 + 2 * MAX_VARINT_SIZE);
+        if (parameter == null) {
+            buffer[position++] = NULL_PARAMETER;
+        } else if (parameter instanceof Integer || parameter instanceof Short || parameter instanceof Byte) {
+            buffer[position++] = INT_PARAMETER;
+            putVarLong(zigZag(((Number) parameter).intValue()));
+        } else if (parameter instanceof Long || parameter instanceof AtomicInteger || parameter instanceof AtomicLong) {
+            buffer[position++] = LONG_PARAMETER;
+            putVarLong(zigZag(((Number) parameter).longValue()));
+        } else if (parameter instanceof Number) {
+            buffer[position++] = DOUBLE_PARAMETER;
+            putLong(Double.doubleToRawLongBits(((Number) parameter).doubleValue()));
+        } else if (parameter instanceof Boolean) {
+            buffer[position++] = (Boolean) parameter ? TRUE_PARAMETER : FALSE_PARAMETER;
+        } else if (parameter instanceof Date) {
+            buffer[position++] = DATE_PARAMETER;
+            putVarLong(zigZag(((Date) parameter).getTime()));
+        } else if (parameter instanceof Instant) {
+            buffer[position++] = INSTANT_PARAMETER;
+            putVarLong(zigZag(((Instant) parameter).getEpochSecond()));
+            putVarLong(((Instant) parameter).getNano());
+        } else {
+            buffer[position++] = STRING_PARAMETER;
+            putString(parameter.toString());
+        }
+    }
+
+    /**
+     * Returns the number of the string plus 2, defines it if it is new, 1
+     * if the string is written in the record and 0 if it is null.
+     */
+    private int getStringReference(String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer index = strings.get(value);
+        if (index != null) {
+            return index + 2;
+        }
+        if (stringList.size() >= MAX_STRINGS) {
+            return 1;
+        }
+        ensureCapacity(1);
+        buffer[position++] = STRING_TAG;
+        putString(value);
+        strings.put(value, stringList.size());
+        stringList.add(value);
+        return stringList.size() + 1;
+    }
+
+    private void putInlineString(int reference, String value) {
+        if (reference == 1) {
+            putString(value);
+        }
+    }
+
+    private void putString(String value) {
+        int length = value.length();
+        // ASCII strings are copied as they are, after their length.
+        if (length < 128) {
+            ensureCapacity(1 + length);
+            int start = position;
+            buffer[position++] = (byte) length;
+            int i = 0;
+            for (; i < length; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                buffer[position++] = (byte) c;
+            }
+            if (i == length) {
+                return;
+            }
+            position = start;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(MAX_VARINT_SIZE + bytes.length);
+        putVarLong(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Puts the number, the capacity is ensured by the caller.
+     */
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void putLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (buffer.length - position < size) {
+            throw new BufferOverflowException();
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void writeBuffer() throws IOException {
+        ByteBuffer content = ByteBuffer.wrap(buffer, 0, position);
+        while (content.hasRemaining()) {
+            channel.write(content);
+        }
+        position = 0;
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            writeBuffer();
+        } catch (IOException e) {
+            reportError("Unable to write the log records", e, ErrorManager.FLUSH_FAILURE);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            reportError("Unable to close the log file", e, ErrorManager.CLOSE_FAILURE);
+        }
+    }
+}
@@ -0,0 +1,476 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * Read-only view of the binary message catalog generated by the logging
+ * annotation processor next to the LogMessages resource bundle. The file is
+ * memory mapped when possible, the messages are resolved by the minimal
+ * perfect hash of the ids computed at build time (or by a binary search of
+ * the sorted id table if the catalog has no hash) and only the requested
+ * strings are decoded, so the catalog is never materialized on the heap.
+ * <p>
+ * The format, all integers are big endian:
+ * <pre>
+ * header:  magic, version, entry count, entry table offset, pool offset, pool size,
+ *          hash offset, bucket count, code table offset, code count
+ * entries: id, message, level, cause, action, comment, flags, format, code,
+ *          max records, interval seconds, sample ratio (float bits)
+ *          one record per message sorted by the UTF-8 bytes of the id,
+ *          the strings are offsets in the pool, -1 when absent
+ * hash:    the displacement of every bucket, then the entry of every slot,
+ *          see {@link PerfectHash}, absent when the hash offset is 0
+ * codes:   the entry of every code, -1 for the codes of removed messages
+ * pool:    strings as a variable length byte count followed by the UTF-8
+ *          bytes, every distinct string is stored once
+ * </pre>
+ * The format of a message is its compiled pattern, stored in the pool as
+ * a byte count followed by variable length integers: the number of
+ * argument slots, then the offset of each literal segment followed by the
+ * argument number of the slot after it. It is absent for the patterns
+ * which are left to MessageFormat.
+ * <p>
+ * The code of a message is a dense number assigned by the processor,
+ * which keeps it across builds, so it can be carried instead of the id and
+ * index per message state in arrays of {@link #getCodeCount()} elements.
+ * <p>
+ * Instances are safe for unsynchronized use by multiple threads: the hash
+ * tables are immutable and the decoded ids, messages and compiled patterns
+ * are cached in arrays with benign races, as the cached objects are
+ * immutable.
+ */
+public final class BinaryLogMessageCatalog implements LogMessageCatalog {
+
+    /** Extension of the catalog file, its name is the one of the bundle. */
+    public static final String FILE_EXTENSION = ".catalog";
+
+    /** First bytes of the file, "LMC1". */
+    public static final int MAGIC = 0x4C4D4331;
+
+    public static final int VERSION = 5;
+
+    public static final int HEADER_SIZE = 40;
+
+    public static final int ID = 0;
+    public static final int MESSAGE = 1;
+    public static final int LEVEL = 2;
+    public static final int CAUSE = 3;
+    public static final int ACTION = 4;
+    public static final int COMMENT = 5;
+    public static final int FLAGS = 6;
+    public static final int FORMAT = 7;
+    public static final int CODE = 8;
+    public static final int MAX_RECORDS = 9;
+    public static final int INTERVAL_SECONDS = 10;
+    public static final int SAMPLE_RATIO = 11;
+
+    /** Number of integers in an entry record. */
+    public static final int RECORD_FIELDS = 12;
+
+    /** Flag set in the entries of published messages. */
+    public static final int FLAG_PUBLISH = 1;
+
+    private final ByteBuffer buffer;
+
+    private final int size;
+
+    private final int entriesOffset;
+
+    private final int poolOffset;
+
+    private final int poolSize;
+
+    private final int[] displacements;
+
+    private final int[] slots;
+
+    private final int[] codes;
+
+    private final String[] ids;
+
+    private final String[] messages;
+
+    private final CompiledMessage[] compiledMessages;
+
+    private BinaryLogMessageCatalog(ByteBuffer buffer) {
+        this.buffer = buffer.asReadOnlyBuffer().order(ByteOrder.BIG_ENDIAN);
+        if (this.buffer.limit() < HEADER_SIZE || this.buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a log message catalog.");
+        }
+        if (this.buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported log message catalog version: "
+                    + this.buffer.getInt(4));
+        }
+        size = this.buffer.getInt(8);
+        entriesOffset = this.buffer.getInt(12);
+        poolOffset = this.buffer.getInt(16);
+        poolSize = this.buffer.getInt(20);
+        int hashOffset = this.buffer.getInt(24);
+        int buckets = this.buffer.getInt(28);
+        int codesOffset = this.buffer.getInt(32);
+        int codeCount = this.buffer.getInt(36);
+        long entriesEnd = (long) entriesOffset + (long) size * RECORD_FIELDS * 4;
+        if (size < 0 || entriesOffset < HEADER_SIZE || entriesEnd > poolOffset
+                || poolSize < 0 || (long) poolOffset + poolSize > this.buffer.limit()
+                || (hashOffset != 0 && (hashOffset < entriesEnd || buckets <= 0
+                        || (long) hashOffset + ((long) buckets + size) * 4 > poolOffset))
+                || codeCount < 0 || codesOffset < entriesEnd
+                || (long) codesOffset + (long) codeCount * 4 > poolOffset) {
+            throw new IllegalArgumentException("Corrupted log message catalog.");
+        }
+        codes = new int[codeCount];
+        this.buffer.asIntBuffer().get(codesOffset / 4, codes);
+        if (hashOffset == 0 || size == 0) {
+            displacements = null;
+            slots = null;
+        } else {
+            displacements = new int[buckets];
+            this.buffer.asIntBuffer().get(hashOffset / 4, displacements);
+            slots = new int[size];
+            this.buffer.asIntBuffer().get(hashOffset / 4 + buckets, slots);
+        }
+        ids = new String[size];
+        messages = new String[size];
+        compiledMessages = new CompiledMessage[size];
+    }
+
+    /**
+     * Returns the catalog in the buffer, which is not copied.
+     */
+    public static BinaryLogMessageCatalog wrap(ByteBuffer buffer) {
+        return new BinaryLogMessageCatalog(buffer);
+    }
+
+    /**
+     * Memory maps the catalog file.
+     */
+    public static BinaryLogMessageCatalog map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new BinaryLogMessageCatalog(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads the catalog from the stream, used when the catalog is not a file,
+     * for example when it is packaged in a jar.
+     */
+    public static BinaryLogMessageCatalog read(InputStream in) throws IOException {
+        return new BinaryLogMessageCatalog(ByteBuffer.wrap(in.readAllBytes()));
+    }
+
+    /**
+     * Loads the catalog of the resource bundle.
+     * 
+     * @param bundleName the name of the LogMessages resource bundle
+     * @param loader the class loader of the bundle
+     * @return the catalog, null if the bundle has none
+     */
+    public static BinaryLogMessageCatalog load(String bundleName, ClassLoader loader) throws IOException {
+        URL url = loader.getResource(bundleName.replace('.', '/') + FILE_EXTENSION);
+        if (url == null) {
+            return null;
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return map(Paths.get(url.toURI()));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // Not a plain file path, read it as a stream.
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Loads the catalog of the locale, the one of the most specific locale of
+     * the candidates of the locale, in the order of ResourceBundle. The
+     * catalogs of the translations are complete, the lookups do not walk the
+     * chain of the locale.
+     * 
+     * @param bundleName the name of the LogMessages resource bundle
+     * @param locale the locale
+     * @param loader the class loader of the bundle
+     * @return the catalog, null if the bundle has none
+     */
+    public static BinaryLogMessageCatalog load(String bundleName, Locale locale, ClassLoader loader)
+            throws IOException {
+        ResourceBundle.Control control = ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_DEFAULT);
+        for (Locale candidate : control.getCandidateLocales(bundleName, locale)) {
+            BinaryLogMessageCatalog catalog = load(control.toBundleName(bundleName, candidate), loader);
+            if (catalog != null) {
+                return catalog;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the id of the message at the index, the ids are sorted.
+     */
+    public String getId(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        String id = ids[index];
+        if (id == null) {
+            id = getString(index, ID);
+            ids[index] = id;
+        }
+        return id;
+    }
+
+    /**
+     * Returns the index of the message, negative if there is no message with
+     * the id.
+     */
+    public int indexOf(String id) {
+        if (slots != null) {
+            int hashCode = id.hashCode();
+            int displacement = displacements[PerfectHash.bucket(hashCode, displacements.length)];
+            int index = slots[PerfectHash.slot(hashCode, displacement, slots.length)];
+            // The ids which are not in the catalog are sent to any slot.
+            return id.equals(getId(index)) ? index : -1;
+        }
+        return binarySearch(id);
+    }
+
+    private int binarySearch(String id) {
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int cmp = compare(getField(middle, ID), key);
+            if (cmp < 0) {
+                low = middle + 1;
+            } else if (cmp > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    @Override
+    public int getCode(String id) {
+        int index = indexOf(id);
+        return index < 0 ? -1 : getField(index, CODE);
+    }
+
+    @Override
+    public String getIdByCode(int code) {
+        if (code < 0 || code >= codes.length || codes[code] < 0) {
+            return null;
+        }
+        return getId(codes[code]);
+    }
+
+    @Override
+    public int getCodeCount() {
+        return codes.length;
+    }
+
+    @Override
+    public RateLimit getRateLimit(String id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return null;
+        }
+        int maxRecords = getField(index, MAX_RECORDS);
+        float sampleRatio = Float.intBitsToFloat(getField(index, SAMPLE_RATIO));
+        if (maxRecords <= 0 && sampleRatio >= 1.0f) {
+            return null;
+        }
+        return new RateLimit(maxRecords, getField(index, INTERVAL_SECONDS), sampleRatio);
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return indexOf(id) >= 0;
+    }
+
+    @Override
+    public String getMessage(String id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return null;
+        }
+        String message = messages[index];
+        if (message == null) {
+            message = getString(index, MESSAGE);
+            messages[index] = message;
+        }
+        return message;
+    }
+
+    @Override
+    public String getLevel(String id) {
+        return getString(id, LEVEL);
+    }
+
+    @Override
+    public String getCause(String id) {
+        return getString(id, CAUSE);
+    }
+
+    @Override
+    public String getAction(String id) {
+        return getString(id, ACTION);
+    }
+
+    @Override
+    public String getComment(String id) {
+        return getString(id, COMMENT);
+    }
+
+    @Override
+    public boolean isPublished(String id) {
+        int index = indexOf(id);
+        return index >= 0 && (getField(index, FLAGS) & FLAG_PUBLISH) != 0;
+    }
+
+    @Override
+    public CompiledMessage getCompiledMessage(String id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return null;
+        }
+        CompiledMessage compiledMessage = compiledMessages[index];
+        if (compiledMessage == null) {
+            compiledMessage = decodeCompiledMessage(index);
+            compiledMessages[index] = compiledMessage;
+        }
+        return compiledMessage;
+    }
+
+    private CompiledMessage decodeCompiledMessage(int index) {
+        int offset = getField(index, FORMAT);
+        if (offset < 0) {
+            return null;
+        }
+        int[] position = {poolOffset + offset};
+        position[0] += getLengthSize(getLength(position[0]));
+        int slots = readVarInt(position);
+        String[] literals = new String[slots + 1];
+        int[] arguments = new int[slots];
+        for (int slot = 0; slot <= slots; slot++) {
+            literals[slot] = getPoolString(readVarInt(position));
+            if (slot < slots) {
+                arguments[slot] = readVarInt(position);
+            }
+        }
+        return new CompiledMessage(literals, arguments);
+    }
+
+    private String getString(String id, int field) {
+        int index = indexOf(id);
+        return index < 0 ? null : getString(index, field);
+    }
+
+    private String getString(int index, int field) {
+        int offset = getField(index, field);
+        return offset < 0 ? null : getPoolString(offset);
+    }
+
+    private String getPoolString(int offset) {
+        int position = poolOffset + offset;
+        int length = getLength(position);
+        byte[] bytes = new byte[length];
+        buffer.get(position + getLengthSize(length), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int getField(int index, int field) {
+        return buffer.getInt(entriesOffset + (index * RECORD_FIELDS + field) * 4);
+    }
+
+    /**
+     * Compares the pool string at the offset with the key, byte by byte as
+     * unsigned values, the order the ids are sorted by.
+     */
+    private int compare(int offset, byte[] key) {
+        int position = poolOffset + offset;
+        int length = getLength(position);
+        position += getLengthSize(length);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = (buffer.get(position + i) & 0xFF) - (key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - key.length;
+    }
+
+    /**
+     * Decodes the variable length integer at the position and moves the
+     * position after it.
+     */
+    private int readVarInt(int[] position) {
+        int value = getLength(position[0]);
+        position[0] += getLengthSize(value);
+        return value;
+    }
+
+    /**
+     * Decodes the byte count of the pool string at the position, seven bits
+     * per byte, least significant first, the high bit set on all the bytes
+     * but the last.
+     */
+    private int getLength(int position) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(position++);
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return length;
+    }
+
+    /**
+     * Returns the number of bytes of the encoded byte count.
+     */
+    private static int getLengthSize(int length) {
+        int size = 1;
+        while ((length >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.text.DateFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A log message pattern split at build time into literal segments and
+ * argument slots, rendered the way {@link java.text.MessageFormat} renders
+ * the simple arguments, such as {0}, without parsing the pattern. The
+ * patterns using format types, such as {0,number,#.##}, are not compiled.
+ * <p>
+ * Instances are immutable and safe for use by multiple threads.
+ */
+public final class CompiledMessage {
+
+    private static final Map<Locale, Boolean> ASCII_DIGITS = new ConcurrentHashMap<Locale, Boolean>();
+
+    private final String[] literals;
+
+    private final int[] arguments;
+
+    private final int literalsLength;
+
+    /**
+     * @param literals the literal segments, one more than the arguments
+     * @param arguments the argument numbers of the slots, the slot i is
+     *        between the literals i and i + 1
+     */
+    public CompiledMessage(String[] literals, int[] arguments) {
+        if (literals.length != arguments.length + 1) {
+            throw new IllegalArgumentException("Expected " + (arguments.length + 1) + " literals.");
+        }
+        this.literals = literals.clone();
+        this.arguments = arguments.clone();
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalsLength = length;
+    }
+
+    public int getArgumentCount() {
+        return arguments.length;
+    }
+
+    public int getArgument(int slot) {
+        return arguments[slot];
+    }
+
+    public String getLiteral(int index) {
+        return literals[index];
+    }
+
+    /**
+     * Formats the message in the default format locale, as MessageFormat
+     * does.
+     */
+    public String format(Object[] parameters) {
+        return format(parameters, Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    public String format(Object[] parameters, Locale locale) {
+        StringBuilder result = new StringBuilder(literalsLength + arguments.length * 16);
+        formatTo(result, parameters, locale);
+        return result.toString();
+    }
+
+    public void formatTo(StringBuilder result, Object[] parameters, Locale locale) {
+        for (int slot = 0; slot < arguments.length; slot++) {
+            result.append(literals[slot]);
+            int argument = arguments[slot];
+            if (parameters == null || argument >= parameters.length) {
+                result.append('{').append(argument).append('}');
+            } else {
+                appendArgument(result, parameters[argument], locale);
+            }
+        }
+        result.append(literals[arguments.length]);
+    }
+
+    private static void appendArgument(StringBuilder result, Object value, Locale locale) {
+        if (value == null) {
+            result.append("null");
+        } else if (value instanceof String) {
+            result.append((String) value);
+        } else if (value instanceof Number) {
+            if (isSmallInteger(value) && hasAsciiDigits(locale)) {
+                // No grouping, no locale specific digits.
+                result.append(((Number) value).intValue());
+            } else {
+                result.append(NumberFormat.getInstance(locale).format(value));
+            }
+        } else if (value instanceof Date) {
+            result.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(value));
+        } else {
+            String text = value.toString();
+            result.append(text == null ? "null" : text);
+        }
+    }
+
+    private static boolean isSmallInteger(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            long number = ((Number) value).longValue();
+            return number >= 0 && number < 1000;
+        }
+        return false;
+    }
+
+    private static boolean hasAsciiDigits(Locale locale) {
+        Boolean ascii = ASCII_DIGITS.get(locale);
+        if (ascii == null) {
+            ascii = DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0';
+            ASCII_DIGITS.put(locale, ascii);
+        }
+        return ascii;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder pattern = new StringBuilder();
+        for (int slot = 0; slot < arguments.length; slot++) {
+            pattern.append(literals[slot]).append('{').append(arguments[slot]).append('}');
+        }
+        return pattern.append(literals[arguments.length]).toString();
+    }
+}
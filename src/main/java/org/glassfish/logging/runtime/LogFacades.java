@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Support of the logging facades generated by the logging annotation
+ * processor. The facades check the level of a message before calling this
+ * class, which builds the record the way {@link Logger#log(Level, String, Object[])}
+ * does and records the caller of the facade as the source of the record.
+ */
+public final class LogFacades {
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private LogFacades() {
+    }
+
+    /**
+     * Logs the message, the level is already checked by the caller.
+     * 
+     * @param logger the logger
+     * @param facade the class of the facade, skipped when looking for the caller
+     * @param level the level of the message
+     * @param id the id of the message
+     * @param thrown the throwable of the record, null if none
+     * @param parameters the parameters of the message, null if none
+     */
+    public static void log(Logger logger, Class<?> facade, Level level, String id, Throwable thrown,
+            Object[] parameters) {
+        LogRecord record = new LogRecord(level, id);
+        record.setLoggerName(logger.getName());
+        // The bundle of the logger or of the nearest parent which has one.
+        for (Logger target = logger; target != null; target = target.getParent()) {
+            if (target.getResourceBundleName() != null) {
+                record.setResourceBundle(target.getResourceBundle());
+                record.setResourceBundleName(target.getResourceBundleName());
+                break;
+            }
+        }
+        record.setParameters(parameters);
+        record.setThrown(thrown);
+        String facadeName = facade.getName();
+        Optional<StackWalker.StackFrame> caller = STACK_WALKER.walk(frames -> frames
+                .dropWhile(frame -> !frame.getClassName().equals(facadeName))
+                .dropWhile(frame -> frame.getClassName().equals(facadeName))
+                .findFirst());
+        if (caller.isPresent()) {
+            record.setSourceClassName(caller.get().getClassName());
+            record.setSourceMethodName(caller.get().getMethodName());
+        }
+        logger.log(record);
+    }
+}
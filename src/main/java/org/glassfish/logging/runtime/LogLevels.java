@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.util.logging.Level;
+
+/**
+ * The levels of the log messages, the java.util.logging levels and the
+ * GlassFish EMERGENCY and ALERT levels, above SEVERE, with the values of the
+ * org.glassfish.api.logging.LogLevel of the server.
+ */
+public final class LogLevels {
+
+    public static final Level EMERGENCY = new GlassFishLevel("EMERGENCY", 1200);
+
+    public static final Level ALERT = new GlassFishLevel("ALERT", 1100);
+
+    private LogLevels() {
+    }
+
+    /**
+     * Returns the level of the name, as {@link Level#parse(String)} does,
+     * including EMERGENCY and ALERT.
+     * 
+     * @throws IllegalArgumentException if the level is not known
+     */
+    public static Level parse(String name) {
+        if (EMERGENCY.getName().equals(name)) {
+            return EMERGENCY;
+        }
+        if (ALERT.getName().equals(name)) {
+            return ALERT;
+        }
+        return Level.parse(name);
+    }
+
+    private static final class GlassFishLevel extends Level {
+
+        private static final long serialVersionUID = 1L;
+
+        GlassFishLevel(String name, int value) {
+            super(name, value);
+        }
+    }
+}
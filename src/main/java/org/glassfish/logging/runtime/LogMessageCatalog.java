@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Log messages of a LogMessages resource bundle, resolved by their ids.
+ * The set of ids is closed at build time; the implementations are
+ * immutable and safe for unsynchronized use by multiple threads.
+ */
+public interface LogMessageCatalog {
+
+    /**
+     * Returns the number of messages.
+     */
+    int size();
+
+    boolean contains(String id);
+
+    /**
+     * Returns the numeric code of the message, -1 if not found.
+     */
+    int getCode(String id);
+
+    /**
+     * Returns the id of the message with the code, null if not found.
+     */
+    String getIdByCode(int code);
+
+    /**
+     * Returns the highest code plus one, the codes are dense.
+     */
+    int getCodeCount();
+
+    /**
+     * Returns the message pattern of the id, null if not found.
+     */
+    String getMessage(String id);
+
+    /**
+     * Returns the compiled message pattern of the id, null if not found or
+     * if the pattern is left to MessageFormat.
+     */
+    CompiledMessage getCompiledMessage(String id);
+
+    String getLevel(String id);
+
+    String getCause(String id);
+
+    String getAction(String id);
+
+    String getComment(String id);
+
+    boolean isPublished(String id);
+
+    /**
+     * Returns the rate limit of the message, null if not found or if the
+     * records of the message are neither limited nor sampled.
+     */
+    RateLimit getRateLimit(String id);
+
+    /**
+     * Loads the catalog generated for the resource bundle.
+     * 
+     * @param bundleName the name of the LogMessages resource bundle
+     * @param loader the class loader of the bundle
+     * @return the catalog, null if the bundle has none
+     */
+    static LogMessageCatalog load(String bundleName, ClassLoader loader) throws IOException {
+        return BinaryLogMessageCatalog.load(bundleName, loader);
+    }
+
+    /**
+     * Loads the catalog generated for the translation of the resource bundle
+     * to the locale, or for its nearest fallback.
+     * 
+     * @param bundleName the name of the LogMessages resource bundle
+     * @param locale the locale
+     * @param loader the class loader of the bundle
+     * @return the catalog, null if the bundle has none
+     */
+    static LogMessageCatalog load(String bundleName, Locale locale, ClassLoader loader) throws IOException {
+        return BinaryLogMessageCatalog.load(bundleName, locale, loader);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.ErrorManager;
+
+/**
+ * The catalogs of the bundles of the log records, shared by the formatters
+ * and the handlers of the runtime. The catalogs are loaded once per class
+ * loader and bundle, the bundles without catalog in a class loader are
+ * remembered too, so a lookup from another class loader, the context loader
+ * of another thread or of a redeployed application, is not answered by the
+ * lookups of the other ones. The class loaders are weakly referenced. The
+ * catalogs which cannot be read are reported to the standard error, once per
+ * class loader.
+ */
+final class LogMessageCatalogs {
+
+    private static final Object NO_CATALOG = new Object();
+
+    /** The registered catalogs, by bundle name, for all the class loaders. */
+    private static final Map<String, LogMessageCatalog> REGISTERED = new ConcurrentHashMap<String, LogMessageCatalog>();
+
+    /** The catalogs found in each class loader, or NO_CATALOG. */
+    private static final Map<ClassLoader, Map<String, Object>> CATALOGS =
+            new WeakHashMap<ClassLoader, Map<String, Object>>();
+
+    private LogMessageCatalogs() {
+    }
+
+    static void register(String bundleName, LogMessageCatalog catalog) {
+        REGISTERED.put(bundleName, catalog);
+    }
+
+    /**
+     * Returns the catalog of the locale of the bundle exactly, a translation
+     * without catalog has none. The catalog is searched in the class loader
+     * of the bundle, else of the thread, else the system one; the class
+     * loader of the bundles of the JDK, the PropertyResourceBundle of the
+     * properties files for instance, is not known.
+     * 
+     * @param bundleName the name of the bundle of the record
+     * @param locale the locale of the bundle
+     * @param bundle the bundle of the record, used to find its class loader,
+     *        may be null
+     * @return the catalog, null if there is none
+     */
+    static LogMessageCatalog get(String bundleName, Locale locale, ResourceBundle bundle) {
+        String localeBundleName = locale.equals(Locale.ROOT) ? bundleName
+                : ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_DEFAULT).toBundleName(bundleName, locale);
+        LogMessageCatalog registered = REGISTERED.get(localeBundleName);
+        if (registered != null) {
+            return registered;
+        }
+        ClassLoader bundleLoader = bundle == null ? null : bundle.getClass().getClassLoader();
+        ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+        ClassLoader systemLoader = ClassLoader.getSystemClassLoader();
+        Object catalog = get(localeBundleName, bundleLoader);
+        if (catalog == NO_CATALOG && contextLoader != bundleLoader) {
+            catalog = get(localeBundleName, contextLoader);
+        }
+        if (catalog == NO_CATALOG && systemLoader != bundleLoader && systemLoader != contextLoader) {
+            catalog = get(localeBundleName, systemLoader);
+        }
+        return catalog == NO_CATALOG ? null : (LogMessageCatalog) catalog;
+    }
+
+    private static Object get(String bundleName, ClassLoader loader) {
+        if (loader == null) {
+            return NO_CATALOG;
+        }
+        Map<String, Object> catalogs;
+        synchronized (CATALOGS) {
+            catalogs = CATALOGS.computeIfAbsent(loader, key -> new ConcurrentHashMap<String, Object>());
+        }
+        Object catalog = catalogs.get(bundleName);
+        if (catalog == null) {
+            catalog = load(bundleName, loader);
+            Object previous = catalogs.putIfAbsent(bundleName, catalog);
+            catalog = previous == null ? catalog : previous;
+        }
+        return catalog;
+    }
+
+    /**
+     * Loads the catalog from the class loader, NO_CATALOG if it has none or
+     * if it cannot be read.
+     */
+    private static Object load(String bundleName, ClassLoader loader) {
+        try {
+            LogMessageCatalog catalog = LogMessageCatalog.load(bundleName, loader);
+            if (catalog != null) {
+                return catalog;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // A new ErrorManager reports its first error.
+            new ErrorManager().error("Unable to read the catalog of the bundle " + bundleName + " of " + loader,
+                    e, ErrorManager.OPEN_FAILURE);
+        }
+        return NO_CATALOG;
+    }
+}
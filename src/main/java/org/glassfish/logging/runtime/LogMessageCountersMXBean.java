@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link MessageCountingHandler}, the number
+ * of records of every log message and of every level.
+ */
+public interface LogMessageCountersMXBean {
+
+    /**
+     * Returns the number of records of the messages which were logged, by
+     * message id.
+     */
+    Map<String, Long> getMessageCounts();
+
+    /**
+     * Returns the number of records by level name.
+     */
+    Map<String, Long> getLevelCounts();
+
+    /**
+     * Returns the number of records which are not messages of a catalog.
+     */
+    long getUnknownMessageCount();
+
+    /**
+     * Returns the number of records of the message.
+     */
+    long getCount(String id);
+
+    /**
+     * Resets all the counters.
+     */
+    void reset();
+}
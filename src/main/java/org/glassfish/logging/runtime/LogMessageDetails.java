@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ * Lazy access to the details of the log messages, the cause, action,
+ * comment and level stored in the _details properties file of the
+ * LogMessages resource bundle. The processor generates an index of the
+ * details file next to it, with the position of the properties of every
+ * message in the file, so the details of a message are read with a single
+ * positioned read and the details file is never loaded as a whole. The
+ * entries of the jars cannot be read at a position, the details file of a
+ * jar is read once, when the details of a message are first read, and kept
+ * in the heap rather than inflated again for every message.
+ * <p>
+ * The format of the index, all integers are big endian:
+ * <pre>
+ * header:  magic, version, flags, entry count, hash offset, bucket count,
+ *          pool offset, pool size
+ * entries: id, offset, length
+ *          one record per message in the order of the details file, the id
+ *          is an offset in the pool, the offset and the length are the
+ *          position of the properties of the message in the details file
+ * hash:    the displacement of every bucket, then the entry of every slot,
+ *          see {@link PerfectHash}, absent when the hash offset is 0, the
+ *          entries are then scanned
+ * pool:    the ids as a variable length byte count followed by the UTF-8
+ *          bytes
+ * </pre>
+ * Instances are safe for use by multiple threads. The details of the
+ * messages are not cached, they are only needed for the rare records
+ * which are reported with their cause and action.
+ */
+public final class LogMessageDetails implements Closeable {
+
+    /** Extension of the index file, its name is the one of the details file. */
+    public static final String FILE_EXTENSION = ".index";
+
+    /** Suffix of the name of the details file, after the bundle name. */
+    public static final String DETAILS_SUFFIX = "_details";
+
+    /** First bytes of the file, "LMD1". */
+    public static final int MAGIC = 0x4C4D4431;
+
+    public static final int VERSION = 1;
+
+    public static final int HEADER_SIZE = 32;
+
+    /** Number of integers in an entry record. */
+    public static final int RECORD_FIELDS = 3;
+
+    /** Flag set when the details file is encoded in UTF-8 rather than ISO-8859-1. */
+    public static final int FLAG_UTF8 = 1;
+
+    private static final String[] SUFFIXES = {".level", ".cause", ".action", ".comment", ".publish"};
+
+    private final ByteBuffer index;
+
+    private final int size;
+
+    private final int poolOffset;
+
+    private final int[] displacements;
+
+    private final int[] slots;
+
+    private final Charset charset;
+
+    private final FileChannel channel;
+
+    private final URL details;
+
+    /** The content of the details file of a jar, read once. */
+    private volatile byte[] detailsContent;
+
+    private LogMessageDetails(ByteBuffer index, FileChannel channel, URL details) {
+        this.index = index.asReadOnlyBuffer().order(ByteOrder.BIG_ENDIAN);
+        this.channel = channel;
+        this.details = details;
+        if (this.index.limit() < HEADER_SIZE || this.index.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a log message details index.");
+        }
+        if (this.index.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported log message details index version: "
+                    + this.index.getInt(4));
+        }
+        charset = (this.index.getInt(8) & FLAG_UTF8) != 0 ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1;
+        size = this.index.getInt(12);
+        int hashOffset = this.index.getInt(16);
+        int buckets = this.index.getInt(20);
+        poolOffset = this.index.getInt(24);
+        int poolSize = this.index.getInt(28);
+        long entriesEnd = HEADER_SIZE + (long) size * RECORD_FIELDS * 4;
+        if (size < 0 || entriesEnd > poolOffset || poolSize < 0
+                || (long) poolOffset + poolSize > this.index.limit()
+                || (hashOffset != 0 && (hashOffset < entriesEnd || buckets <= 0
+                        || (long) hashOffset + ((long) buckets + size) * 4 > poolOffset))) {
+            throw new IllegalArgumentException("Corrupted log message details index.");
+        }
+        if (hashOffset == 0 || size == 0) {
+            displacements = null;
+            slots = null;
+        } else {
+            displacements = new int[buckets];
+            this.index.asIntBuffer().get(hashOffset / 4, displacements);
+            slots = new int[size];
+            this.index.asIntBuffer().get(hashOffset / 4 + buckets, slots);
+        }
+    }
+
+    /**
+     * Opens the details file with its index, the index is read and the
+     * details file is kept open until the instance is closed.
+     */
+    public static LogMessageDetails open(Path index, Path details) throws IOException {
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(index));
+        FileChannel channel = FileChannel.open(details, StandardOpenOption.READ);
+        try {
+            return new LogMessageDetails(content, channel, null);
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Loads the details of the messages of the resource bundle.
+     * 
+     * @param bundleName the name of the LogMessages resource bundle
+     * @param loader the class loader of the bundle
+     * @return the details, null if the bundle has no details or no index
+     */
+    public static LogMessageDetails load(String bundleName, ClassLoader loader) throws IOException {
+        String name = bundleName.replace('.', '/') + DETAILS_SUFFIX;
+        URL indexUrl = loader.getResource(name + FILE_EXTENSION);
+        URL detailsUrl = loader.getResource(name + ".properties");
+        if (indexUrl == null || detailsUrl == null) {
+            return null;
+        }
+        if ("file".equals(indexUrl.getProtocol()) && "file".equals(detailsUrl.getProtocol())) {
+            try {
+                return open(Paths.get(indexUrl.toURI()), Paths.get(detailsUrl.toURI()));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // Not plain file paths, read them as streams.
+            }
+        }
+        try (InputStream in = indexUrl.openStream()) {
+            return new LogMessageDetails(ByteBuffer.wrap(in.readAllBytes()), null, detailsUrl);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(String id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * Reads the details of the message.
+     * 
+     * @return the details, null if there is no message with the id
+     */
+    public Details get(String id) throws IOException {
+        int index = indexOf(id);
+        if (index < 0) {
+            return null;
+        }
+        int offset = getField(index, 1);
+        int length = getField(index, 2);
+        ByteBuffer block = ByteBuffer.allocate(length);
+        if (channel != null) {
+            while (block.hasRemaining()) {
+                if (channel.read(block, offset + block.position()) < 0) {
+                    throw new IOException("The details file of the message " + id + " is truncated.");
+                }
+            }
+        } else {
+            byte[] content = getDetailsContent();
+            if ((long) offset + length > content.length) {
+                throw new IOException("The details file of the message " + id + " is truncated.");
+            }
+            block.put(content, offset, length);
+        }
+        Properties properties = new Properties();
+        properties.load(new StringReader(new String(block.array(), charset)));
+        String[] values = new String[SUFFIXES.length];
+        for (int i = 0; i < SUFFIXES.length; i++) {
+            values[i] = properties.getProperty(id + SUFFIXES[i]);
+        }
+        return new Details(id, values[0], values[1], values[2], values[3],
+                !"false".equals(values[4]));
+    }
+
+    /**
+     * Returns the content of the details file of a jar, the entries of the
+     * jars cannot be read at a position.
+     */
+    private byte[] getDetailsContent() throws IOException {
+        byte[] content = detailsContent;
+        if (content == null) {
+            try (InputStream in = details.openStream()) {
+                content = in.readAllBytes();
+            }
+            detailsContent = content;
+        }
+        return content;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private int indexOf(String id) {
+        if (slots != null) {
+            int hashCode = id.hashCode();
+            int displacement = displacements[PerfectHash.bucket(hashCode, displacements.length)];
+            int index = slots[PerfectHash.slot(hashCode, displacement, slots.length)];
+            // The ids which are not in the index are sent to any slot.
+            return id.equals(getId(index)) ? index : -1;
+        }
+        for (int index = 0; index < size; index++) {
+            if (id.equals(getId(index))) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private String getId(int index) {
+        int position = poolOffset + getField(index, 0);
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = this.index.get(position++);
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        byte[] bytes = new byte[length];
+        this.index.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int getField(int index, int field) {
+        return this.index.getInt(HEADER_SIZE + (index * RECORD_FIELDS + field) * 4);
+    }
+
+    /**
+     * The details of a log message.
+     */
+    public static final class Details {
+
+        private final String id;
+
+        private final String level;
+
+        private final String cause;
+
+        private final String action;
+
+        private final String comment;
+
+        private final boolean published;
+
+        Details(String id, String level, String cause, String action, String comment, boolean published) {
+            this.id = id;
+            this.level = level;
+            this.cause = cause;
+            this.action = action;
+            this.comment = comment == null ? "" : comment;
+            this.published = published;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getLevel() {
+            return level;
+        }
+
+        public String getCause() {
+            return cause;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+
+        public boolean isPublished() {
+            return published;
+        }
+
+        @Override
+        public String toString() {
+            return id + ": " + level + ", cause: " + cause + ", action: " + action;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+
+/**
+ * Index of the loggers declared with the LoggerInfo annotation: the loggers
+ * of every subsystem and the tree of the loggers by their dotted names, the
+ * parent of a logger being its nearest declared ancestor. The index is
+ * generated by the annotation processor next to the LoggerInfo metadata, so
+ * changing the level of a subsystem touches its loggers only, instead of
+ * matching the names of all the loggers of the LogManager.
+ * <p>
+ * The tree of a single index is used as generated, the indexes of several
+ * modules are merged and their tree is built once, when they are loaded.
+ */
+public final class LoggerInfoIndex {
+
+    /** Name of the index resource, without the properties extension. */
+    public static final String INDEX_NAME = "META-INF/loggerinfo/LoggerInfoIndex";
+
+    /** Prefix of the keys of the loggers of a subsystem. */
+    public static final String SUBSYSTEM_PREFIX = "subsystem.";
+
+    /** Prefix of the keys of the declared children of a logger. */
+    public static final String CHILDREN_PREFIX = "children.";
+
+    /** Key of the loggers without declared ancestor. */
+    public static final String ROOTS_KEY = "roots";
+
+    private static final String PROPERTIES_EXTENSION = ".properties";
+
+    private final Map<String, List<String>> loggersBySubsystem = new TreeMap<String, List<String>>();
+
+    private final Map<String, String> subsystems = new HashMap<String, String>();
+
+    private final Map<String, List<String>> children = new HashMap<String, List<String>>();
+
+    private final Map<String, String> parents = new HashMap<String, String>();
+
+    private final List<String> roots = new ArrayList<String>();
+
+    /**
+     * Builds the index of the loggers.
+     * 
+     * @param subsystems the subsystem of every logger, by logger name
+     */
+    public LoggerInfoIndex(Map<String, String> subsystems) {
+        Set<String> names = new TreeSet<String>(subsystems.keySet());
+        Map<String, Set<String>> loggers = new TreeMap<String, Set<String>>();
+        for (String name : names) {
+            String subsystem = subsystems.get(name);
+            loggers.computeIfAbsent(subsystem, s -> new TreeSet<String>()).add(name);
+            this.subsystems.put(name, subsystem);
+            String parent = getAncestor(name, names);
+            if (parent == null) {
+                roots.add(name);
+            } else {
+                parents.put(name, parent);
+                children.computeIfAbsent(parent, p -> new ArrayList<String>()).add(name);
+            }
+        }
+        for (Map.Entry<String, Set<String>> subsystem : loggers.entrySet()) {
+            loggersBySubsystem.put(subsystem.getKey(), new ArrayList<String>(subsystem.getValue()));
+        }
+    }
+
+    private LoggerInfoIndex(Properties index) {
+        for (String key : index.stringPropertyNames()) {
+            List<String> values = split(index.getProperty(key));
+            if (key.startsWith(SUBSYSTEM_PREFIX)) {
+                String subsystem = key.substring(SUBSYSTEM_PREFIX.length());
+                loggersBySubsystem.put(subsystem, values);
+                for (String logger : values) {
+                    subsystems.put(logger, subsystem);
+                }
+            } else if (key.startsWith(CHILDREN_PREFIX)) {
+                String parent = key.substring(CHILDREN_PREFIX.length());
+                children.put(parent, values);
+                for (String child : values) {
+                    parents.put(child, parent);
+                }
+            } else if (ROOTS_KEY.equals(key)) {
+                roots.addAll(values);
+            }
+        }
+    }
+
+    /**
+     * Loads the indexes of the modules of the class loader.
+     * 
+     * @return the index, empty if no module declares loggers
+     * @throws IOException if an index cannot be read
+     */
+    public static LoggerInfoIndex load(ClassLoader loader) throws IOException {
+        List<Properties> indexes = new ArrayList<Properties>();
+        Enumeration<URL> resources = loader.getResources(INDEX_NAME + PROPERTIES_EXTENSION);
+        while (resources.hasMoreElements()) {
+            // Written in ASCII or UTF-8, depending on the encoding option.
+            try (InputStream in = resources.nextElement().openStream();
+                    Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                Properties index = new Properties();
+                index.load(reader);
+                indexes.add(index);
+            }
+        }
+        if (indexes.size() == 1) {
+            return new LoggerInfoIndex(indexes.get(0));
+        }
+        Map<String, String> subsystems = new HashMap<String, String>();
+        for (Properties index : indexes) {
+            subsystems.putAll(new LoggerInfoIndex(index).subsystems);
+        }
+        return new LoggerInfoIndex(subsystems);
+    }
+
+    /**
+     * Reads the index from its properties.
+     */
+    static LoggerInfoIndex read(Properties index) {
+        return new LoggerInfoIndex(index);
+    }
+
+    /**
+     * Returns the nearest ancestor of the logger among the names.
+     */
+    private static String getAncestor(String name, Set<String> names) {
+        for (int dot = name.lastIndexOf('.'); dot > 0; dot = name.lastIndexOf('.', dot - 1)) {
+            String ancestor = name.substring(0, dot);
+            if (names.contains(ancestor)) {
+                return ancestor;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> split(String value) {
+        List<String> values = new ArrayList<String>();
+        for (String item : value.split(",")) {
+            if (!item.trim().isEmpty()) {
+                values.add(item.trim());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the names of the subsystems, sorted.
+     */
+    public Set<String> getSubsystems() {
+        return Collections.unmodifiableSet(loggersBySubsystem.keySet());
+    }
+
+    /**
+     * Returns the loggers of the subsystem, sorted, empty if it is not known.
+     */
+    public List<String> getLoggers(String subsystem) {
+        List<String> loggers = loggersBySubsystem.get(subsystem);
+        return loggers == null ? Collections.<String>emptyList() : Collections.unmodifiableList(loggers);
+    }
+
+    /**
+     * Returns the subsystem of the logger, null if it is not declared.
+     */
+    public String getSubsystem(String logger) {
+        return subsystems.get(logger);
+    }
+
+    /**
+     * Returns the nearest declared ancestor of the logger, null if there is
+     * none.
+     */
+    public String getParent(String logger) {
+        return parents.get(logger);
+    }
+
+    /**
+     * Returns the loggers whose nearest declared ancestor is the logger.
+     */
+    public List<String> getChildren(String logger) {
+        List<String> loggers = children.get(logger);
+        return loggers == null ? Collections.<String>emptyList() : Collections.unmodifiableList(loggers);
+    }
+
+    /**
+     * Returns the loggers without declared ancestor, sorted.
+     */
+    public List<String> getRoots() {
+        return Collections.unmodifiableList(roots);
+    }
+
+    /**
+     * Returns the declared descendants of the logger, depth first.
+     */
+    public List<String> getDescendants(String logger) {
+        List<String> descendants = new ArrayList<String>();
+        addDescendants(logger, descendants);
+        return descendants;
+    }
+
+    private void addDescendants(String logger, List<String> descendants) {
+        for (String child : getChildren(logger)) {
+            descendants.add(child);
+            addDescendants(child, descendants);
+        }
+    }
+
+    /**
+     * Sets the level of the loggers of the subsystem which exist in the
+     * LogManager, the loggers created later get the level of their
+     * configuration. The descendants which are not declared inherit the
+     * level, as usual.
+     * 
+     * @return the number of loggers whose level was set
+     */
+    public int setLevel(String subsystem, Level level) {
+        int count = 0;
+        LogManager manager = LogManager.getLogManager();
+        for (String name : getLoggers(subsystem)) {
+            Logger logger = manager.getLogger(name);
+            if (logger != null) {
+                logger.setLevel(level);
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The log messages and the loggers of a whole distribution, merged at
+ * assembly time by the CatalogMerger tool of the annotation processor into
+ * a single jar: one catalog of all the messages of all the bundles, one
+ * catalog per locale of the translations, the metadata of all the loggers
+ * and their index. Registering the merged catalog saves looking up the
+ * catalog of every bundle in the jar of its module.
+ * <p>
+ * The message ids are unique across the bundles of the distribution, the
+ * merger refuses the conflicting ones, and the codes of the merged catalog
+ * are assigned by the merger, they differ from the codes of the modules.
+ */
+public final class MergedCatalog {
+
+    /** Directory of the merged log messages in the jar. */
+    public static final String MESSAGES_PATH = "META-INF/logmessages/merged/";
+
+    /** Name of the catalogs of the merged log messages, without extension. */
+    public static final String CATALOG_NAME = MESSAGES_PATH + "LogMessages";
+
+    /**
+     * Name of the properties file of the merged bundles, the value of every
+     * bundle being the comma separated locales of its translations.
+     */
+    public static final String BUNDLES_NAME = MESSAGES_PATH + "LogMessagesBundles.properties";
+
+    /** Directory of the merged logger metadata in the jar. */
+    public static final String LOGGERS_PATH = "META-INF/loggerinfo/merged/";
+
+    /** Name of the merged LoggerInfo metadata. */
+    public static final String LOGGER_INFO_NAME = LOGGERS_PATH + "LoggerInfoMetadata.properties";
+
+    /** Name of the merged index of the loggers. */
+    public static final String LOGGER_INDEX_NAME = LOGGERS_PATH + "LoggerInfoIndex.properties";
+
+    private final Map<String, List<String>> bundles;
+
+    private final LogMessageCatalog catalog;
+
+    private final Map<String, LogMessageCatalog> translations;
+
+    private final Properties loggerInfo;
+
+    private final LoggerInfoIndex loggerIndex;
+
+    private MergedCatalog(Map<String, List<String>> bundles, LogMessageCatalog catalog,
+            Map<String, LogMessageCatalog> translations, Properties loggerInfo, LoggerInfoIndex loggerIndex) {
+        this.bundles = bundles;
+        this.catalog = catalog;
+        this.translations = translations;
+        this.loggerInfo = loggerInfo;
+        this.loggerIndex = loggerIndex;
+    }
+
+    /**
+     * Loads the merged catalog of the class loader.
+     * 
+     * @return the merged catalog, null if the class loader has none
+     * @throws IOException if the merged catalog cannot be read
+     */
+    public static MergedCatalog load(ClassLoader loader) throws IOException {
+        Properties bundleLocales = read(loader, BUNDLES_NAME);
+        if (bundleLocales == null) {
+            return null;
+        }
+        LogMessageCatalog catalog = LogMessageCatalog.load(CATALOG_NAME, loader);
+        if (catalog == null) {
+            throw new IOException("The merged catalog " + CATALOG_NAME + BinaryLogMessageCatalog.FILE_EXTENSION
+                    + " is missing.");
+        }
+        Map<String, List<String>> bundles = new TreeMap<String, List<String>>();
+        Map<String, LogMessageCatalog> translations = new HashMap<String, LogMessageCatalog>();
+        for (String bundleName : bundleLocales.stringPropertyNames()) {
+            List<String> locales = new ArrayList<String>();
+            for (String locale : bundleLocales.getProperty(bundleName).split(",")) {
+                locale = locale.trim();
+                if (locale.isEmpty()) {
+                    continue;
+                }
+                if (!translations.containsKey(locale)) {
+                    LogMessageCatalog translation = LogMessageCatalog.load(CATALOG_NAME + "_" + locale, loader);
+                    if (translation == null) {
+                        throw new IOException("The merged catalog of the locale " + locale + " is missing.");
+                    }
+                    translations.put(locale, translation);
+                }
+                locales.add(locale);
+            }
+            bundles.put(bundleName, Collections.unmodifiableList(locales));
+        }
+        Properties loggerInfo = read(loader, LOGGER_INFO_NAME);
+        Properties loggerIndex = read(loader, LOGGER_INDEX_NAME);
+        return new MergedCatalog(bundles, catalog, translations,
+                loggerInfo == null ? new Properties() : loggerInfo,
+                loggerIndex == null ? new LoggerInfoIndex(Collections.<String, String>emptyMap())
+                        : LoggerInfoIndex.read(loggerIndex));
+    }
+
+    private static Properties read(ClassLoader loader, String name) throws IOException {
+        URL url = loader.getResource(name);
+        if (url == null) {
+            return null;
+        }
+        try (InputStream in = url.openStream(); Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return properties;
+        }
+    }
+
+    /**
+     * Registers the catalogs of all the bundles and of their translations,
+     * used by the {@link PrecompiledFormatter} and the handlers instead of
+     * the catalogs of the modules.
+     */
+    public void register() {
+        for (Map.Entry<String, List<String>> bundle : bundles.entrySet()) {
+            LogMessageCatalogs.register(bundle.getKey(), catalog);
+            for (String locale : bundle.getValue()) {
+                LogMessageCatalogs.register(bundle.getKey() + "_" + locale, translations.get(locale));
+            }
+        }
+    }
+
+    /**
+     * Returns the names of the merged bundles, sorted.
+     */
+    public Set<String> getBundles() {
+        return Collections.unmodifiableSet(bundles.keySet());
+    }
+
+    /**
+     * Returns the locales of the translations of the bundle.
+     */
+    public List<String> getLocales(String bundleName) {
+        List<String> locales = bundles.get(bundleName);
+        return locales == null ? Collections.<String>emptyList() : locales;
+    }
+
+    /**
+     * Returns the catalog of the messages of all the bundles.
+     */
+    public LogMessageCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Returns the catalog of the translations of the locale, null if no
+     * bundle is translated to the locale.
+     */
+    public LogMessageCatalog getCatalog(String locale) {
+        return translations.get(locale);
+    }
+
+    /**
+     * Returns the LoggerInfo metadata of all the loggers, the description,
+     * subsystem and publish properties of every logger name.
+     */
+    public Properties getLoggerInfo() {
+        return loggerInfo;
+    }
+
+    /**
+     * Returns the index of all the loggers.
+     */
+    public LoggerInfoIndex getLoggerIndex() {
+        return loggerIndex;
+    }
+}
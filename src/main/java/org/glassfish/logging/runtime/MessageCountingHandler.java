@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Handler counting the records of every log message and of every level,
+ * without publishing them. The counters of the messages of a bundle are
+ * allocated at once, when its first record is counted, in an array indexed
+ * by the codes of its catalog, so counting a record is a lookup of the
+ * bundle, a perfect hash lookup of the code and the increment of a
+ * LongAdder, which does not contend between threads.
+ * <p>
+ * The handler created by the LogManager registers itself as the MXBean
+ * {@value #OBJECT_NAME}; its level is the level property prefixed by the
+ * name of the class, ALL by default.
+ */
+public class MessageCountingHandler extends Handler implements LogMessageCountersMXBean {
+
+    public static final String OBJECT_NAME = "org.glassfish.logging:type=LogMessageCounters";
+
+    private static final Level[] LEVELS = {
+        LogLevels.EMERGENCY, LogLevels.ALERT, Level.SEVERE, Level.WARNING, Level.INFO,
+        Level.CONFIG, Level.FINE, Level.FINER, Level.FINEST
+    };
+
+    // The counters of the levels, the last one for the other levels.
+    private final LongAdder[] levelCounters = new LongAdder[LEVELS.length + 1];
+
+    private final LongAdder unknownMessages = new LongAdder();
+
+    // The counters of the messages by bundle name, so counting a record
+    // needs a single lookup of its bundle, the bundles sharing a merged
+    // catalog share its counters.
+    private final Map<String, MessageCounters> messageCounters =
+            new ConcurrentHashMap<String, MessageCounters>();
+
+    private final Map<LogMessageCatalog, MessageCounters> catalogCounters =
+            new ConcurrentHashMap<LogMessageCatalog, MessageCounters>();
+
+    /**
+     * Creates the handler configured by the LogManager properties and
+     * registers it as an MXBean.
+     */
+    public MessageCountingHandler() {
+        this(true);
+    }
+
+    /**
+     * @param register whether the handler is registered as the MXBean
+     *        {@value #OBJECT_NAME} of the platform MBean server
+     */
+    public MessageCountingHandler(boolean register) {
+        for (int i = 0; i < levelCounters.length; i++) {
+            levelCounters[i] = new LongAdder();
+        }
+        String level = LogManager.getLogManager().getProperty(getClass().getName() + ".level");
+        if (level != null) {
+            setLevel(LogLevels.parse(level.trim()));
+        }
+        if (register) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                reportError("Unable to register the MXBean " + OBJECT_NAME, e, 0);
+            }
+        }
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (!isLoggable(record)) {
+            return;
+        }
+        levelCounters[getLevelIndex(record.getLevel())].increment();
+        LongAdder counter = getCounter(record);
+        if (counter == null) {
+            unknownMessages.increment();
+        } else {
+            counter.increment();
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Unregisters the MXBean, if it was registered.
+     */
+    @Override
+    public void close() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            reportError("Unable to unregister the MXBean " + OBJECT_NAME, e, 0);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getMessageCounts() {
+        Map<String, Long> counts = new TreeMap<String, Long>();
+        for (MessageCounters bundle : catalogCounters.values()) {
+            LongAdder[] counters = bundle.counters;
+            for (int code = 0; code < counters.length; code++) {
+                long count = counters[code].sum();
+                if (count > 0) {
+                    counts.merge(bundle.catalog.getIdByCode(code), count, Long::sum);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public Map<String, Long> getLevelCounts() {
+        Map<String, Long> counts = new LinkedHashMap<String, Long>();
+        for (int i = 0; i < LEVELS.length; i++) {
+            counts.put(LEVELS[i].getName(), levelCounters[i].sum());
+        }
+        counts.put("OTHER", levelCounters[LEVELS.length].sum());
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public long getUnknownMessageCount() {
+        return unknownMessages.sum();
+    }
+
+    @Override
+    public long getCount(String id) {
+        long count = 0;
+        for (MessageCounters bundle : catalogCounters.values()) {
+            int code = bundle.catalog.getCode(id);
+            if (code >= 0) {
+                count += bundle.counters[code].sum();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder counter : levelCounters) {
+            counter.reset();
+        }
+        unknownMessages.reset();
+        for (MessageCounters bundle : catalogCounters.values()) {
+            for (LongAdder counter : bundle.counters) {
+                counter.reset();
+            }
+        }
+    }
+
+    private LongAdder getCounter(LogRecord record) {
+        String bundleName = record.getResourceBundleName();
+        String id = record.getMessage();
+        if (bundleName == null || id == null) {
+            return null;
+        }
+        MessageCounters bundle = messageCounters.get(bundleName);
+        if (bundle == null) {
+            // The codes do not depend on the locale.
+            LogMessageCatalog catalog = LogMessageCatalogs.get(bundleName, Locale.ROOT, record.getResourceBundle());
+            if (catalog == null) {
+                return null;
+            }
+            bundle = messageCounters.computeIfAbsent(bundleName,
+                    name -> catalogCounters.computeIfAbsent(catalog, MessageCounters::new));
+        }
+        int code = bundle.catalog.getCode(id);
+        return code < 0 ? null : bundle.counters[code];
+    }
+
+    private static final class MessageCounters {
+
+        final LogMessageCatalog catalog;
+
+        final LongAdder[] counters;
+
+        MessageCounters(LogMessageCatalog catalog) {
+            this.catalog = catalog;
+            this.counters = new LongAdder[catalog.getCodeCount()];
+            for (int code = 0; code < counters.length; code++) {
+                counters[code] = new LongAdder();
+            }
+        }
+    }
+
+    private static int getLevelIndex(Level level) {
+        int value = level.intValue();
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i].intValue() == value) {
+                return i;
+            }
+        }
+        return LEVELS.length;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+/**
+ * Hash functions of the minimal perfect hash of the message ids, computed
+ * by the processor with the hash and displace algorithm: the ids are spread
+ * in buckets by a first hash, then every bucket gets the displacement
+ * which sends its ids to free slots by a second hash. A lookup is a bucket
+ * read and a slot read. Both hashes mix String.hashCode(), which is
+ * specified and cached by the strings.
+ */
+public final class PerfectHash {
+
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private PerfectHash() {
+    }
+
+    public static int bucket(int hashCode, int buckets) {
+        return (mix(hashCode) & Integer.MAX_VALUE) % buckets;
+    }
+
+    public static int slot(int hashCode, int displacement, int size) {
+        return (mix(hashCode + (displacement + 1) * GOLDEN_RATIO) & Integer.MAX_VALUE) % size;
+    }
+
+    /**
+     * Finalization step of MurmurHash3.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
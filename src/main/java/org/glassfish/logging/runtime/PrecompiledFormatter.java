@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Drop-in replacement of {@link SimpleFormatter} rendering the messages of
+ * the LogMessages bundles with the patterns compiled at build time in their
+ * binary catalogs, instead of parsing them with MessageFormat for every
+ * record. The localized messages are rendered from the catalog of the
+ * locale of the bundle, complete as its fallbacks are merged at build time.
+ * The messages without a compiled pattern and the ones of other bundles are
+ * formatted by SimpleFormatter.
+ */
+public class PrecompiledFormatter extends SimpleFormatter {
+
+    /**
+     * Creates the formatter, configured like the {@link SimpleFormatter} by
+     * the java.util.logging.SimpleFormatter.format property, also when it is
+     * created by the LogManager.
+     */
+    public PrecompiledFormatter() {
+    }
+
+    /**
+     * Registers the catalog of the bundle, for the catalogs which are not
+     * resources of the class loader of the bundle or of the thread. The
+     * catalogs of the translations are registered with the name of the
+     * bundle of the locale, com.foo.LogMessages_de for instance. The catalogs
+     * are shared with the {@link RateLimitingHandler}.
+     */
+    public static void register(String bundleName, LogMessageCatalog catalog) {
+        LogMessageCatalogs.register(bundleName, catalog);
+    }
+
+    @Override
+    public String formatMessage(LogRecord record) {
+        Object[] parameters = record.getParameters();
+        ResourceBundle bundle = record.getResourceBundle();
+        String bundleName = record.getResourceBundleName();
+        if (parameters == null || parameters.length == 0 || bundle == null || bundleName == null) {
+            return super.formatMessage(record);
+        }
+        Locale locale = bundle.getLocale() == null ? Locale.ROOT : bundle.getLocale();
+        LogMessageCatalog catalog = LogMessageCatalogs.get(bundleName, locale, bundle);
+        CompiledMessage message = catalog == null ? null : catalog.getCompiledMessage(record.getMessage());
+        if (message == null) {
+            return super.formatMessage(record);
+        }
+        return message.format(parameters, Locale.getDefault(Locale.Category.FORMAT));
+    }
+}
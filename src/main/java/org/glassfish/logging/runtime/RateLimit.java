@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+/**
+ * The rate limit of a log message, declared by the maxRecords,
+ * intervalSeconds and sampleRatio attributes of its LogMessageInfo
+ * annotation.
+ */
+public final class RateLimit {
+
+    private final int maxRecords;
+
+    private final int intervalSeconds;
+
+    private final double sampleRatio;
+
+    /**
+     * @param maxRecords the maximum number of records per interval, 0 if not limited
+     * @param intervalSeconds the interval, in seconds
+     * @param sampleRatio the ratio of the records which are logged, 1 if all are
+     */
+    public RateLimit(int maxRecords, int intervalSeconds, double sampleRatio) {
+        if (maxRecords < 0 || intervalSeconds <= 0 || !(sampleRatio > 0.0 && sampleRatio <= 1.0)) {
+            throw new IllegalArgumentException("Invalid rate limit: " + maxRecords + " records per "
+                    + intervalSeconds + " seconds, sample ratio " + sampleRatio);
+        }
+        this.maxRecords = maxRecords;
+        this.intervalSeconds = intervalSeconds;
+        this.sampleRatio = sampleRatio;
+    }
+
+    public int getMaxRecords() {
+        return maxRecords;
+    }
+
+    public int getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    public double getSampleRatio() {
+        return sampleRatio;
+    }
+
+    @Override
+    public String toString() {
+        return maxRecords + " records per " + intervalSeconds + " seconds, sample ratio " + sampleRatio;
+    }
+}
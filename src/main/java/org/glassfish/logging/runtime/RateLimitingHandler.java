@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+
+/**
+ * Handler enforcing the rate limits of the log messages, declared by the
+ * maxRecords, intervalSeconds and sampleRatio attributes of their
+ * LogMessageInfo annotations and stored in the catalogs of their bundles.
+ * The records which are not suppressed are published to the target
+ * handler, and the number of suppressed records of every message is
+ * published to it periodically, on flush and on close.
+ * <p>
+ * The limit of a message is a token bucket in a single AtomicLong, the
+ * theoretical arrival time of the generic cell rate algorithm: a record is
+ * accepted if the bucket is not ahead of the current time by more than the
+ * interval, which moves it forward by the interval divided by the maximum
+ * number of records. The suppressed records only read the bucket and count
+ * themselves in a LongAdder, so a storm of records of a message does not
+ * contend on a single variable. The state of the messages is indexed by
+ * their codes, the records of other bundles are published as they are.
+ * <p>
+ * Configuration, with the LogManager properties prefixed by the name of
+ * the class:
+ * <ul>
+ * <li>target: the class name of the target handler, required</li>
+ * <li>summaryInterval: the interval of the summaries of the suppressed
+ * records in seconds, 60 by default, 0 to only publish them on flush</li>
+ * <li>level: the level of the handler, ALL by default</li>
+ * </ul>
+ */
+public class RateLimitingHandler extends Handler {
+
+    private static final String SUMMARY = "Suppressed {0} records of the log message {1}.";
+
+    private static final MessageState UNLIMITED = new MessageState(null, null);
+
+    private final Handler target;
+
+    private final ScheduledExecutorService summaries;
+
+    private final Map<LogMessageCatalog, AtomicReferenceArray<MessageState>> states =
+            new ConcurrentHashMap<LogMessageCatalog, AtomicReferenceArray<MessageState>>();
+
+    /**
+     * Creates the handler configured by the LogManager properties.
+     */
+    public RateLimitingHandler() {
+        this(createTarget(), getSummaryInterval());
+        String level = LogManager.getLogManager().getProperty(getClass().getName() + ".level");
+        if (level != null) {
+            setLevel(LogLevels.parse(level.trim()));
+        }
+    }
+
+    /**
+     * @param target the handler publishing the records
+     * @param summaryIntervalSeconds the interval of the summaries of the
+     *        suppressed records, 0 to only publish them on flush
+     */
+    public RateLimitingHandler(Handler target, int summaryIntervalSeconds) {
+        this.target = target;
+        if (summaryIntervalSeconds > 0) {
+            summaries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "RateLimitingHandler summaries");
+                thread.setDaemon(true);
+                return thread;
+            });
+            summaries.scheduleAtFixedRate(this::publishSummaries, summaryIntervalSeconds, summaryIntervalSeconds,
+                    TimeUnit.SECONDS);
+        } else {
+            summaries = null;
+        }
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (!isLoggable(record)) {
+            return;
+        }
+        MessageState state = getState(record);
+        if (state == UNLIMITED || state.tryAcquire(record)) {
+            target.publish(record);
+        }
+    }
+
+    /**
+     * Publishes the summaries of the suppressed records, then flushes the
+     * target handler.
+     */
+    @Override
+    public void flush() {
+        publishSummaries();
+        target.flush();
+    }
+
+    @Override
+    public void close() {
+        if (summaries != null) {
+            summaries.shutdownNow();
+        }
+        publishSummaries();
+        target.close();
+    }
+
+    /**
+     * Returns the number of records of the message suppressed since the last
+     * summary.
+     */
+    public long getSuppressed(String bundleName, String id) {
+        LogMessageCatalog catalog = LogMessageCatalogs.get(bundleName, Locale.ROOT, null);
+        AtomicReferenceArray<MessageState> messages = catalog == null ? null : states.get(catalog);
+        int code = catalog == null ? -1 : catalog.getCode(id);
+        MessageState state = messages == null || code < 0 ? null : messages.get(code);
+        return state == null || state == UNLIMITED ? 0 : state.suppressed.sum();
+    }
+
+    private MessageState getState(LogRecord record) {
+        String bundleName = record.getResourceBundleName();
+        String id = record.getMessage();
+        if (bundleName == null || id == null) {
+            return UNLIMITED;
+        }
+        // The limits do not depend on the locale.
+        LogMessageCatalog catalog = LogMessageCatalogs.get(bundleName, Locale.ROOT, record.getResourceBundle());
+        int code = catalog == null ? -1 : catalog.getCode(id);
+        if (code < 0) {
+            return UNLIMITED;
+        }
+        AtomicReferenceArray<MessageState> messages = states.get(catalog);
+        if (messages == null) {
+            messages = states.computeIfAbsent(catalog,
+                    key -> new AtomicReferenceArray<MessageState>(key.getCodeCount()));
+        }
+        MessageState state = messages.get(code);
+        if (state == null) {
+            RateLimit limit = catalog.getRateLimit(id);
+            messages.compareAndSet(code, null, limit == null ? UNLIMITED : new MessageState(id, limit));
+            state = messages.get(code);
+        }
+        return state;
+    }
+
+    private void publishSummaries() {
+        for (AtomicReferenceArray<MessageState> messages : states.values()) {
+            for (int code = 0; code < messages.length(); code++) {
+                MessageState state = messages.get(code);
+                if (state == null || state == UNLIMITED) {
+                    continue;
+                }
+                long suppressed = state.suppressed.sumThenReset();
+                if (suppressed > 0) {
+                    LogRecord summary = new LogRecord(state.level == null ? Level.INFO : state.level, SUMMARY);
+                    summary.setLoggerName(state.loggerName);
+                    summary.setParameters(new Object[] {suppressed, state.id});
+                    target.publish(summary);
+                }
+            }
+        }
+    }
+
+    private static Handler createTarget() {
+        String name = RateLimitingHandler.class.getName() + ".target";
+        String className = LogManager.getLogManager().getProperty(name);
+        if (className == null || className.trim().isEmpty()) {
+            throw new IllegalStateException("The " + name + " property is not set.");
+        }
+        try {
+            Class<?> targetClass = ClassLoader.getSystemClassLoader().loadClass(className.trim());
+            return (Handler) targetClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Unable to create the target handler " + className, e);
+        }
+    }
+
+    private static int getSummaryInterval() {
+        String interval = LogManager.getLogManager().getProperty(RateLimitingHandler.class.getName() + ".summaryInterval");
+        try {
+            return interval == null ? 60 : Integer.parseInt(interval.trim());
+        } catch (NumberFormatException e) {
+            return 60;
+        }
+    }
+
+    private static final class MessageState {
+
+        private final String id;
+
+        private final AtomicLong arrivalTime = new AtomicLong(System.nanoTime());
+
+        private final LongAdder suppressed = new LongAdder();
+
+        // The nanoseconds between two records and the burst allowed, the
+        // whole interval, 0 if the records are only sampled.
+        private final long emissionInterval;
+
+        private final long tolerance;
+
+        private final double sampleRatio;
+
+        // The level and the logger of the suppressed records, for the
+        // summaries, written once.
+        private volatile Level level;
+
+        private volatile String loggerName;
+
+        MessageState(String id, RateLimit limit) {
+            this.id = id;
+            if (limit == null || limit.getMaxRecords() == 0) {
+                emissionInterval = 0;
+                tolerance = 0;
+            } else {
+                long interval = TimeUnit.SECONDS.toNanos(limit.getIntervalSeconds());
+                emissionInterval = Math.max(1, interval / limit.getMaxRecords());
+                tolerance = interval - emissionInterval;
+            }
+            sampleRatio = limit == null ? 1.0 : limit.getSampleRatio();
+        }
+
+        boolean tryAcquire(LogRecord record) {
+            if (sampleRatio < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRatio) {
+                suppress(record);
+                return false;
+            }
+            if (emissionInterval == 0) {
+                return true;
+            }
+            long now = System.nanoTime();
+            while (true) {
+                long current = arrivalTime.get();
+                long start = current - now > 0 ? current : now;
+                if (start - now > tolerance) {
+                    suppress(record);
+                    return false;
+                }
+                if (arrivalTime.compareAndSet(current, start + emissionInterval)) {
+                    return true;
+                }
+            }
+        }
+
+        private void suppress(LogRecord record) {
+            suppressed.increment();
+            if (level == null) {
+                level = record.getLevel();
+                loggerName = record.getLoggerName();
+            }
+        }
+    }
+}
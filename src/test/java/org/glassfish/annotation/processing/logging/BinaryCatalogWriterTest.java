@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.glassfish.logging.runtime.BinaryLogMessageCatalog;
+import org.glassfish.logging.runtime.LogMessageCatalog;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryCatalogWriterTest {
+
+    @Test
+    public void testRoundTrip() {
+        List<LogMessageEntry> entries = new ArrayList<LogMessageEntry>();
+        for (int i = 0; i < 5000; i++) {
+            LogMessageEntry entry = new LogMessageEntry(String.format("AS-TEST-%05d", 5000 - i));
+            entry.setMessage("Message " + i + " about {0}.");
+            entry.setLevel(i % 2 == 0 ? "INFO" : "SEVERE");
+            entry.setCause("Shared cause.");
+            entry.setAction(i % 2 == 0 ? "" : "Action " + i);
+            entry.setPublish(i % 3 != 0);
+            // The codes of the removed messages are not reused.
+            entry.setCode(2 * i);
+            entries.add(entry);
+        }
+        LogMessageEntry unicode = new LogMessageEntry("AS-TEST-\u00e9\u65e5");
+        unicode.setMessage("caf\u00e9 \u65e5\u672c \ud83d\ude00");
+        entries.add(unicode);
+        LogMessageEntry large = new LogMessageEntry("AS-TEST-LARGE");
+        large.setMessage("x".repeat(20_000));
+        entries.add(large);
+
+        byte[] content = BinaryCatalogWriter.write(entries);
+        BinaryLogMessageCatalog catalog = BinaryLogMessageCatalog.wrap(ByteBuffer.wrap(content));
+        assertEquals(entries.size(), catalog.size());
+        for (LogMessageEntry entry : entries) {
+            assertEquals(entry.getMessage(), catalog.getMessage(entry.getId()));
+            assertEquals(entry.getLevel(), catalog.getLevel(entry.getId()));
+            assertEquals(entry.getCause(), catalog.getCause(entry.getId()));
+            assertEquals(entry.getAction(), catalog.getAction(entry.getId()));
+            assertEquals(entry.getComment(), catalog.getComment(entry.getId()));
+            assertEquals(entry.isPublish(), catalog.isPublished(entry.getId()));
+            assertEquals(entry.getCode(), catalog.getCode(entry.getId()));
+            if (entry.getCode() >= 0) {
+                assertEquals(entry.getId(), catalog.getIdByCode(entry.getCode()));
+            }
+        }
+        assertEquals(2 * 4999 + 1, catalog.getCodeCount());
+        assertNull(catalog.getIdByCode(1));
+        assertNull(catalog.getIdByCode(-1));
+        assertNull(catalog.getIdByCode(catalog.getCodeCount()));
+        assertEquals(-1, catalog.getCode("AS-TEST-00000"));
+        for (int i = 1; i < catalog.size(); i++) {
+            assertTrue(catalog.indexOf(catalog.getId(i - 1)) < catalog.indexOf(catalog.getId(i)));
+        }
+        assertNull(catalog.getMessage("AS-TEST-00000"));
+        assertNull(catalog.getMessage("AS-TEST-\u00e9"));
+        assertFalse(catalog.isPublished("AS-TEST-99999"));
+        // The shared strings are stored once.
+        String text = new String(content, StandardCharsets.ISO_8859_1);
+        assertEquals(text.indexOf("Shared cause."), text.lastIndexOf("Shared cause."));
+        assertEquals(text.indexOf("xxxxx"), text.lastIndexOf("xxxxx") - 20_000 + 5);
+    }
+
+    @Test
+    public void testPerfectHash() throws Exception {
+        List<String> ids = new ArrayList<String>();
+        List<LogMessageEntry> entries = new ArrayList<LogMessageEntry>();
+        for (int i = 0; i < 30_000; i++) {
+            LogMessageEntry entry = new LogMessageEntry("NCLS-CORE-" + i);
+            entry.setMessage("Message {0} number " + i);
+            entries.add(entry);
+            ids.add(entry.getId());
+        }
+        PerfectHashBuilder hash = PerfectHashBuilder.build(ids);
+        assertNotNull(hash);
+        boolean[] seen = new boolean[ids.size()];
+        for (int index : hash.getSlots()) {
+            assertFalse(seen[index]);
+            seen[index] = true;
+        }
+
+        LogMessageCatalog catalog = BinaryLogMessageCatalog.wrap(ByteBuffer.wrap(BinaryCatalogWriter.write(entries)));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(executor.submit(() -> {
+                    for (LogMessageEntry entry : entries) {
+                        if (!entry.getMessage().equals(catalog.getMessage(entry.getId()))
+                                || catalog.getCompiledMessage(entry.getId()) == null) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        for (int i = 30_000; i < 31_000; i++) {
+            assertFalse(catalog.contains("NCLS-CORE-" + i));
+        }
+    }
+
+    @Test
+    public void testInvalidCatalog() {
+        assertThrows(IllegalArgumentException.class,
+            () -> BinaryLogMessageCatalog.wrap(ByteBuffer.wrap(new byte[64])));
+        byte[] content = BinaryCatalogWriter.write(List.of());
+        assertEquals(0, BinaryLogMessageCatalog.wrap(ByteBuffer.wrap(content)).size());
+        content[23] = 1;
+        byte[] truncated = content;
+        assertThrows(IllegalArgumentException.class,
+            () -> BinaryLogMessageCatalog.wrap(ByteBuffer.wrap(truncated)));
+    }
+}
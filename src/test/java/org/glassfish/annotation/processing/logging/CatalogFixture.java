@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.logging.runtime.BinaryLogMessageCatalog;
+
+/**
+ * Builds the binary catalogs of the tests of the runtime with the writer of
+ * the processor. The code of a message is its index.
+ */
+public final class CatalogFixture {
+
+    private final List<LogMessageEntry> entries = new ArrayList<LogMessageEntry>();
+
+    /**
+     * Adds a message at the INFO level.
+     */
+    public CatalogFixture add(String id, String message) {
+        LogMessageEntry entry = new LogMessageEntry(id);
+        entry.setMessage(message);
+        entry.setCode(entries.size());
+        entries.add(entry);
+        return this;
+    }
+
+    /**
+     * Sets the rate limit of the last message added.
+     */
+    public CatalogFixture rateLimit(int maxRecords, int intervalSeconds, double sampleRatio) {
+        LogMessageEntry entry = entries.get(entries.size() - 1);
+        entry.setMaxRecords(maxRecords);
+        entry.setIntervalSeconds(intervalSeconds);
+        entry.setSampleRatio(sampleRatio);
+        return this;
+    }
+
+    /**
+     * Returns the content of the catalog file.
+     */
+    public byte[] write() {
+        return BinaryCatalogWriter.write(entries);
+    }
+
+    public BinaryLogMessageCatalog wrap() {
+        return BinaryLogMessageCatalog.wrap(ByteBuffer.wrap(write()));
+    }
+}
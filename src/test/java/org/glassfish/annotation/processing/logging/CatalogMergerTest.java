@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.glassfish.logging.runtime.LogMessageCatalog;
+import org.glassfish.logging.runtime.MergedCatalog;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CatalogMergerTest {
+
+    private static final String LOGGER_INFO = "META-INF/loggerinfo/LoggerInfoMetadata.properties";
+
+    @Test
+    public void testMerge() throws Exception {
+        Path dir = Files.createTempDirectory("merger");
+        Map<String, byte[]> ejb = new LinkedHashMap<String, byte[]>();
+        ejb.put("com/foo/ejb/LogMessages.catalog", BinaryCatalogWriter.write(List.of(
+            entry("AS-EJB-00001", "EJB {0} started.", 7), entry("AS-EJB-00002", "EJB {0} failed.", 3))));
+        ejb.put("com/foo/ejb/LogMessages_de.catalog", BinaryCatalogWriter.write(List.of(
+            entry("AS-EJB-00001", "EJB {0} gestartet.", 7), entry("AS-EJB-00002", "EJB {0} failed.", 3))));
+        ejb.put(LOGGER_INFO, ("javax.enterprise.ejb.description=Main EJB Logger\n"
+            + "javax.enterprise.ejb.publish=true\n"
+            + "javax.enterprise.ejb.subsystem=EJB\n").getBytes(StandardCharsets.ISO_8859_1));
+        writeJar(dir.resolve("ejb.jar"), ejb);
+        Map<String, byte[]> web = new LinkedHashMap<String, byte[]>();
+        web.put("org/bar/web/WebLogMessages.catalog", BinaryCatalogWriter.write(List.of(
+            entry("AS-WEB-00001", "Web module {0} deployed.", 0))));
+        web.put(LOGGER_INFO, ("javax.enterprise.ejb.pool.description=EJB Pool Logger\n"
+            + "javax.enterprise.ejb.pool.subsystem=EJB\n").getBytes(StandardCharsets.ISO_8859_1));
+        writeJar(dir.resolve("modules/web.jar"), web);
+        // The same module twice in the distribution.
+        writeJar(dir.resolve("modules/copy/ejb.jar"), ejb);
+
+        Path output = dir.resolve("lib/merged.jar");
+        CatalogMerger merger = new CatalogMerger(4);
+        assertEquals(3, merger.merge(List.of(dir), output));
+        assertTrue(merger.getErrors().isEmpty(), merger.getErrors().toString());
+        assertTrue(merger.getWarnings().isEmpty(), merger.getWarnings().toString());
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {output.toUri().toURL()}, null)) {
+            MergedCatalog merged = MergedCatalog.load(loader);
+            assertNotNull(merged);
+            assertEquals(Set.of("com.foo.ejb.LogMessages", "org.bar.web.WebLogMessages"), merged.getBundles());
+            assertEquals(List.of("de"), merged.getLocales("com.foo.ejb.LogMessages"));
+            assertTrue(merged.getLocales("org.bar.web.WebLogMessages").isEmpty());
+            LogMessageCatalog catalog = merged.getCatalog();
+            assertEquals(3, catalog.size());
+            assertEquals("Web module {0} deployed.", catalog.getMessage("AS-WEB-00001"));
+            // The merged codes are dense.
+            assertEquals(3, catalog.getCodeCount());
+            assertEquals("AS-WEB-00001", catalog.getIdByCode(2));
+            assertEquals("EJB {0} gestartet.", merged.getCatalog("de").getMessage("AS-EJB-00001"));
+            assertEquals(0, merged.getCatalog("de").getCode("AS-EJB-00001"));
+            assertEquals("Main EJB Logger", merged.getLoggerInfo().getProperty("javax.enterprise.ejb.description"));
+            assertEquals(List.of("javax.enterprise.ejb", "javax.enterprise.ejb.pool"),
+                merged.getLoggerIndex().getLoggers("EJB"));
+            assertEquals("javax.enterprise.ejb", merged.getLoggerIndex().getParent("javax.enterprise.ejb.pool"));
+        }
+
+        // A previous merged jar is replaced, a conflicting message fails.
+        Map<String, byte[]> conflict = new LinkedHashMap<String, byte[]>();
+        conflict.put("org/baz/LogMessages.catalog", BinaryCatalogWriter.write(List.of(
+            entry("AS-EJB-00002", "Another message.", 0))));
+        writeJar(dir.resolve("modules/conflict.jar"), conflict);
+        Files.delete(output);
+        merger = new CatalogMerger(2);
+        assertEquals(4, merger.merge(List.of(dir), output));
+        assertEquals(1, merger.getErrors().size());
+        assertTrue(merger.getErrors().get(0).contains("AS-EJB-00002"));
+        assertFalse(Files.exists(output));
+
+        // A logger in another subsystem fails too, another description is
+        // not merged.
+        Files.delete(dir.resolve("modules/conflict.jar"));
+        writeJar(dir.resolve("modules/subsystem.jar"), Map.of(LOGGER_INFO,
+            ("javax.enterprise.ejb.description=Another EJB Logger\n"
+            + "javax.enterprise.ejb.subsystem=Container\n").getBytes(StandardCharsets.ISO_8859_1)));
+        merger = new CatalogMerger(2);
+        assertEquals(4, merger.merge(List.of(dir), output));
+        assertEquals(1, merger.getErrors().size());
+        assertTrue(merger.getErrors().get(0).contains("The logger javax.enterprise.ejb of "), merger.getErrors().toString());
+        assertTrue(merger.getErrors().get(0).contains("already declared in the subsystem 'EJB'"));
+        assertEquals(1, merger.getWarnings().size());
+        assertTrue(merger.getWarnings().get(0).contains("javax.enterprise.ejb.description"));
+        assertFalse(Files.exists(output));
+    }
+
+    @Test
+    public void testLargeDistribution() throws Exception {
+        Path dir = Files.createTempDirectory("merger");
+        int jars = 200;
+        int messagesPerJar = 500;
+        for (int jar = 0; jar < jars; jar++) {
+            List<LogMessageEntry> entries = new ArrayList<LogMessageEntry>();
+            for (int i = 0; i < messagesPerJar; i++) {
+                entries.add(entry(String.format("AS-M%03d-%05d", jar, i), "Message " + i + " of module {0}.", i));
+            }
+            writeJar(dir.resolve("module" + jar + ".jar"), Map.of(
+                "org/glassfish/module" + jar + "/LogMessages.catalog", BinaryCatalogWriter.write(entries),
+                LOGGER_INFO, ("javax.enterprise.module" + jar + ".subsystem=Module\n").getBytes(StandardCharsets.ISO_8859_1)));
+        }
+        Path output = dir.resolve("merged.jar");
+        long start = System.nanoTime();
+        CatalogMerger merger = new CatalogMerger(Runtime.getRuntime().availableProcessors());
+        assertEquals(jars, merger.merge(List.of(dir), output));
+        System.out.println("Merged " + jars * messagesPerJar + " messages of " + jars + " jars in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {output.toUri().toURL()}, null)) {
+            MergedCatalog merged = MergedCatalog.load(loader);
+            assertEquals(jars * messagesPerJar, merged.getCatalog().size());
+            assertEquals(jars, merged.getLoggerIndex().getLoggers("Module").size());
+        }
+    }
+
+    private static LogMessageEntry entry(String id, String message, int code) {
+        LogMessageEntry entry = new LogMessageEntry(id);
+        entry.setMessage(message);
+        entry.setCode(code);
+        return entry;
+    }
+
+    private static void writeJar(Path jar, Map<String, byte[]> entries) throws IOException {
+        Files.createDirectories(jar.getParent());
+        try (OutputStream out = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.glassfish.logging.runtime.LogMessageDetails;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DetailsIndexWriterTest {
+
+    private static final String BUNDLE_NAME = "com.foo.index.LogMessages";
+
+    @Test
+    public void testIndex() throws IOException {
+        LogMessagesModel model = new LogMessagesModel();
+        for (int i = 0; i < 1000; i++) {
+            LogMessageEntry entry = new LogMessageEntry(String.format("AS-IDX-%05d", i));
+            entry.setMessage("Message " + i);
+            entry.setLevel(i % 2 == 0 ? "INFO" : "SEVERE");
+            entry.setCause("Cause " + i + ",\nsecond line");
+            entry.setAction(i % 3 == 0 ? "" : "Action " + i);
+            entry.setComment(i % 5 == 0 ? "" : "Comment " + i);
+            entry.setPublish(i % 7 != 0);
+            model.putEntry(entry);
+        }
+        // The prefix of another id, and escaped characters.
+        LogMessageEntry prefix = new LogMessageEntry("AS-IDX-0000");
+        prefix.setMessage("Prefix");
+        prefix.setLevel("FINE");
+        prefix.setCause("caf\u00e9 \u65e5\u672c");
+        model.putEntry(prefix);
+        LogMessageEntry escaped = new LogMessageEntry("AS IDX:=#1");
+        escaped.setMessage("Escaped");
+        escaped.setLevel("WARNING");
+        escaped.setAction("a=b:c");
+        model.putEntry(escaped);
+
+        for (Charset charset : List.of(StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8)) {
+            Path dir = Paths.get("target", "details-index-test", charset.name());
+            Files.createDirectories(dir);
+            Path details = dir.resolve("LogMessages_details.properties");
+            Path index = dir.resolve("LogMessages_details.index");
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            try (Writer writer = new OutputStreamWriter(content, charset)) {
+                model.getDetailsResource().store(
+                        new PropertiesWriter(writer, !StandardCharsets.UTF_8.equals(charset)), "");
+            }
+            Files.write(details, content.toByteArray());
+            Files.write(index, DetailsIndexWriter.write(content.toByteArray(), model.getDetailsEntries(), charset));
+
+            try (LogMessageDetails detailsIndex = LogMessageDetails.open(index, details)) {
+                check(model, detailsIndex);
+            }
+
+            // Read from a jar, the details file is not a plain file.
+            Path jar = dir.resolve("details.jar");
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+                for (Path file : List.of(details, index)) {
+                    out.putNextEntry(new JarEntry("com/foo/index/" + file.getFileName()));
+                    out.write(Files.readAllBytes(file));
+                    out.closeEntry();
+                }
+            }
+            try (URLClassLoader loader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null);
+                    LogMessageDetails detailsIndex = LogMessageDetails.load(BUNDLE_NAME, loader)) {
+                check(model, detailsIndex);
+            }
+        }
+    }
+
+    private static void check(LogMessagesModel model, LogMessageDetails detailsIndex) throws IOException {
+        assertEquals(model.getEntries().size(), detailsIndex.size());
+        for (LogMessageEntry entry : model.getEntries()) {
+            LogMessageDetails.Details details = detailsIndex.get(entry.getId());
+            assertEquals(entry.getId(), details.getId());
+            assertEquals(entry.getLevel(), details.getLevel());
+            assertEquals(entry.getCause(), details.getCause());
+            assertEquals(entry.getAction(), details.getAction());
+            assertEquals(entry.getComment(), details.getComment());
+            assertEquals(entry.isPublish(), details.isPublished());
+        }
+        assertNull(detailsIndex.get("AS-IDX-99999"));
+        assertFalse(detailsIndex.contains("AS-IDX"));
+    }
+}
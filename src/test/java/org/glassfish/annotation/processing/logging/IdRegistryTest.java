@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IdRegistryTest {
+
+    private static final int ID_COUNT = 50_000;
+
+    @Test
+    public void testLookup() throws IOException {
+        Map<String, String> bundles = new HashMap<String, String>();
+        for (int i = 0; i < ID_COUNT; i++) {
+            bundles.put(String.format("AS-REG-%05d", i), i % 2 == 0 ? "com.foo.LogMessages" : "com.foo.WebLogMessages");
+        }
+        bundles.put("AS-REG-\u00e9\u65e5", "com.foo.LogMessages");
+        bundles.put("AS-REG-\ud83d\ude00", "com.foo.LogMessages");
+        bundles.put("AS-REG-\uffff", "com.foo.LogMessages");
+        IdRegistry registry = IdRegistry.wrap(ByteBuffer.wrap(IdRegistry.write(bundles)));
+        assertEquals(bundles.size(), registry.size());
+        for (Map.Entry<String, String> id : bundles.entrySet()) {
+            assertEquals(id.getValue(), registry.getBundle(id.getKey()));
+        }
+        assertNull(registry.getBundle("AS-REG-"));
+        assertNull(registry.getBundle("AS-REG-0000"));
+        assertNull(registry.getBundle("AS-REG-99999"));
+        assertNull(registry.getBundle("AS-REG-\u00e9"));
+        assertEquals(bundles.size(), registry.getIds().size());
+
+        List<String> others = new ArrayList<String>();
+        for (int i = 0; i < ID_COUNT; i++) {
+            others.add(String.format("AS-OTHER-%05d", i));
+        }
+        long start = System.nanoTime();
+        for (String id : others) {
+            assertNull(registry.getBundle(id));
+        }
+        System.out.println("Checked " + ID_COUNT + " ids against " + registry.size() + " registered ids in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms.");
+
+        assertThrows(IllegalArgumentException.class, () -> IdRegistry.wrap(ByteBuffer.allocate(64)));
+    }
+
+    @Test
+    public void testOpen() throws IOException {
+        byte[] manifest = IdRegistry.write(Map.of("AS-REG-00001", "com.foo.LogMessages"));
+        Path dir = Files.createTempDirectory("registry");
+        Path classes = dir.resolve("classes");
+        Path file = classes.resolve(IdRegistry.IDS_NAME + IdRegistry.FILE_EXTENSION);
+        Files.createDirectories(file.getParent());
+        Files.write(file, manifest);
+        Path jar = dir.resolve("module.jar");
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream zip = new JarOutputStream(out)) {
+            zip.putNextEntry(new JarEntry(IdRegistry.IDS_NAME + IdRegistry.FILE_EXTENSION));
+            zip.write(manifest);
+            zip.closeEntry();
+        }
+
+        for (Path element : List.of(classes, file, jar)) {
+            IdRegistry registry = IdRegistry.open(element);
+            assertEquals("com.foo.LogMessages", registry.getBundle("AS-REG-00001"));
+        }
+        // The jar is read once as long as it does not change.
+        assertSame(IdRegistry.open(jar), IdRegistry.open(jar));
+        // The directory of classes is not kept, it can be cleaned.
+        IdRegistry registry = IdRegistry.open(classes);
+        Files.delete(file);
+        assertEquals("com.foo.LogMessages", registry.getBundle("AS-REG-00001"));
+        assertNull(IdRegistry.open(classes));
+        assertNull(IdRegistry.open(dir));
+        assertNull(IdRegistry.open(dir.resolve("missing.jar")));
+    }
+
+    @Test
+    public void testRanges() {
+        IdRange range = IdRange.parse("AS-EJB-00001..AS-EJB-00499");
+        assertTrue(range.contains("AS-EJB-00001"));
+        assertTrue(range.contains("AS-EJB-499"));
+        assertFalse(range.contains("AS-EJB-00000"));
+        assertFalse(range.contains("AS-EJB-00500"));
+        assertFalse(range.contains("AS-WEB-00001"));
+        assertFalse(range.contains("XAS-EJB-00001"));
+        assertFalse(range.contains("AS-EJB-"));
+        assertFalse(range.contains("AS-EJB-0000000000000000000000001"));
+        assertThrows(IllegalArgumentException.class, () -> IdRange.parse("AS-EJB-00001"));
+        assertThrows(IllegalArgumentException.class, () -> IdRange.parse("AS-EJB-00001..AS-WEB-00499"));
+        assertThrows(IllegalArgumentException.class, () -> IdRange.parse("AS-EJB-00499..AS-EJB-00001"));
+        assertThrows(IllegalArgumentException.class, () -> IdRange.parse("AS-EJB..AS-EJB-00001"));
+    }
+}
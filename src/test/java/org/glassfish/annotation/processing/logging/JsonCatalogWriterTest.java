@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JsonCatalogWriterTest {
+
+    @Test
+    public void testCatalog() throws IOException {
+        List<LogMessageEntry> entries = new ArrayList<LogMessageEntry>();
+        LogMessageEntry first = new LogMessageEntry("AS-EJB-00001");
+        first.setMessage("EJB module {0} failed to deploy.");
+        first.setLevel("SEVERE");
+        first.setCause("Could not deploy \"{0}\"\nfrom C:\\apps.");
+        first.setAction("Verify the\tdescriptor.");
+        first.setBundle("com.foo.ejb.LogMessages");
+        first.setOrigin("com.foo.ejb.Deployer");
+        first.setCode(7);
+        entries.add(first);
+        LogMessageEntry second = new LogMessageEntry("AS-EJB-00002");
+        second.setMessage("caf\u00e9 \u65e5\u672c \u0001");
+        second.setComment("Not published.");
+        second.setPublish(false);
+        entries.add(second);
+
+        StringWriter out = new StringWriter();
+        JsonCatalogWriter.write(out, entries);
+        assertEquals("{\"id\":\"AS-EJB-00001\",\"bundle\":\"com.foo.ejb.LogMessages\",\"code\":7,"
+            + "\"template\":\"EJB module {0} failed to deploy.\",\"level\":\"SEVERE\","
+            + "\"cause\":\"Could not deploy \\\"{0}\\\"\\nfrom C:\\\\apps.\",\"action\":\"Verify the\\tdescriptor.\","
+            + "\"comment\":\"\",\"publish\":true,\"class\":\"com.foo.ejb.Deployer\"}\n"
+            + "{\"id\":\"AS-EJB-00002\",\"bundle\":null,\"code\":-1,"
+            + "\"template\":\"caf\u00e9 \u65e5\u672c \\u0001\",\"level\":\"INFO\","
+            + "\"cause\":\"\",\"action\":\"\",\"comment\":\"Not published.\",\"publish\":false,\"class\":null}\n",
+            out.toString());
+
+        // The same messages give the same catalog.
+        StringWriter again = new StringWriter();
+        JsonCatalogWriter.write(again, entries);
+        assertEquals(out.toString(), again.toString());
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import org.glassfish.logging.runtime.CompiledMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MessageFormatCompilerTest {
+
+    @Test
+    public void testCompile() {
+        CompiledMessage message = MessageFormatCompiler.compile("It''s {1} and '{0}' {0}");
+        assertEquals(2, message.getArgumentCount());
+        assertEquals("It's ", message.getLiteral(0));
+        assertEquals(1, message.getArgument(0));
+        assertEquals(" and {0} ", message.getLiteral(1));
+        assertEquals("It's b and {0} a", message.format(new Object[] {"a", "b"}));
+        assertThrows(IllegalArgumentException.class, () -> MessageFormatCompiler.validate("Unmatched {0"));
+        assertThrows(IllegalArgumentException.class, () -> MessageFormatCompiler.validate("Bad {0,unknown}"));
+        // Not formatted by the logging formatters, so not validated.
+        MessageFormatCompiler.validate("Braces {name}");
+        MessageFormatCompiler.validate("Trailing brace {");
+
+        // Any argument number is formatted, not only {0} to {3}.
+        message = MessageFormatCompiler.compile("Value {4} x");
+        assertEquals(1, message.getArgumentCount());
+        assertEquals(4, message.getArgument(0));
+        assertEquals("Value e x", message.format(new Object[] {"a", "b", "c", "d", "e"}));
+        assertEquals(6, MessageFormatCompiler.getArity("Pool {4} of {5}"));
+        assertEquals(0, MessageFormatCompiler.getArity("Braces {name}"));
+        assertThrows(IllegalArgumentException.class, () -> MessageFormatCompiler.validate("Unmatched {4"));
+    }
+}
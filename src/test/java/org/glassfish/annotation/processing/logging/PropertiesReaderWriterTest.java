@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.annotation.processing.logging;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PropertiesReaderWriterTest {
+
+    private static final int LARGE_BUNDLE_SIZE = 100_000;
+
+    @Test
+    public void testSpecialCharactersRoundTrip() throws IOException {
+        Map<String, String> properties = new LinkedHashMap<String, String>();
+        properties.put("AS-EJB-00001", "EJB module {0} failed to deploy.");
+        properties.put("backslash", "C:\\glassfish\\domains");
+        properties.put("new.line", "first line\nsecond line\r\n");
+        properties.put("tab", "a\tb\fc");
+        properties.put("leading.space", "  value");
+        properties.put("separators", "a=b:c #d !e");
+        properties.put("unicode", "caf\u00e9 \u65e5\u672c");
+        properties.put("key with = and : ", "value");
+        properties.put("empty", "");
+
+        String content = write(properties, true);
+        for (char c : content.toCharArray()) {
+            assertTrue(c < 0x7F, "Only ASCII expected");
+        }
+        Properties loaded = new Properties();
+        loaded.load(new StringReader(content));
+        assertEquals(properties, loaded);
+        assertEquals(properties, read(content));
+
+        content = write(properties, false);
+        assertTrue(content.contains("caf\u00e9"));
+        assertEquals(properties, read(content));
+    }
+
+    @Test
+    public void testPropertiesFormat() throws IOException {
+        String content = "# comment\r\n"
+            + "! another comment\r\n"
+            + "   key1 = value1   \r\n"
+            + "key2:value2\n"
+            + "key3 value3\n"
+            + "key4\tvalue4\n"
+            + "continued = first, \\\n"
+            + "     second, \\\r\n"
+            + "\tthird\n"
+            + "escaped\\ key = \\u0041\\t\\\\\n"
+            + "\n"
+            + "not\\\\continued = a\\\\\n"
+            + "key5\n"
+            + "key6=\\\n"
+            + "last=value";
+        Properties expected = new Properties();
+        expected.load(new StringReader(content));
+        Map<String, String> actual = read(content);
+        assertEquals(expected, actual);
+        assertEquals("first, second, third", actual.get("continued"));
+        assertEquals("A\t\\", actual.get("escaped key"));
+    }
+
+    @Test
+    public void testComments() throws IOException {
+        String content = "#\n# Copyright\n#\n\n"
+            + "# The first message.\n"
+            + "# Second line, caf\\u00e9.\n"
+            + "AS-EJB-00001=First\n\n"
+            + "# Lone comment\n\n"
+            + "AS-EJB-00002=Second\n";
+        Map<String, String> comments = new LinkedHashMap<String, String>();
+        new PropertiesReader(new StringReader(content)).read((key, value, comment) -> comments.put(key, comment));
+        assertEquals("The first message.\nSecond line, caf\u00e9.", comments.get("AS-EJB-00001"));
+        assertNull(comments.get("AS-EJB-00002"));
+
+        StringWriter out = new StringWriter();
+        PropertiesWriter writer = new PropertiesWriter(out, true);
+        writer.writeComment(comments.get("AS-EJB-00001"));
+        writer.writeProperty("AS-EJB-00001", "First");
+        writer.flush();
+        assertEquals("# The first message.\n# Second line, caf\\u00E9.\nAS-EJB-00001=First\n\n", out.toString());
+    }
+
+    @Test
+    public void testLargeBundle() throws IOException {
+        Map<String, String> properties = new LinkedHashMap<String, String>();
+        for (int i = 0; i < LARGE_BUNDLE_SIZE; i++) {
+            properties.put(String.format("AS-TEST-%06d", i),
+                "Message number " + i + " for module {0} with value \"{1}\" in C:\\dir\u00e9.");
+        }
+        long start = System.nanoTime();
+        String content = write(properties, true);
+        long written = System.nanoTime();
+        Map<String, String> loaded = read(content);
+        long read = System.nanoTime();
+        Properties expected = new Properties();
+        expected.load(new StringReader(content));
+        long parsed = System.nanoTime();
+        System.out.println("Wrote " + LARGE_BUNDLE_SIZE + " entries (" + content.length() + " chars) in "
+            + (written - start) / 1_000_000 + " ms, read them in " + (read - written) / 1_000_000
+            + " ms, java.util.Properties read them in " + (parsed - read) / 1_000_000 + " ms.");
+        assertEquals(LARGE_BUNDLE_SIZE, loaded.size());
+        assertEquals(properties, loaded);
+        assertEquals(expected, loaded);
+        assertFalse(content.contains("\r"));
+    }
+
+    private static String write(Map<String, String> properties, boolean escapeNonAscii) throws IOException {
+        StringWriter out = new StringWriter();
+        PropertiesWriter writer = new PropertiesWriter(out, escapeNonAscii);
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            writer.writeProperty(property.getKey(), property.getValue());
+        }
+        writer.flush();
+        return out.toString();
+    }
+
+    private static Map<String, String> read(String content) throws IOException {
+        Map<String, String> properties = new LinkedHashMap<String, String>();
+        new PropertiesReader(new StringReader(content)).read((key, value, comment) -> properties.put(key, value));
+        return properties;
+    }
+}
@@ -18,14 +18,37 @@
 package org.glassfish.logging.annotation;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
@@ -34,6 +57,9 @@ import javax.tools.JavaCompiler.CompilationTask;
 
 import org.glassfish.annotation.processing.logging.LogMessagesResourceBundleGenerator;
 import org.glassfish.annotation.processing.logging.LoggerInfoMetadataGenerator;
+import org.glassfish.logging.runtime.BinaryLogMessageCatalog;
+import org.glassfish.logging.runtime.LogMessageCatalog;
+import org.glassfish.logging.runtime.LogMessageDetails;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -42,6 +68,8 @@ import com.foo.bar.JavaBean;
 import org.junit.jupiter.api.TestInfo;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class LogMessagesResourceBundleGeneratorTest {
@@ -104,14 +132,99 @@ public class LogMessagesResourceBundleGeneratorTest {
     }
 
     @Test
-    public void testNonUniqueResourceBundleName() {
-        File f1 = new File(BASE_PATH, "JavaBean.java");
-        File f2 = new File(BASE_PATH, "Coffee.java");
-        String output = executeCompiler(f1, f2);
-        assertTrue(output.contains("More than one resource bundle name specified."));
+    public void testNonUniqueResourceBundleName() throws IOException {
+        File f1 = writeSource("Lungo", "package com.foo.bar;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n"
+            + "public class Lungo {\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String LOGMESSAGES_RB = \"com.foo.bar.LogMessages\";\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String OTHER_LOGMESSAGES_RB = \"com.foo.bar.OtherLogMessages\";\n"
+            + "    @LogMessageInfo(message = \"Lungo {0} is ready.\")\n"
+            + "    public static final String LUNGO_READY = \"AS-EJB-01201\";\n"
+            + "}\n");
+        String output = executeCompiler(f1);
+        assertTrue(output.contains("More than one resource bundle name specified in com.foo.bar.Lungo"));
         File[] resourceBundles = getResourceBundles();
         assertEquals(0, resourceBundles.length);
     }
+
+    @Test
+    public void testMultipleResourceBundles() throws IOException {
+        File outputDir = new File("target", "multiple-bundles-test");
+        deleteDirectory(outputDir);
+        File f1 = writeSource("Espresso", "package com.foo.ejb;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n"
+            + "public class Espresso {\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String LOGMESSAGES_RB = \"com.foo.ejb.LogMessages\";\n"
+            + "    @LogMessageInfo(message = \"Espresso {0} is ready.\")\n"
+            + "    public static final String ESPRESSO_READY = \"AS-EJB-01001\";\n"
+            + "    public static class Ristretto {\n"
+            + "        @LogMessageInfo(message = \"Ristretto {0} is ready.\")\n"
+            + "        public static final String RISTRETTO_READY = \"AS-EJB-01002\";\n"
+            + "    }\n"
+            + "}\n");
+        File f2 = writeSource("Doppio", "package com.foo.ejb.timer;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "public class Doppio {\n"
+            + "    @LogMessageInfo(message = \"Doppio {0} is ready.\")\n"
+            + "    public static final String DOPPIO_READY = \"AS-EJB-01003\";\n"
+            + "}\n");
+        File f3 = writeSource("Cortado", "package com.foo.ejb.admin;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n"
+            + "public class Cortado {\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String LOGMESSAGES_RB = \"com.foo.ejb.admin.AdminLogMessages\";\n"
+            + "    @LogMessageInfo(message = \"Cortado {0} is ready.\")\n"
+            + "    public static final String CORTADO_READY = \"AS-EJB-01101\";\n"
+            + "}\n");
+        File f4 = writeSource("Lungo", "package com.foo.ejb.admin.deploy;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "public class Lungo {\n"
+            + "    @LogMessageInfo(message = \"Lungo {0} is ready.\")\n"
+            + "    public static final String LUNGO_READY = \"AS-EJB-01102\";\n"
+            + "}\n");
+        String output = executeCompiler(outputDir, List.of(), List.of(), f1, f2, f3, f4);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        Properties metadata = loadProperties(new File(outputDir, "META-INF/logmessages/LogMessagesMetadata.properties"));
+        assertEquals("com.foo.ejb.LogMessages,com.foo.ejb.admin.AdminLogMessages", metadata.getProperty("resourceBundles"));
+        assertEquals("com.foo.ejb.LogMessages", metadata.getProperty("resourceBundle"));
+        Properties messages = loadProperties(new File(outputDir, "com/foo/ejb/LogMessages.properties"));
+        assertEquals(Set.of("AS-EJB-01001", "AS-EJB-01002", "AS-EJB-01003"), messages.keySet());
+        Properties adminMessages = loadProperties(new File(outputDir, "com/foo/ejb/admin/AdminLogMessages.properties"));
+        assertEquals(Set.of("AS-EJB-01101", "AS-EJB-01102"), adminMessages.keySet());
+        assertTrue(new File(outputDir, "com/foo/ejb/admin/AdminLogMessages" + BinaryLogMessageCatalog.FILE_EXTENSION).exists());
+        // The codes are unique in the module.
+        Properties codes = loadProperties(new File(outputDir, "META-INF/logmessages/LogMessagesCodes.properties"));
+        assertEquals(5, codes.size());
+        assertEquals(5, Set.copyOf(codes.values()).size());
+
+        // The previous bundles keep the messages of an incremental compilation,
+        // the types which are not compiled again are found in the output.
+        output = executeCompiler(outputDir, List.of("-classpath",
+            System.getProperty("java.class.path") + File.pathSeparator + outputDir), List.of(), f4);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        assertEquals(adminMessages, loadProperties(new File(outputDir, "com/foo/ejb/admin/AdminLogMessages.properties")));
+        assertEquals(messages, loadProperties(new File(outputDir, "com/foo/ejb/LogMessages.properties")));
+        assertEquals(codes, loadProperties(new File(outputDir, "META-INF/logmessages/LogMessagesCodes.properties")));
+
+        File f5 = writeSource("Affogato", "package com.foo.web;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "public class Affogato {\n"
+            + "    @LogMessageInfo(message = \"Affogato {0} is ready.\")\n"
+            + "    public static final String AFFOGATO_READY = \"AS-WEB-01001\";\n"
+            + "}\n");
+        output = executeCompiler(outputDir, List.of(), List.of(), f1, f3, f5);
+        assertTrue(output.contains("The resource bundle of the message id 'AS-WEB-01001' is ambiguous, the module declares "
+            + "[com.foo.ejb.LogMessages, com.foo.ejb.admin.AdminLogMessages]."));
+        for (File f : new File[] {f1, f2, f3, f4, f5}) {
+            f.delete();
+        }
+    }
     
     @Test
     public void testNoResourceBundleName() {
@@ -145,7 +258,763 @@ public class LogMessagesResourceBundleGeneratorTest {
         assertTrue(output.contains("Please check if the LoggerInfo annotation is on the logger name constant."));
     }
     
+    @Test
+    public void testIncrementalCompilation() throws IOException {
+        File f1 = new File(BASE_PATH, "JavaBean.java");
+        File f2 = new File(BASE_PATH, "Chocolate.java");
+        File f3 = writeSource("Mocha",
+            "package com.foo.bar;\n" +
+            "import org.glassfish.logging.annotation.LogMessageInfo;\n" +
+            "import org.glassfish.logging.annotation.LoggerInfo;\n" +
+            "public class Mocha {\n" +
+            "    @LogMessageInfo(message = \"Mocha message.\")\n" +
+            "    public static final String MOCHA_MESSAGE = \"AS-EJB-00010\";\n" +
+            "    @LoggerInfo(subsystem = \"EJB\", description = \"Mocha Logger\")\n" +
+            "    public static final String MOCHA_LOGGER = \"javax.enterprise.ejb.mocha\";\n" +
+            "}\n");
+        String output = executeCompiler(f1, f2, f3);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        Properties messages = loadResourceBundle("LogMessages.properties");
+        assertTrue(messages.containsKey("AS-EJB-00010"));
+        File loggersFile = new File("./target/test-classes/META-INF/loggerinfo/LoggerInfoMetadata.properties");
+        assertTrue(loadProperties(loggersFile).containsKey("javax.enterprise.ejb.mocha.subsystem"));
+
+        // Mocha loses its annotations and it is the only type compiled
+        writeSource("Mocha",
+            "package com.foo.bar;\n" +
+            "public class Mocha {\n" +
+            "    public static final String MOCHA_MESSAGE = \"AS-EJB-00010\";\n" +
+            "}\n");
+        output = executeCompiler(f3);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        messages = loadResourceBundle("LogMessages.properties");
+        assertEquals("EJB subsystem initialized.", messages.getProperty(JavaBean.EJB_SYSTEM_INITIALIZED));
+        assertEquals("EJB subsystem has been shutdown.", messages.getProperty(Chocolate.EJB_SYSTEM_SHUTDOWN));
+        assertFalse(messages.containsKey("AS-EJB-00010"));
+        assertFalse(loadResourceBundle("LogMessages_details.properties").containsKey("AS-EJB-00010.level"));
+        Properties loggers = loadProperties(loggersFile);
+        assertEquals("EJB", loggers.getProperty("javax.enterprise.ejb.subsystem"));
+        assertFalse(loggers.containsKey("javax.enterprise.ejb.mocha.subsystem"));
+
+        // Nothing is stored when nothing is dropped
+        long lastModified = new File("./target/test-classes/com/foo/bar/LogMessages.properties").lastModified();
+        output = executeCompiler(f3);
+        assertFalse(output.contains("Annotation processing finished successfully."));
+        assertEquals(lastModified, new File("./target/test-classes/com/foo/bar/LogMessages.properties").lastModified());
+
+        // Mocha gets deleted, Chocolate is not part of the incremental compilation
+        assertTrue(f3.delete());
+        assertTrue(new File("./target/test-classes/com/foo/bar/Mocha.class").delete());
+        output = executeCompiler(f1);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        messages = loadResourceBundle("LogMessages.properties");
+        assertEquals("EJB subsystem initialized.", messages.getProperty(JavaBean.EJB_SYSTEM_INITIALIZED));
+        assertEquals("EJB subsystem has been shutdown.", messages.getProperty(Chocolate.EJB_SYSTEM_SHUTDOWN));
+        assertFalse(messages.containsKey("AS-EJB-00010"));
+        Properties details = loadResourceBundle("LogMessages_details.properties");
+        assertFalse(details.containsKey("AS-EJB-00010.level"));
+    }
+
+    @Test
+    public void testMultipleRounds() throws IOException {
+        File f1 = new File(BASE_PATH, "JavaBean.java");
+        // Generates a class with another log message in the first round
+        AbstractProcessor generator = new AbstractProcessor() {
+            private boolean generated;
+
+            @Override
+            public Set<String> getSupportedAnnotationTypes() {
+                return Set.of("*");
+            }
+
+            @Override
+            public SourceVersion getSupportedSourceVersion() {
+                return SourceVersion.latestSupported();
+            }
+
+            @Override
+            public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+                if (!generated) {
+                    generated = true;
+                    try (Writer writer = processingEnv.getFiler().createSourceFile("com.foo.bar.Latte").openWriter()) {
+                        writer.write("package com.foo.bar;\n"
+                            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+                            + "public class Latte {\n"
+                            + "    @LogMessageInfo(message = \"Latte message.\")\n"
+                            + "    public static final String LATTE_MESSAGE = \"AS-EJB-00011\";\n"
+                            + "}\n");
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return false;
+            }
+        };
+        String output = executeCompiler(List.of("-Aglassfish.logging.debug=true"), List.of(generator), f1);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        assertFalse(output.contains("Unable to store resource bundle"));
+        assertTrue(output.contains("LogMessagesResourceBundleGenerator processed 3 rounds"));
+        Properties messages = loadResourceBundle("LogMessages.properties");
+        assertEquals("EJB subsystem initialized.", messages.getProperty(JavaBean.EJB_SYSTEM_INITIALIZED));
+        assertEquals("Latte message.", messages.getProperty("AS-EJB-00011"));
+    }
+
+    @Test
+    public void testReproducibleOutput() throws IOException {
+        File f1 = new File(BASE_PATH, "JavaBean.java");
+        List<String> options = List.of("-Aglassfish.logging.copyrightYear=2012");
+        String output = executeCompiler(options, List.of(), f1);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        File bundle = new File("./target/test-classes/com/foo/bar/LogMessages.properties");
+        String content = Files.readString(bundle.toPath(), StandardCharsets.ISO_8859_1);
+        assertTrue(content.contains("# Copyright (c) 2012 Contributors to the Eclipse Foundation."));
+        assertFalse(content.contains("\r"));
+
+        // The same sources do not change the generated files.
+        long lastModified = 1_000_000_000_000L;
+        assertTrue(bundle.setLastModified(lastModified));
+        output = executeCompiler(options, List.of(), f1);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        assertEquals(lastModified, bundle.lastModified());
+        assertEquals(content, Files.readString(bundle.toPath(), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void testStatisticsReport() throws IOException {
+        File f1 = new File(BASE_PATH, "JavaBean.java");
+        File report = new File("./target/logging-stats.properties");
+        report.delete();
+        String output = executeCompiler(List.of("-Aglassfish.logging.stats=" + report.getPath()), List.of(), f1);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        // The diagnostics are disabled by default.
+        assertFalse(output.contains("LogMessagesResourceBundleGenerator invoked."));
+        assertFalse(output.contains("Initial messages found so far"));
+
+        Properties statistics = new Properties();
+        try (InputStream in = new FileInputStream(report)) {
+            statistics.load(in);
+        }
+        assertEquals("2", statistics.getProperty("LogMessagesResourceBundleGenerator.rounds"));
+        assertEquals("1", statistics.getProperty("LogMessagesResourceBundleGenerator.contributingRounds"));
+        assertTrue(Integer.parseInt(statistics.getProperty("LogMessagesResourceBundleGenerator.elementsScanned")) > 0);
+        assertTrue(Integer.parseInt(statistics.getProperty("LogMessagesResourceBundleGenerator.messages.com.foo.bar.LogMessages")) > 0);
+        assertTrue(Long.parseLong(statistics.getProperty("LogMessagesResourceBundleGenerator.storeNanos")) > 0);
+        assertTrue(Long.parseLong(statistics.getProperty("LoggerInfoMetadataGenerator.loggers")) > 0);
+        assertTrue(statistics.containsKey("LoggerInfoMetadataGenerator.bytesWritten"));
+        assertTrue(statistics.containsKey("LoggerInfoMetadataGenerator.validateNanos"));
+    }
+
+    @Test
+    public void testBinaryCatalog() throws IOException {
+        File f1 = new File(BASE_PATH, "JavaBean.java");
+        String output = executeCompiler(f1);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        Properties messages = loadResourceBundle("LogMessages.properties");
+        Properties details = loadResourceBundle("LogMessages_details.properties");
+        BinaryLogMessageCatalog catalog = BinaryLogMessageCatalog.map(
+            new File("./target/test-classes/com/foo/bar/LogMessages.catalog").toPath());
+        assertEquals(messages.size(), catalog.size());
+        for (String id : messages.stringPropertyNames()) {
+            assertEquals(messages.getProperty(id), catalog.getMessage(id));
+            assertEquals(details.getProperty(id + ".level"), catalog.getLevel(id));
+            assertEquals(details.getProperty(id + ".cause"), catalog.getCause(id));
+            assertEquals(details.getProperty(id + ".action"), catalog.getAction(id));
+            assertEquals(!details.containsKey(id + ".publish"), catalog.isPublished(id));
+        }
+        assertNull(catalog.getMessage("AS-EJB-99999"));
+        assertFalse(catalog.contains(""));
+    }
+
+    @Test
+    public void testDetailsIndex() throws IOException {
+        File f1 = new File(BASE_PATH, "JavaBean.java");
+        File f2 = new File(BASE_PATH, "Chocolate.java");
+        String output = executeCompiler(f1, f2);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        Properties details = loadResourceBundle("LogMessages_details.properties");
+        try (LogMessageDetails index = LogMessageDetails.load(JavaBean.LOGMESSAGES_RB, getClass().getClassLoader())) {
+            assertEquals(3, index.size());
+            for (String id : List.of(JavaBean.EJB_SYSTEM_INITIALIZED, JavaBean.EJB_DEPLOYMENT_FAILED, Chocolate.EJB_SYSTEM_SHUTDOWN)) {
+                LogMessageDetails.Details messageDetails = index.get(id);
+                assertEquals(details.getProperty(id + ".level"), messageDetails.getLevel());
+                assertEquals(details.getProperty(id + ".cause"), messageDetails.getCause());
+                assertEquals(details.getProperty(id + ".action"), messageDetails.getAction());
+                assertEquals(details.getProperty(id + ".comment", ""), messageDetails.getComment());
+            }
+            assertEquals("Verify the deployment descriptor.", index.get(JavaBean.EJB_DEPLOYMENT_FAILED).getAction());
+            assertNull(index.get("AS-EJB-99999"));
+        }
+    }
+
+    @Test
+    public void testMessageCodes() throws IOException {
+        File outputDir = new File("target", "codes-test");
+        deleteDirectory(outputDir);
+        File codesFile = new File(outputDir, "codes.properties");
+        List<String> options = List.of("-Aglassfish.logging.codes=" + codesFile.getPath());
+        String output = executeCompiler(outputDir, options, List.of(), new File(BASE_PATH, "Chocolate.java"));
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        assertTrue(codesFile.exists());
+
+        // A clean build, the codes are read from the file under version control.
+        for (String name : new String[] {"META-INF/logmessages/LogMessagesCodes.properties", "com/foo/bar/LogMessages.catalog"}) {
+            assertTrue(new File(outputDir, name).delete());
+        }
+        output = executeCompiler(outputDir, options, List.of(),
+            new File(BASE_PATH, "JavaBean.java"), new File(BASE_PATH, "Chocolate.java"));
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        BinaryLogMessageCatalog catalog = BinaryLogMessageCatalog.map(
+            new File(outputDir, "com/foo/bar/LogMessages.catalog").toPath());
+        assertEquals(0, catalog.getCode(Chocolate.EJB_SYSTEM_SHUTDOWN));
+        assertEquals(1, catalog.getCode(JavaBean.EJB_SYSTEM_INITIALIZED));
+        assertEquals(2, catalog.getCode(JavaBean.EJB_DEPLOYMENT_FAILED));
+        assertEquals(3, catalog.getCodeCount());
+        assertEquals(JavaBean.EJB_DEPLOYMENT_FAILED, catalog.getIdByCode(2));
+
+        Properties codes = new Properties();
+        try (InputStream in = new FileInputStream(codesFile)) {
+            codes.load(in);
+        }
+        assertEquals("2", codes.getProperty(JavaBean.EJB_DEPLOYMENT_FAILED));
+        Properties generatedCodes = new Properties();
+        try (InputStream in = new FileInputStream(new File(outputDir, "META-INF/logmessages/LogMessagesCodes.properties"))) {
+            generatedCodes.load(in);
+        }
+        assertEquals(codes, generatedCodes);
+
+        // A code used twice in the file is an error, the file is not rewritten.
+        String duplicate = JavaBean.EJB_SYSTEM_INITIALIZED + "=1\n" + JavaBean.EJB_DEPLOYMENT_FAILED + "=1\n";
+        Files.write(codesFile.toPath(), duplicate.getBytes(StandardCharsets.ISO_8859_1));
+        output = executeCompiler(outputDir, options, List.of(), new File(BASE_PATH, "JavaBean.java"));
+        assertTrue(output.contains("Duplicate code in the message codes file " + codesFile.getPath() + ": the message ids "
+            + JavaBean.EJB_SYSTEM_INITIALIZED + " and " + JavaBean.EJB_DEPLOYMENT_FAILED + " have the same code 1"));
+        assertEquals(duplicate, Files.readString(codesFile.toPath(), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void testTranslations() throws Exception {
+        File outputDir = new File("target", "translations-test");
+        deleteDirectory(outputDir);
+        File translationsDir = new File("target", "translations-test-resources");
+        deleteDirectory(translationsDir);
+        File packageDir = new File(translationsDir, "com/foo/bar");
+        packageDir.mkdirs();
+        Files.write(new File(packageDir, "LogMessages_de.properties").toPath(), (
+            "AS-EJB-00001=EJB-Subsystem initialisiert.\n"
+            + "AS-EJB-00002=EJB-Modul {0} konnte nicht bereitgestellt werden.\n"
+            + "AS-EJB-00099=Veraltet.\n").getBytes(StandardCharsets.ISO_8859_1));
+        Files.write(new File(packageDir, "LogMessages_de_CH.properties").toPath(),
+            "AS-EJB-00001=EJB-Subsystem gestartet.\n".getBytes(StandardCharsets.ISO_8859_1));
+        Files.write(new File(packageDir, "LogMessages_fr.properties").toPath(),
+            ("AS-EJB-00001=Sous-syst\u00e8me EJB initialis\u00e9.\n"
+            + "AS-EJB-00002=Le module EJB {0 n''a pas \u00e9t\u00e9 d\u00e9ploy\u00e9.\n").getBytes(StandardCharsets.UTF_8));
+        File f1 = new File(BASE_PATH, "JavaBean.java");
+        File f2 = new File(BASE_PATH, "Chocolate.java");
+        String output = executeCompiler(outputDir, List.of("-Aglassfish.logging.translations=" + translationsDir.getPath()),
+            List.of(), f1, f2);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        assertTrue(output.contains("The locale de of the resource bundle com.foo.bar.LogMessages has no translation of 1 of the 3 messages: AS-EJB-00003"));
+        assertTrue(output.contains("translates messages which do not exist: AS-EJB-00099"));
+        // The pattern with an unmatched brace is rejected, the untranslated message is used.
+        assertTrue(output.contains("are not valid MessageFormat patterns, the untranslated messages are used: AS-EJB-00002"));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {outputDir.toURI().toURL()})) {
+            LogMessageCatalog catalog = LogMessageCatalog.load(JavaBean.LOGMESSAGES_RB, new Locale("de", "CH"), loader);
+            assertEquals("EJB-Subsystem gestartet.", catalog.getMessage(JavaBean.EJB_SYSTEM_INITIALIZED));
+            assertEquals("EJB-Modul {0} konnte nicht bereitgestellt werden.", catalog.getMessage(JavaBean.EJB_DEPLOYMENT_FAILED));
+            assertEquals("EJB subsystem has been shutdown.", catalog.getMessage(Chocolate.EJB_SYSTEM_SHUTDOWN));
+            assertEquals(3, catalog.size());
+            catalog = LogMessageCatalog.load(JavaBean.LOGMESSAGES_RB, Locale.GERMANY, loader);
+            assertEquals("EJB-Subsystem initialisiert.", catalog.getMessage(JavaBean.EJB_SYSTEM_INITIALIZED));
+            catalog = LogMessageCatalog.load(JavaBean.LOGMESSAGES_RB, Locale.FRENCH, loader);
+            assertEquals("Sous-syst\u00e8me EJB initialis\u00e9.", catalog.getMessage(JavaBean.EJB_SYSTEM_INITIALIZED));
+            assertEquals("EJB module {0} failed to deploy.", catalog.getMessage(JavaBean.EJB_DEPLOYMENT_FAILED));
+            catalog = LogMessageCatalog.load(JavaBean.LOGMESSAGES_RB, Locale.JAPANESE, loader);
+            assertEquals("EJB subsystem initialized.", catalog.getMessage(JavaBean.EJB_SYSTEM_INITIALIZED));
+        }
+    }
+
+    @Test
+    public void testResourceBundleClass() throws Exception {
+        File outputDir = new File("target", "bundle-class-test");
+        File f1 = new File(BASE_PATH, "JavaBean.java");
+        File f2 = new File(BASE_PATH, "Chocolate.java");
+        String output = executeCompiler(outputDir, List.of("-Aglassfish.logging.bundleClass=true"), List.of(), f1, f2);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        assertTrue(new File(outputDir, "com/foo/bar/LogMessages.class").exists());
+
+        // The class and the properties return the same values.
+        Properties messages = new Properties();
+        try (InputStream in = new FileInputStream(new File(outputDir, "com/foo/bar/LogMessages.properties"))) {
+            messages.load(in);
+        }
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {outputDir.toURI().toURL()})) {
+            ResourceBundle rb = ResourceBundle.getBundle(JavaBean.LOGMESSAGES_RB, Locale.ROOT, loader);
+            assertEquals(JavaBean.LOGMESSAGES_RB, rb.getClass().getName());
+            assertEquals(messages.stringPropertyNames(), rb.keySet());
+            assertEquals(3, rb.keySet().size());
+            for (String id : messages.stringPropertyNames()) {
+                assertEquals(messages.getProperty(id), rb.getString(id));
+            }
+            assertFalse(rb.containsKey("AS-EJB-99999"));
+        }
+    }
+
+    @Test
+    public void testFacade() throws Exception {
+        File outputDir = new File("target", "facade-test");
+        File f1 = new File(BASE_PATH, "JavaBean.java");
+        File f2 = new File(BASE_PATH, "Chocolate.java");
+        String output = executeCompiler(outputDir, List.of("-Aglassfish.logging.facade=true"), List.of(), f1, f2);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        assertTrue(new File(outputDir, "com/foo/bar/LogMessagesFacade.class").exists());
+
+        List<LogRecord> records = new ArrayList<LogRecord>();
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {outputDir.toURI().toURL()}, getClass().getClassLoader())) {
+            logger.setResourceBundle(ResourceBundle.getBundle(JavaBean.LOGMESSAGES_RB, Locale.ROOT, loader));
+            Class<?> facadeClass = loader.loadClass(JavaBean.LOGMESSAGES_RB + "Facade");
+            Object facade = facadeClass.getConstructor(Logger.class).newInstance(logger);
+            assertEquals(logger, facadeClass.getMethod("getLogger").invoke(facade));
+
+            logger.setLevel(Level.WARNING);
+            facadeClass.getMethod("ejbSystemInitialized").invoke(facade);
+            assertTrue(records.isEmpty());
+
+            facadeClass.getMethod("ejbDeploymentFailed", int.class).invoke(facade, 42);
+            Exception thrown = new Exception();
+            facadeClass.getMethod("ejbDeploymentFailed", Throwable.class, Object.class).invoke(facade, thrown, "ejb.jar");
+            assertEquals(2, records.size());
+            LogRecord record = records.get(0);
+            assertEquals(Level.SEVERE, record.getLevel());
+            assertEquals(JavaBean.EJB_DEPLOYMENT_FAILED, record.getMessage());
+            assertEquals(List.of(42), List.of(record.getParameters()));
+            assertEquals(logger.getResourceBundle(), record.getResourceBundle());
+            assertEquals(getClass().getName(), record.getSourceClassName());
+            assertEquals("testFacade", record.getSourceMethodName());
+            assertEquals(thrown, records.get(1).getThrown());
+            assertEquals("ejb.jar", records.get(1).getParameters()[0]);
+        }
+    }
+
+    @Test
+    public void testFacadeHighArguments() throws Exception {
+        File outputDir = new File("target", "facade-arguments-test");
+        deleteDirectory(outputDir);
+        File f1 = writeSource("Corretto", "package com.foo.bar;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n"
+            + "public class Corretto {\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String LOGMESSAGES_RB = \"com.foo.bar.PoolLogMessages\";\n"
+            + "    @LogMessageInfo(message = \"Pool {4} of {5} is full.\", level = \"WARNING\")\n"
+            + "    public static final String POOL_FULL = \"AS-EJB-01301\";\n"
+            + "}\n");
+        String output = executeCompiler(outputDir, List.of("-Aglassfish.logging.facade=true"), List.of(), f1);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+
+        List<LogRecord> records = new ArrayList<LogRecord>();
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {outputDir.toURI().toURL()}, getClass().getClassLoader())) {
+            Class<?> facadeClass = loader.loadClass("com.foo.bar.PoolLogMessagesFacade");
+            Object facade = facadeClass.getConstructor(Logger.class).newInstance(logger);
+            // The arguments above {3} are formatted, the method takes them.
+            Class<?>[] parameterTypes = new Class<?>[6];
+            Arrays.fill(parameterTypes, Object.class);
+            facadeClass.getMethod("poolFull", parameterTypes).invoke(facade, "a", "b", "c", "d", "ejb", "app");
+            assertEquals(1, records.size());
+            assertEquals(List.of("a", "b", "c", "d", "ejb", "app"), List.of(records.get(0).getParameters()));
+        }
+        f1.delete();
+    }
+
+    @Test
+    public void testInvalidMessagePattern() throws IOException {
+        File f1 = writeSource("Espresso", "package com.foo.bar;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n"
+            + "public class Espresso {\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String LOGMESSAGES_RB = \"com.foo.bar.LogMessages\";\n"
+            + "    @LogMessageInfo(message = \"Espresso {0 is not closed.\")\n"
+            + "    public static final String ESPRESSO_MESSAGE = \"AS-EJB-00012\";\n"
+            + "}\n");
+        String output = executeCompiler(f1);
+        assertTrue(output.contains("The message of the message id 'AS-EJB-00012' is not a valid MessageFormat pattern"));
+        f1.delete();
+    }
+
+    @Test
+    public void testRateLimits() throws IOException {
+        File f1 = writeSource("Ristretto", "package com.foo.bar;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n"
+            + "public class Ristretto {\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String LOGMESSAGES_RB = \"com.foo.bar.LogMessages\";\n"
+            + "    @LogMessageInfo(message = \"Ristretto {0} is too short.\", maxRecords = 10, intervalSeconds = 30)\n"
+            + "    public static final String RISTRETTO_LIMITED = \"AS-EJB-00013\";\n"
+            + "    @LogMessageInfo(message = \"Ristretto {0} is sampled.\", sampleRatio = 0.25)\n"
+            + "    public static final String RISTRETTO_SAMPLED = \"AS-EJB-00014\";\n"
+            + "}\n");
+        String output = executeCompiler(f1);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        Properties details = loadResourceBundle("LogMessages_details.properties");
+        assertEquals("10", details.getProperty("AS-EJB-00013.maxRecords"));
+        assertEquals("30", details.getProperty("AS-EJB-00013.intervalSeconds"));
+        assertEquals("0.25", details.getProperty("AS-EJB-00014.sampleRatio"));
+        assertNull(details.getProperty("AS-EJB-00014.maxRecords"));
+        BinaryLogMessageCatalog catalog = BinaryLogMessageCatalog.map(
+            new File("./target/test-classes/com/foo/bar/LogMessages.catalog").toPath());
+        assertEquals(10, catalog.getRateLimit("AS-EJB-00013").getMaxRecords());
+        assertEquals(0.25, catalog.getRateLimit("AS-EJB-00014").getSampleRatio());
+
+        File f2 = writeSource("Ristretto", "package com.foo.bar;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n"
+            + "public class Ristretto {\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String LOGMESSAGES_RB = \"com.foo.bar.LogMessages\";\n"
+            + "    @LogMessageInfo(message = \"Ristretto {0} is too short.\", maxRecords = -1, intervalSeconds = 0, sampleRatio = 2)\n"
+            + "    public static final String RISTRETTO_LIMITED = \"AS-EJB-00013\";\n"
+            + "}\n");
+        output = executeCompiler(f2);
+        assertTrue(output.contains("The maxRecords of the message id 'AS-EJB-00013' is negative."));
+        assertTrue(output.contains("The intervalSeconds of the message id 'AS-EJB-00013' is not positive."));
+        assertTrue(output.contains("The sampleRatio of the message id 'AS-EJB-00013' is not greater than 0 and at most 1."));
+        f2.delete();
+    }
+
+    @Test
+    public void testMinLevel() throws Exception {
+        File outputDir = new File("target", "min-level-test");
+        deleteDirectory(outputDir);
+        File f1 = new File(BASE_PATH, "JavaBean.java");
+        File f2 = new File(BASE_PATH, "Chocolate.java");
+        String output = executeCompiler(outputDir,
+            List.of("-Aglassfish.logging.minLevel=WARNING", "-Aglassfish.logging.facade=true"), List.of(), f1, f2);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+
+        List<LogRecord> records = new ArrayList<LogRecord>();
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.ALL);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {outputDir.toURI().toURL()}, getClass().getClassLoader())) {
+            Class<?> levelsClass = loader.loadClass(JavaBean.LOGMESSAGES_RB + "Levels");
+            assertEquals("WARNING", levelsClass.getField("MIN_LEVEL").get(null));
+            assertTrue(levelsClass.getField("SEVERE").getBoolean(null));
+            assertTrue(levelsClass.getField("WARNING").getBoolean(null));
+            assertFalse(levelsClass.getField("INFO").getBoolean(null));
+            assertFalse(levelsClass.getField("FINEST").getBoolean(null));
+            assertTrue(levelsClass.getField("EJB_DEPLOYMENT_FAILED").getBoolean(null));
+            assertFalse(levelsClass.getField("EJB_SYSTEM_INITIALIZED").getBoolean(null));
+            assertFalse(levelsClass.getField("EJB_SYSTEM_SHUTDOWN").getBoolean(null));
+
+            // The methods of the messages below the minimum level are empty.
+            logger.setResourceBundle(ResourceBundle.getBundle(JavaBean.LOGMESSAGES_RB, Locale.ROOT, loader));
+            Class<?> facadeClass = loader.loadClass(JavaBean.LOGMESSAGES_RB + "Facade");
+            Object facade = facadeClass.getConstructor(Logger.class).newInstance(logger);
+            facadeClass.getMethod("ejbSystemInitialized").invoke(facade);
+            assertTrue(records.isEmpty());
+            facadeClass.getMethod("ejbDeploymentFailed", Object.class).invoke(facade, "ejb.jar");
+            assertEquals(1, records.size());
+        }
+
+        output = executeCompiler(outputDir, List.of("-Aglassfish.logging.minLevel=LOUD"), List.of(), f1, f2);
+        assertTrue(output.contains("Invalid value of the glassfish.logging.minLevel option: LOUD"));
+    }
+
+    @Test
+    public void testInvalidLevel() throws IOException {
+        File f1 = writeSource("Macchiato", "package com.foo.bar;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n"
+            + "public class Macchiato {\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String LOGMESSAGES_RB = \"com.foo.bar.LogMessages\";\n"
+            + "    @LogMessageInfo(message = \"Macchiato {0} is stained.\", level = \"LOUD\")\n"
+            + "    public static final String MACCHIATO_MESSAGE = \"AS-EJB-00015\";\n"
+            + "    @LogMessageInfo(message = \"Macchiato {0} is fine.\", level = \"EMERGENCY\", cause = \"Milk.\", action = \"Drink.\")\n"
+            + "    public static final String MACCHIATO_EMERGENCY = \"AS-EJB-00016\";\n"
+            + "    @LogMessageInfo(message = \"Macchiato {0} is fine too.\", level = \"WARNING\")\n"
+            + "    public static final String MACCHIATO_WARNING = \"AS-EJB-00017\";\n"
+            + "    @LogMessageInfo(message = \"Macchiato {0} is a number.\", level = \"1000\")\n"
+            + "    public static final String MACCHIATO_VALUE = \"AS-EJB-00018\";\n"
+            + "}\n");
+        String output = executeCompiler(f1);
+        assertTrue(output.contains("The level 'LOUD' of the message id 'AS-EJB-00015' is not a valid level."));
+        assertFalse(output.contains("AS-EJB-00016' is not a valid level"));
+        assertFalse(output.contains("AS-EJB-00017' is not a valid level"));
+        // Only the names are valid, the SEVERE value would skip the check of the cause and the action.
+        assertTrue(output.contains("The level '1000' of the message id 'AS-EJB-00018' is not a valid level."));
+        f1.delete();
+    }
+
+    @Test
+    public void testLoggerInfoIndex() throws IOException {
+        File outputDir = new File("target", "logger-index-test");
+        deleteDirectory(outputDir);
+        File f1 = writeSource("Mocha", "package com.foo.bar;\n"
+            + "import org.glassfish.logging.annotation.LoggerInfo;\n"
+            + "public class Mocha {\n"
+            + "    @LoggerInfo(subsystem = \"EJB\", description = \"Main EJB Logger\")\n"
+            + "    public static final String EJB_LOGGER = \"javax.enterprise.ejb\";\n"
+            + "    @LoggerInfo(subsystem = \"EJB\", description = \"EJB Pool Logger\")\n"
+            + "    public static final String POOL_LOGGER = \"javax.enterprise.ejb.container.pool\";\n"
+            + "    @LoggerInfo(subsystem = \"EJB Timer\", description = \"EJB Timer Logger\")\n"
+            + "    public static final String TIMER_LOGGER = \"javax.enterprise.ejb.timer\";\n"
+            + "}\n");
+        String output = executeCompiler(outputDir, List.of(), List.of(), f1);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        Properties index = new Properties();
+        try (InputStream in = new FileInputStream(new File(outputDir, "META-INF/loggerinfo/LoggerInfoIndex.properties"))) {
+            index.load(in);
+        }
+        assertEquals("javax.enterprise.ejb,javax.enterprise.ejb.container.pool", index.getProperty("subsystem.EJB"));
+        assertEquals("javax.enterprise.ejb.timer", index.getProperty("subsystem.EJB Timer"));
+        assertEquals("javax.enterprise.ejb.container.pool,javax.enterprise.ejb.timer",
+            index.getProperty("children.javax.enterprise.ejb"));
+        assertEquals("javax.enterprise.ejb", index.getProperty("roots"));
+        f1.delete();
+    }
+
+    @Test
+    public void testMetadataService() throws Exception {
+        File outputDir = new File("target", "metadata-service-test");
+        deleteDirectory(outputDir);
+        // The contracts of the server, which is not a dependency.
+        File[] contracts = {
+            writeSource("LoggerInfoMetadata", "package org.glassfish.api.logging;\n"
+                + "import java.util.Locale;\n"
+                + "import java.util.Set;\n"
+                + "public interface LoggerInfoMetadata {\n"
+                + "    Set<String> getLoggerNames();\n"
+                + "    String getSubsystem(String logger);\n"
+                + "    String getDescription(String logger);\n"
+                + "    String getDescription(String logger, Locale locale);\n"
+                + "    boolean isPublished(String logger);\n"
+                + "}\n"),
+            writeSource("Named", "package javax.inject;\n"
+                + "public @interface Named { String value(); }\n"),
+            writeSource("Singleton", "package javax.inject;\n"
+                + "public @interface Singleton { }\n"),
+            writeSource("Service", "package org.jvnet.hk2.annotations;\n"
+                + "public @interface Service { }\n")
+        };
+        File f1 = writeSource("Cappuccino", "package com.foo.bar;\n"
+            + "import org.glassfish.logging.annotation.LoggerInfo;\n"
+            + "public class Cappuccino {\n"
+            + "    @LoggerInfo(subsystem = \"EJB\", description = \"Main EJB Logger\")\n"
+            + "    public static final String EJB_LOGGER = \"javax.enterprise.ejb\";\n"
+            + "    @LoggerInfo(subsystem = \"EJB Timer\", description = \"EJB \\\"Timer\\\" Logger\", publish = false)\n"
+            + "    public static final String TIMER_LOGGER = \"javax.enterprise.ejb.timer\";\n"
+            + "}\n");
+        List<File> sources = new ArrayList<File>(List.of(contracts));
+        sources.add(f1);
+        String output = executeCompiler(outputDir, List.of("-Aglassfish.logging.metadataService=true"), List.of(),
+            sources.toArray(new File[0]));
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        String source = Files.readString(new File(outputDir, "com/foo/bar/LoggerInfoMetadataService.java").toPath());
+        assertFalse(source.contains("${"));
+        assertFalse(source.contains("getResourceAsStream"));
+        assertTrue(source.contains("import javax.inject.Named;"));
+        // The translations of the module, provided next to the metadata.
+        Files.write(new File(outputDir, "META-INF/loggerinfo/LoggerInfoMetadata_fr.properties").toPath(),
+            "javax.enterprise.ejb.timer.description=Logger des minuteurs EJB\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {outputDir.toURI().toURL()})) {
+            Class<?> serviceClass = loader.loadClass("com.foo.bar.LoggerInfoMetadataService");
+            Class<?> contract = loader.loadClass("org.glassfish.api.logging.LoggerInfoMetadata");
+            Object service = serviceClass.getConstructor().newInstance();
+            assertEquals(Set.of("javax.enterprise.ejb", "javax.enterprise.ejb.timer"),
+                contract.getMethod("getLoggerNames").invoke(service));
+            assertEquals("EJB Timer", contract.getMethod("getSubsystem", String.class).invoke(service, "javax.enterprise.ejb.timer"));
+            assertEquals("EJB \"Timer\" Logger",
+                contract.getMethod("getDescription", String.class).invoke(service, "javax.enterprise.ejb.timer"));
+            assertEquals(Boolean.TRUE, contract.getMethod("isPublished", String.class).invoke(service, "javax.enterprise.ejb"));
+            assertEquals(Boolean.FALSE, contract.getMethod("isPublished", String.class).invoke(service, "javax.enterprise.ejb.timer"));
+            assertNull(contract.getMethod("getSubsystem", String.class).invoke(service, "javax.enterprise.web"));
+            Method getDescription = contract.getMethod("getDescription", String.class, Locale.class);
+            assertEquals("Logger des minuteurs EJB", getDescription.invoke(service, "javax.enterprise.ejb.timer", Locale.FRANCE));
+            assertEquals("Main EJB Logger", getDescription.invoke(service, "javax.enterprise.ejb", Locale.FRENCH));
+            assertEquals("EJB \"Timer\" Logger", getDescription.invoke(service, "javax.enterprise.ejb.timer", Locale.GERMAN));
+            assertEquals("EJB \"Timer\" Logger", getDescription.invoke(service, "javax.enterprise.ejb.timer", Locale.ROOT));
+            assertNull(getDescription.invoke(service, "javax.enterprise.web", Locale.FRENCH));
+        }
+
+        // The injection annotations of the newer servers, in place of the
+        // older ones.
+        writeSource("Named", "package jakarta.inject;\n"
+            + "public @interface Named { String value(); }\n");
+        writeSource("Singleton", "package jakarta.inject;\n"
+            + "public @interface Singleton { }\n");
+        output = executeCompiler(outputDir, List.of("-Aglassfish.logging.metadataService=true",
+            "-Aglassfish.logging.injectPackage=jakarta.inject"), List.of(), sources.toArray(new File[0]));
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        source = Files.readString(new File(outputDir, "com/foo/bar/LoggerInfoMetadataService.java").toPath());
+        assertTrue(source.contains("import jakarta.inject.Named;"));
+        output = executeCompiler(outputDir, List.of("-Aglassfish.logging.metadataService=true",
+            "-Aglassfish.logging.injectPackage=com.google.inject"), List.of(), sources.toArray(new File[0]));
+        assertTrue(output.contains("option is neither javax.inject nor jakarta.inject"));
+        for (File f : sources) {
+            f.delete();
+        }
+    }
+
+    @Test
+    public void testJsonCatalog() throws IOException {
+        File outputDir = new File("target", "json-catalog-test");
+        deleteDirectory(outputDir);
+        File f1 = new File(BASE_PATH, "JavaBean.java");
+        File f2 = new File(BASE_PATH, "Chocolate.java");
+        String output = executeCompiler(outputDir, List.of("-Aglassfish.logging.jsonCatalog=true"), List.of(), f1, f2);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        Path catalog = new File(outputDir, "META-INF/logmessages/LogMessagesCatalog.jsonl").toPath();
+        byte[] content = Files.readAllBytes(catalog);
+        List<String> lines = Files.readAllLines(catalog, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"id\":\"" + JavaBean.EJB_SYSTEM_INITIALIZED + "\",\"bundle\":\"com.foo.bar.LogMessages\",\"code\":"));
+        assertTrue(lines.get(1).contains("\"template\":\"EJB module {0} failed to deploy.\",\"level\":\"SEVERE\","
+            + "\"cause\":\"Could not deploy an EJB module\",\"action\":\"Verify the deployment descriptor.\""));
+        assertTrue(lines.get(1).endsWith("\"publish\":true,\"class\":\"com.foo.bar.JavaBean\"}"));
+        assertTrue(lines.get(2).endsWith("\"class\":\"com.foo.bar.Chocolate\"}"));
+
+        // The catalog of the same messages is the same.
+        output = executeCompiler(outputDir, List.of("-Aglassfish.logging.jsonCatalog=true"), List.of(), f1, f2);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        assertTrue(Arrays.equals(content, Files.readAllBytes(catalog)));
+    }
+
+    @Test
+    public void testIdRegistries() throws IOException {
+        File ejbDir = new File("target", "id-registry-ejb");
+        File webDir = new File("target", "id-registry-web");
+        deleteDirectory(ejbDir);
+        deleteDirectory(webDir);
+        File f1 = new File(BASE_PATH, "JavaBean.java");
+        String output = executeCompiler(ejbDir, List.of(), List.of(), f1);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+        assertTrue(new File(ejbDir, "META-INF/logmessages/LogMessagesIds.index").exists());
+        // The manifest of the module itself is not checked.
+        output = executeCompiler(ejbDir, List.of("-Aglassfish.logging.idRegistries=" + ejbDir), List.of(), f1);
+        assertTrue(output.contains("Annotation processing finished successfully."));
+
+        File f2 = writeSource("Latte", "package com.foo.web;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n"
+            + "public class Latte {\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String LOGMESSAGES_RB = \"com.foo.web.LogMessages\";\n"
+            + "    @LogMessageInfo(message = \"Latte {0} is ready.\")\n"
+            + "    public static final String LATTE_READY = \"AS-WEB-00001\";\n"
+            + "    @LogMessageInfo(message = \"Latte {0} is cold.\")\n"
+            + "    public static final String LATTE_COLD = \"" + JavaBean.EJB_SYSTEM_INITIALIZED + "\";\n"
+            + "}\n");
+        output = executeCompiler(webDir, List.of(
+            "-Aglassfish.logging.idRegistries=" + new File(webDir, "missing.jar") + File.pathSeparator + ejbDir,
+            "-Aglassfish.logging.idRanges=AS-WEB-00001..AS-WEB-00999"), List.of(), f2);
+        assertTrue(output.contains("The message id '" + JavaBean.EJB_SYSTEM_INITIALIZED
+            + "' is already declared by the resource bundle com.foo.bar.LogMessages of "));
+        assertTrue(output.contains("The message id '" + JavaBean.EJB_SYSTEM_INITIALIZED
+            + "' is outside the ranges allocated to the module: AS-WEB-00001..AS-WEB-00999."));
+        assertFalse(output.contains("'AS-WEB-00001'"));
+
+        output = executeCompiler(webDir, List.of("-Aglassfish.logging.idRanges=AS-WEB-00001"), List.of(), f2);
+        assertTrue(output.contains("Invalid value of the glassfish.logging.idRanges option"));
+        f2.delete();
+    }
+
+    private static void deleteDirectory(File dir) throws IOException {
+        if (dir.exists()) {
+            try (Stream<Path> files = Files.walk(dir.toPath())) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private static File writeSource(String className, String source) throws IOException {
+        File dir = new File("./target/test-fixtures/com/foo/bar");
+        dir.mkdirs();
+        File file = new File(dir, className + ".java");
+        Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static Properties loadResourceBundle(String fileName) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(new File("./target/test-classes/com/foo/bar", fileName))) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private static Properties loadProperties(File file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
     private static String executeCompiler(File... srcFiles) {
+        return executeCompiler(List.of(), List.of(), srcFiles);
+    }
+
+    private static String executeCompiler(List<AbstractProcessor> additionalProcessors, File... srcFiles) {
+        return executeCompiler(List.of(), additionalProcessors, srcFiles);
+    }
+
+    private static String executeCompiler(List<String> processorOptions, 
+            List<AbstractProcessor> additionalProcessors, File... srcFiles) {
+        return executeCompiler(new File("target", "test-classes"), processorOptions, additionalProcessors, srcFiles);
+    }
+
+    private static String executeCompiler(File outputDir, List<String> processorOptions, 
+            List<AbstractProcessor> additionalProcessors, File... srcFiles) {
         // Get an instance of java compiler
         JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
 
@@ -153,12 +1022,12 @@ public class LogMessagesResourceBundleGeneratorTest {
         StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
         List<String> options = new ArrayList<String>();
         options.add("-d");
-        File outputDir = new File("target", "test-classes");
         outputDir.mkdirs();
         options.add(outputDir.getAbsolutePath());
 
         options.add("-s");
         options.add(outputDir.getAbsolutePath());
+        options.addAll(processorOptions);
 
         Iterable<? extends JavaFileObject> compilationUnits = 
             fileManager.getJavaFileObjects(srcFiles);
@@ -174,6 +1043,7 @@ public class LogMessagesResourceBundleGeneratorTest {
         LinkedList<AbstractProcessor> processors = new LinkedList<AbstractProcessor>();
 
         // Add an annotation processor to the list
+        processors.addAll(additionalProcessors);
         processors.add(new LogMessagesResourceBundleGenerator());
         processors.add(new LoggerInfoMetadataGenerator());
 
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+import org.glassfish.annotation.processing.logging.CatalogFixture;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryLogHandlerTest {
+
+    private static final String BUNDLE_NAME = "org.glassfish.test.BinaryLogMessages";
+
+    private static final int THREADS = 4;
+
+    private static final int RECORDS = 1000;
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        Path dir = Paths.get("target", "binary-log-test");
+        Path catalogFile = dir.resolve("catalogs").resolve(BUNDLE_NAME.replace('.', '/') + BinaryLogMessageCatalog.FILE_EXTENSION);
+        Files.createDirectories(catalogFile.getParent());
+        String message = "Module {0} deployed in {1} ms, {2}, {3}, {4}, {5}.";
+        Files.write(catalogFile, new CatalogFixture().add("AS-BIN-00001", message).write());
+
+        Path file = dir.resolve("server.lgb");
+        // A small buffer, written and grown while the records are encoded.
+        BinaryLogHandler handler = new BinaryLogHandler(file, 64);
+        Instant instant = Instant.ofEpochSecond(1_790_000_000L, 123_456_789);
+        LogRecord first = record(Level.FINE, "AS-BIN-00001", "caf\u00e9", 42, 1L << 40, 1.5, true, null);
+        first.setInstant(instant);
+        first.setLongThreadID(7);
+        handler.publish(first);
+        handler.publish(record(LogLevels.EMERGENCY, "Not in the catalog {0}", "x".repeat(1000)));
+        Date date = new Date(1_790_000_000_123L);
+        BigDecimal price = new BigDecimal("12.50");
+        BigInteger size = new BigInteger("123456789012345678901234567890");
+        LogRecord failed = record(Level.SEVERE, "AS-BIN-00001", "ejb", date, instant, price, size, new AtomicLong(5));
+        failed.setThrown(new IllegalStateException("Deployment failed"));
+        handler.publish(failed);
+        handler.publish(record(new Level("TRACE", 350) { }, null));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<Future<?>>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < RECORDS; i++) {
+                        handler.publish(record(Level.FINE, "AS-BIN-00001", "module" + i, i, -i, i / 2.0, i % 2 == 0, i));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        handler.close();
+
+        List<LogRecord> records = new ArrayList<LogRecord>();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {dir.resolve("catalogs").toUri().toURL()})) {
+            BinaryLogDecoder decoder = new BinaryLogDecoder(loader, Locale.ROOT);
+            decoder.decode(file, records::add);
+            assertEquals(4 + THREADS * RECORDS, records.size());
+
+            LogRecord decoded = records.get(0);
+            assertEquals(instant, decoded.getInstant());
+            assertEquals(7, decoded.getLongThreadID());
+            assertSame(Level.FINE, decoded.getLevel());
+            assertEquals("binary.test", decoded.getLoggerName());
+            assertEquals(BUNDLE_NAME, decoded.getResourceBundleName());
+            assertEquals(message, decoded.getMessage());
+            assertArrayEquals(new Object[] {"caf\u00e9", 42, 1L << 40, 1.5, true, null}, decoded.getParameters());
+
+            decoded = records.get(1);
+            assertSame(LogLevels.EMERGENCY, decoded.getLevel());
+            assertEquals("Not in the catalog {0}", decoded.getMessage());
+            assertEquals("x".repeat(1000), decoded.getParameters()[0]);
+
+            decoded = records.get(2);
+            // The parameters are decoded with the types which are formatted
+            // the same.
+            assertArrayEquals(new Object[] {"ejb", date, instant, price, size, 5L}, decoded.getParameters());
+            assertTrue(decoded.getThrown().toString().contains("IllegalStateException: Deployment failed"));
+            decoded = records.get(3);
+            assertEquals("TRACE", decoded.getLevel().getName());
+            assertEquals(350, decoded.getLevel().intValue());
+            assertNull(decoded.getMessage());
+            assertNull(decoded.getParameters());
+            for (LogRecord record : records.subList(4, records.size())) {
+                int i = (Integer) record.getParameters()[1];
+                assertArrayEquals(new Object[] {"module" + i, i, -i, i / 2.0, i % 2 == 0, i}, record.getParameters());
+            }
+
+            StringWriter out = new StringWriter();
+            decoder.decode(file, new SimpleFormatter(), out);
+            String text = out.toString();
+            // The numbers are formatted in the default locale.
+            assertTrue(text.contains("Module caf\u00e9 deployed in 42 ms, "), text);
+            assertTrue(text.contains(", true, null."), text);
+            assertTrue(text.contains("java.lang.IllegalStateException: Deployment failed"));
+            assertTrue(text.contains("\tat " + getClass().getName()));
+
+            // A file truncated by a crash is decoded up to the truncated record.
+            byte[] content = Files.readAllBytes(file);
+            Path truncated = dir.resolve("truncated.lgb");
+            Files.write(truncated, Arrays.copyOf(content, content.length - 3));
+            List<LogRecord> truncatedRecords = new ArrayList<LogRecord>();
+            decoder.decode(truncated, truncatedRecords::add);
+            assertEquals(records.size() - 1, truncatedRecords.size());
+
+            assertThrows(IllegalArgumentException.class, () -> decoder.decode(catalogFile, record -> { }));
+        }
+    }
+
+    private static LogRecord record(Level level, String message, Object... parameters) {
+        LogRecord record = new LogRecord(level, message);
+        record.setLoggerName("binary.test");
+        record.setResourceBundleName(BUNDLE_NAME);
+        record.setParameters(parameters.length == 0 ? null : parameters);
+        return record;
+    }
+}
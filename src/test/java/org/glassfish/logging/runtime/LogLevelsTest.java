@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.logging.runtime;
+
+import java.util.logging.Level;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class LogLevelsTest {
+
+    @Test
+    public void testValues() {
+        // The values of the levels of the server, the records it logs are
+        // counted and guarded at the same thresholds.
+        assertEquals(1100, LogLevels.ALERT.intValue());
+        assertEquals(1200, LogLevels.EMERGENCY.intValue());
+        assertSame(LogLevels.ALERT, LogLevels.parse("ALERT"));
+        assertSame(LogLevels.EMERGENCY, LogLevels.parse("EMERGENCY"));
+        assertSame(Level.SEVERE, LogLevels.parse("SEVERE"));
+        assertEquals("ALERT", Level.parse("1100").getName());
+        assertEquals("EMERGENCY", Level.parse("1200").getName());
+    }
+}
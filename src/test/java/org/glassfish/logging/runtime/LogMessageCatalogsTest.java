@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.glassfish.annotation.processing.logging.LogMessagesResourceBundleGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogMessageCatalogsTest {
+
+    private static final String BUNDLE_NAME = "com.foo.catalogs.LogMessages";
+
+    @Test
+    public void testUnreadableCatalog() throws Exception {
+        Path dir = Path.of("target", "catalogs-test");
+        Path validDir = dir.resolve("valid");
+        Path corruptDir = dir.resolve("corrupt");
+        Path source = dir.resolve("src/com/foo/catalogs/Messages.java");
+        Files.createDirectories(source.getParent());
+        Files.write(source, ("package com.foo.catalogs;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n"
+            + "public class Messages {\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String RB = \"" + BUNDLE_NAME + "\";\n"
+            + "    @LogMessageInfo(message = \"Catalog message {0}.\")\n"
+            + "    public static final String MESSAGE = \"AS-CAT-00001\";\n"
+            + "}\n").getBytes(StandardCharsets.UTF_8));
+        compile(source, validDir);
+
+        // The bundle class is loaded with a corrupt catalog, the thread has
+        // the valid one.
+        Path bundleClass = Path.of("com/foo/catalogs/LogMessages.class");
+        Path catalog = Path.of("com/foo/catalogs/LogMessages" + BinaryLogMessageCatalog.FILE_EXTENSION);
+        Files.createDirectories(corruptDir.resolve(bundleClass).getParent());
+        Files.copy(validDir.resolve(bundleClass), corruptDir.resolve(bundleClass),
+            StandardCopyOption.REPLACE_EXISTING);
+        Files.write(corruptDir.resolve(catalog), new byte[64]);
+        assertTrue(Files.isRegularFile(validDir.resolve(catalog)));
+
+        Thread thread = Thread.currentThread();
+        ClassLoader contextLoader = thread.getContextClassLoader();
+        try (URLClassLoader corruptLoader = new URLClassLoader(new URL[] {corruptDir.toUri().toURL()});
+                URLClassLoader validLoader = new URLClassLoader(new URL[] {validDir.toUri().toURL()}, null)) {
+            ResourceBundle bundle = (ResourceBundle) corruptLoader.loadClass(BUNDLE_NAME).getConstructor().newInstance();
+            thread.setContextClassLoader(corruptLoader);
+            assertNull(LogMessageCatalogs.get(BUNDLE_NAME + "Unknown", Locale.ROOT, bundle));
+
+            thread.setContextClassLoader(validLoader);
+            LogMessageCatalog found = LogMessageCatalogs.get(BUNDLE_NAME, Locale.ROOT, bundle);
+            assertNotNull(found);
+            assertEquals("Catalog message {0}.", found.getMessage("AS-CAT-00001"));
+            assertSame(found, LogMessageCatalogs.get(BUNDLE_NAME, Locale.ROOT, bundle));
+            // Cached per class loader, not for the other ones.
+            thread.setContextClassLoader(corruptLoader);
+            assertNull(LogMessageCatalogs.get(BUNDLE_NAME, Locale.ROOT, bundle));
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+    }
+
+    @Test
+    public void testPropertiesBundle() throws Exception {
+        Path validDir = Path.of("target", "catalogs-test", "properties");
+        Path source = Path.of("target", "catalogs-test", "src/com/foo/catalogs/Messages.java");
+        Files.createDirectories(source.getParent());
+        Files.write(source, ("package com.foo.catalogs;\n"
+            + "import org.glassfish.logging.annotation.LogMessageInfo;\n"
+            + "import org.glassfish.logging.annotation.LogMessagesResourceBundle;\n"
+            + "public class Messages {\n"
+            + "    @LogMessagesResourceBundle\n"
+            + "    public static final String RB = \"" + BUNDLE_NAME + "\";\n"
+            + "    @LogMessageInfo(message = \"Catalog message {0}.\")\n"
+            + "    public static final String MESSAGE = \"AS-CAT-00001\";\n"
+            + "}\n").getBytes(StandardCharsets.UTF_8));
+        compile(source, validDir);
+
+        // The loader of a PropertyResourceBundle is not known, the catalog is
+        // the one of the thread.
+        ResourceBundle bundle = new PropertyResourceBundle(new StringReader("AS-CAT-00001=Catalog message {0}.\n"));
+        assertNull(bundle.getClass().getClassLoader());
+        Thread thread = Thread.currentThread();
+        ClassLoader contextLoader = thread.getContextClassLoader();
+        try (URLClassLoader emptyLoader = new URLClassLoader(new URL[0], null);
+                URLClassLoader validLoader = new URLClassLoader(new URL[] {validDir.toUri().toURL()}, null);
+                URLClassLoader redeployedLoader = new URLClassLoader(new URL[] {validDir.toUri().toURL()}, null)) {
+            thread.setContextClassLoader(emptyLoader);
+            assertNull(LogMessageCatalogs.get(BUNDLE_NAME, Locale.ROOT, bundle));
+
+            // The thread of another class loader finds it.
+            thread.setContextClassLoader(validLoader);
+            LogMessageCatalog found = LogMessageCatalogs.get(BUNDLE_NAME, Locale.ROOT, bundle);
+            assertNotNull(found);
+            assertEquals("Catalog message {0}.", found.getMessage("AS-CAT-00001"));
+            assertSame(found, LogMessageCatalogs.get(BUNDLE_NAME, Locale.ROOT, bundle));
+
+            // A redeployed application has its own catalog.
+            thread.setContextClassLoader(redeployedLoader);
+            LogMessageCatalog redeployed = LogMessageCatalogs.get(BUNDLE_NAME, Locale.ROOT, bundle);
+            assertNotNull(redeployed);
+            assertNotSame(found, redeployed);
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+    }
+
+    private static void compile(Path source, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                List.of("-d", outputDir.toString(), "-s", outputDir.toString(), "-Aglassfish.logging.bundleClass=true"),
+                null, fileManager.getJavaFileObjects(new File[] {source.toFile()}));
+            task.setProcessors(List.of(new LogMessagesResourceBundleGenerator()));
+            assertTrue(task.call());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoggerInfoIndexTest {
+
+    @Test
+    public void testTree() {
+        LoggerInfoIndex index = new LoggerInfoIndex(Map.of(
+            "javax.enterprise.ejb", "EJB",
+            "javax.enterprise.ejb.container.pool", "EJB",
+            "javax.enterprise.ejb.timer", "Timer",
+            "javax.enterprise.web", "Web",
+            "javax.enterprise.webservices", "Web"));
+        assertEquals(Set.of("EJB", "Timer", "Web"), index.getSubsystems());
+        assertEquals(List.of("javax.enterprise.web", "javax.enterprise.webservices"), index.getLoggers("Web"));
+        assertTrue(index.getLoggers("JMS").isEmpty());
+        assertEquals("Timer", index.getSubsystem("javax.enterprise.ejb.timer"));
+        assertEquals(List.of("javax.enterprise.ejb", "javax.enterprise.web", "javax.enterprise.webservices"),
+            index.getRoots());
+        // The undeclared javax.enterprise.ejb.container is skipped.
+        assertEquals("javax.enterprise.ejb", index.getParent("javax.enterprise.ejb.container.pool"));
+        assertEquals(List.of("javax.enterprise.ejb.container.pool", "javax.enterprise.ejb.timer"),
+            index.getChildren("javax.enterprise.ejb"));
+        assertNull(index.getParent("javax.enterprise.webservices"));
+        assertEquals(index.getChildren("javax.enterprise.ejb"), index.getDescendants("javax.enterprise.ejb"));
+    }
+
+    @Test
+    public void testLoadAndSetLevel() throws Exception {
+        Path first = Files.createTempDirectory("index");
+        Path second = Files.createTempDirectory("index");
+        writeIndex(first, "roots=org.glassfish.test.index\n"
+            + "subsystem.Test=org.glassfish.test.index,org.glassfish.test.index.a.b\n"
+            + "children.org.glassfish.test.index=org.glassfish.test.index.a.b\n");
+        writeIndex(second, "roots=org.glassfish.test.index.a\n"
+            + "subsystem.Other=org.glassfish.test.index.a\n");
+        Logger root = Logger.getLogger("org.glassfish.test.index");
+        Logger nested = Logger.getLogger("org.glassfish.test.index.a.b");
+        Logger other = Logger.getLogger("org.glassfish.test.index.a");
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {first.toUri().toURL()}, null)) {
+            LoggerInfoIndex index = LoggerInfoIndex.load(loader);
+            assertEquals("org.glassfish.test.index", index.getParent("org.glassfish.test.index.a.b"));
+            assertEquals(2, index.setLevel("Test", Level.FINE));
+            assertEquals(Level.FINE, root.getLevel());
+            assertEquals(Level.FINE, nested.getLevel());
+            assertNull(other.getLevel());
+        }
+        // The tree is rebuilt from the merged indexes.
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] {first.toUri().toURL(), second.toUri().toURL()}, null)) {
+            LoggerInfoIndex index = LoggerInfoIndex.load(loader);
+            assertEquals(Set.of("Other", "Test"), index.getSubsystems());
+            assertEquals("org.glassfish.test.index.a", index.getParent("org.glassfish.test.index.a.b"));
+            assertEquals(List.of("org.glassfish.test.index"), index.getRoots());
+            assertEquals(List.of("org.glassfish.test.index.a", "org.glassfish.test.index.a.b"),
+                index.getDescendants("org.glassfish.test.index"));
+            assertEquals(1, index.setLevel("Other", Level.WARNING));
+            assertEquals(Level.WARNING, other.getLevel());
+        }
+    }
+
+    private static void writeIndex(Path dir, String content) throws Exception {
+        Path file = dir.resolve(LoggerInfoIndex.INDEX_NAME + ".properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import org.glassfish.annotation.processing.logging.CatalogFixture;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MessageCountingHandlerTest {
+
+    private static final String BUNDLE_NAME = "org.glassfish.test.CountedLogMessages";
+
+    private static final int THREADS = 8;
+
+    private static final int RECORDS = 1000;
+
+    @Test
+    public void testCounters() throws Exception {
+        CatalogFixture catalog = new CatalogFixture();
+        for (int i = 0; i < 3; i++) {
+            catalog.add("AS-COUNT-0000" + i, "Message " + i + " about {0}.");
+        }
+        PrecompiledFormatter.register(BUNDLE_NAME, catalog.wrap());
+
+        MessageCountingHandler handler = new MessageCountingHandler(true);
+        try {
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<?>> results = new ArrayList<Future<?>>();
+                for (int thread = 0; thread < THREADS; thread++) {
+                    results.add(executor.submit(() -> {
+                        for (int i = 0; i < RECORDS; i++) {
+                            // Message i % 3, the last one is logged twice as often.
+                            handler.publish(record(i % 2 == 0 ? Level.INFO : Level.WARNING, "AS-COUNT-0000" + (i % 3)));
+                            handler.publish(record(LogLevels.ALERT, "AS-COUNT-00002"));
+                            handler.publish(record(Level.FINE, "Not a message id"));
+                        }
+                    }));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            int total = THREADS * RECORDS;
+            assertEquals(THREADS * 334L, handler.getCount("AS-COUNT-00000"));
+            assertEquals(THREADS * 333L, handler.getCount("AS-COUNT-00001"));
+            assertEquals(THREADS * 333L + total, handler.getCount("AS-COUNT-00002"));
+            assertEquals(0, handler.getCount("AS-COUNT-99999"));
+            assertEquals(total, handler.getUnknownMessageCount());
+            assertEquals(3, handler.getMessageCounts().size());
+            assertEquals(total / 2, handler.getLevelCounts().get("INFO"));
+            assertEquals(total / 2, handler.getLevelCounts().get("WARNING"));
+            assertEquals(total, handler.getLevelCounts().get("ALERT"));
+            assertEquals(total, handler.getLevelCounts().get("FINE"));
+            assertEquals(0, handler.getLevelCounts().get("OTHER"));
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MessageCountingHandler.OBJECT_NAME);
+            TabularData counts = (TabularData) server.getAttribute(name, "MessageCounts");
+            assertEquals(3, counts.size());
+            assertEquals(THREADS * 333L, server.invoke(name, "getCount",
+                new Object[] {"AS-COUNT-00001"}, new String[] {String.class.getName()}));
+
+            handler.reset();
+            assertEquals(0, handler.getCount("AS-COUNT-00002"));
+            assertTrue(handler.getMessageCounts().isEmpty());
+        } finally {
+            handler.close();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(
+            new ObjectName(MessageCountingHandler.OBJECT_NAME)));
+    }
+
+    private static LogRecord record(Level level, String id) {
+        LogRecord record = new LogRecord(level, id);
+        record.setResourceBundleName(BUNDLE_NAME);
+        return record;
+    }
+}
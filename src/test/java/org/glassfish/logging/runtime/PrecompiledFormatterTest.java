@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.util.Date;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+import org.glassfish.annotation.processing.logging.CatalogFixture;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PrecompiledFormatterTest {
+
+    private static final String BUNDLE_NAME = "org.glassfish.test.FormatterLogMessages";
+
+    private static final String[] PATTERNS = {
+        "EJB module {0} failed to deploy.",
+        "Copying {0} to {1}, {0} bytes.",
+        "It''s {0}.",
+        "'{0}' is quoted, {1} is not.",
+        "Brace } and quoted '{' around {2}.",
+        "No arguments at all.",
+        "Apostrophe ' without arguments.",
+        "Argument {10} and {1}.",
+        "Typed {0,number,#.##} argument.",
+        "Choice {0,choice,0#none|1#one|1<many}.",
+        "Value {4} x, formatted since JDK 9.",
+    };
+
+    private static final Object[][] PARAMETERS = {
+        {"app"},
+        {"a.war", 123},
+        {null, 1234567L, new Date(0)},
+        {3.5d, "x"},
+        {"a", "b", "c", "d", "e"},
+        {},
+    };
+
+    @Test
+    public void testSameOutputAsSimpleFormatter() {
+        CatalogFixture fixture = new CatalogFixture();
+        Object[][] contents = new Object[PATTERNS.length][];
+        for (int i = 0; i < PATTERNS.length; i++) {
+            fixture.add("AS-FMT-0000" + i, PATTERNS[i]);
+            contents[i] = new Object[] {"AS-FMT-0000" + i, PATTERNS[i]};
+        }
+        BinaryLogMessageCatalog catalog = fixture.wrap();
+        PrecompiledFormatter.register(BUNDLE_NAME, catalog);
+        ListResourceBundle bundle = new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return contents;
+            }
+        };
+
+        SimpleFormatter simpleFormatter = new SimpleFormatter();
+        PrecompiledFormatter precompiledFormatter = new PrecompiledFormatter();
+        for (Object[] content : contents) {
+            for (Object[] parameters : PARAMETERS) {
+                LogRecord record = new LogRecord(Level.INFO, (String) content[0]);
+                record.setResourceBundle(bundle);
+                record.setResourceBundleName(BUNDLE_NAME);
+                record.setParameters(parameters);
+                assertEquals(simpleFormatter.formatMessage(record), precompiledFormatter.formatMessage(record),
+                    (String) content[1]);
+            }
+        }
+        assertNotNull(catalog.getCompiledMessage("AS-FMT-00000"));
+        assertNull(catalog.getCompiledMessage("AS-FMT-00008"));
+        assertEquals(1, catalog.getCompiledMessage("AS-FMT-000010").getArgumentCount());
+    }
+
+    @Test
+    public void testLocalizedBundle() {
+        String id = "AS-FMT-00100";
+        PrecompiledFormatter.register(BUNDLE_NAME + "_de",
+            new CatalogFixture().add(id, "EJB-Modul {0} konnte nicht bereitgestellt werden.").wrap());
+        PrecompiledFormatter precompiledFormatter = new PrecompiledFormatter();
+        for (Locale locale : List.of(Locale.GERMAN, Locale.FRENCH)) {
+            ListResourceBundle bundle = new ListResourceBundle() {
+                @Override
+                protected Object[][] getContents() {
+                    return new Object[][] {{id, locale.getLanguage() + ": {0}"}};
+                }
+
+                @Override
+                public Locale getLocale() {
+                    return locale;
+                }
+            };
+            LogRecord record = new LogRecord(Level.INFO, id);
+            record.setResourceBundle(bundle);
+            record.setResourceBundleName(BUNDLE_NAME);
+            record.setParameters(new Object[] {"app"});
+            // The French translation has no catalog, it is left to SimpleFormatter.
+            assertEquals(locale.equals(Locale.GERMAN) ? "EJB-Modul app konnte nicht bereitgestellt werden." : "fr: app",
+                precompiledFormatter.formatMessage(record));
+        }
+    }
+}
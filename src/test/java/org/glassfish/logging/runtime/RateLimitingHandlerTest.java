@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.logging.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+import org.glassfish.annotation.processing.logging.CatalogFixture;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimitingHandlerTest {
+
+    private static final String BUNDLE_NAME = "org.glassfish.test.RateLimitedLogMessages";
+
+    private static final int THREADS = 8;
+
+    private static final int RECORDS = 1000;
+
+    @Test
+    public void testRateLimits() throws Exception {
+        String limited = "AS-RATE-00001";
+        String sampled = "AS-RATE-00002";
+        String unlimited = "AS-RATE-00003";
+        List<String> ids = List.of(limited, sampled, unlimited);
+        BinaryLogMessageCatalog catalog = new CatalogFixture()
+            .add(limited, "Limited {0}.").rateLimit(5, 3600, 1.0)
+            .add(sampled, "Sampled {0}.").rateLimit(0, 60, 0.5)
+            .add(unlimited, "Unlimited {0}.")
+            .wrap();
+        assertEquals(5, catalog.getRateLimit(limited).getMaxRecords());
+        assertEquals(3600, catalog.getRateLimit(limited).getIntervalSeconds());
+        assertEquals(0.5, catalog.getRateLimit(sampled).getSampleRatio());
+        assertNull(catalog.getRateLimit(unlimited));
+        PrecompiledFormatter.register(BUNDLE_NAME, catalog);
+
+        Map<String, AtomicInteger> published = new ConcurrentHashMap<String, AtomicInteger>();
+        List<String> summaries = new ArrayList<String>();
+        Handler target = new Handler() {
+            @Override
+            public synchronized void publish(LogRecord record) {
+                if (record.getResourceBundleName() == null) {
+                    summaries.add(new SimpleFormatter().formatMessage(record));
+                } else {
+                    published.computeIfAbsent(record.getMessage(), id -> new AtomicInteger()).incrementAndGet();
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        RateLimitingHandler handler = new RateLimitingHandler(target, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<Future<?>>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < RECORDS; i++) {
+                        for (String id : ids) {
+                            LogRecord record = new LogRecord(Level.SEVERE, id);
+                            record.setResourceBundleName(BUNDLE_NAME);
+                            record.setLoggerName("test.rate");
+                            record.setParameters(new Object[] {i});
+                            handler.publish(record);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int total = THREADS * RECORDS;
+        assertEquals(5, published.get(limited).get());
+        assertEquals(total, published.get(unlimited).get());
+        int sampledRecords = published.get(sampled).get();
+        assertTrue(sampledRecords > total / 4 && sampledRecords < total * 3 / 4, "Sampled " + sampledRecords);
+        assertEquals(total - 5, handler.getSuppressed(BUNDLE_NAME, limited));
+
+        handler.flush();
+        assertEquals(2, summaries.size());
+        assertTrue(summaries.contains(String.format("Suppressed %,d records of the log message %s.",
+            total - 5, limited)), summaries.toString());
+        assertEquals(0, handler.getSuppressed(BUNDLE_NAME, limited));
+        handler.flush();
+        assertEquals(2, summaries.size());
+    }
+
+    @Test
+    public void testInvalidRateLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimit(1, 0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimit(1, 60, 0.0));
+    }
+}